@@ -2,7 +2,10 @@ package app.customControls.controls.HsvColorSelect;
 
 import app.customControls.handlers.movementHandler.MovementHandler;
 import app.customControls.utilities.ColorUtil;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.css.StyleablePropertyFactory;
 import javafx.geometry.Point2D;
@@ -59,7 +62,12 @@ public class HsvColorSelect extends Control {
     private final MovementHandler pointerMovement;
 
     /*            GENERATION            */
-    private boolean generated = false;
+    private final ReadOnlyBooleanWrapper generated = new ReadOnlyBooleanWrapper(this, "generated", false);
+
+    /*          POINTER COLOR           */
+
+    private PointerColor pointerColor;                          // snapshot of the pointer color, null when outdated
+    private final InvalidationListener pointerColorInvalidator; // marks the snapshot as outdated
 
     // ===================================
     //            CONSTRUCTOR
@@ -87,6 +95,24 @@ public class HsvColorSelect extends Control {
 
         // sets up the pointer movement handler
         pointerMovement.setCentered(true);
+
+        // outdates the pointer color snapshot whenever anything it depends on changes
+        this.pointerColorInvalidator = observable -> pointerColor = null;
+        registerListeners();
+    }
+
+    /**
+     * Registers the listeners responsible for outdating the pointer color snapshot
+     */
+    private void registerListeners() {
+        pointer.layoutXProperty().addListener(pointerColorInvalidator);
+        pointer.layoutYProperty().addListener(pointerColorInvalidator);
+        pointer.widthProperty().addListener(pointerColorInvalidator);
+        pointer.heightProperty().addListener(pointerColorInvalidator);
+        widthProperty().addListener(pointerColorInvalidator);
+        heightProperty().addListener(pointerColorInvalidator);
+        hue.addListener(pointerColorInvalidator);
+        value.addListener(pointerColorInvalidator);
     }
 
     // ===================================
@@ -98,14 +124,24 @@ public class HsvColorSelect extends Control {
      * @return (boolean): whether the HsvColorSelect has finished generating yet
      */
     private boolean hasGenerated() {
-        return generated;
+        return generated.get();
     }
 
     /**
      * Marks the {@link HsvColorSelect} as having generated
      */
     public void validateGeneration() {
-        generated = true;
+        pointerColor = null;
+        generated.set(true);
+    }
+
+    /**
+     * Property for whether the {@link HsvColorSelect} has finished generating, after which the pointer color matches
+     * the pointer's position
+     * @return (ReadOnlyBooleanProperty): the HsvColorSelect's associated generation property
+     */
+    public ReadOnlyBooleanProperty generatedProperty() {
+        return generated.getReadOnlyProperty();
     }
 
     // ===================================
@@ -131,6 +167,14 @@ public class HsvColorSelect extends Control {
      * @return (double): the pointer's hue
      */
     public double getPointerHue() {
+        return getPointerColorSnapshot().hue;
+    }
+
+    /**
+     * Calculates the hsv pointer's hue from its position
+     * @return (double): the pointer's hue [0; 359]
+     */
+    private double calculatePointerHue() {
 
         // if the HsvColorSelect has not finished generating, returns the default hue instead
         if (!hasGenerated()) return DEFAULT_HUE;
@@ -177,6 +221,14 @@ public class HsvColorSelect extends Control {
      * @return (double): the hev pointer's saturation
      */
     public double getPointerSaturation() {
+        return getPointerColorSnapshot().saturation;
+    }
+
+    /**
+     * Calculates the hsv pointer's saturation from its position
+     * @return (double): the pointer's saturation [0; 100]
+     */
+    private double calculatePointerSaturation() {
 
         // if the HsvColorSelect has not finished generating, returns the default saturation instead
         if (!hasGenerated()) return DEFAULT_SATURATION;
@@ -252,6 +304,39 @@ public class HsvColorSelect extends Control {
         return new Point2D(getPointerX(), getPointerY());
     }
 
+    /**
+     * Determines if the hsv pointer keeps moving after being thrown
+     * @return (boolean): whether the hsv pointer is inertial
+     */
+    public boolean isPointerInertial() {
+        return pointerMovement.isInertial();
+    }
+
+    /**
+     * Enables or disables the hsv pointer's inertia, letting the user flick it across the spectrum
+     * @param inertial (boolean): whether the hsv pointer keeps moving after being thrown
+     */
+    public void setPointerInertial(final boolean inertial) {
+        pointerMovement.setInertial(inertial);
+    }
+
+    /**
+     * Determines if the user is moving the hsv pointer, from the moment it is pressed until it comes to rest
+     * @return (boolean): whether the hsv pointer is held or still thrown
+     */
+    public boolean isPointerMoving() {
+        return pointerMovement.isMoving();
+    }
+
+    /**
+     * Sets the callback notified once the user stops moving the hsv pointer, either when it is released or once its
+     * inertia ends if it was thrown
+     * @param onMovementEnd (Runnable): the callback, or null to remove it
+     */
+    public void setOnPointerMovementEnd(final Runnable onMovementEnd) {
+        pointerMovement.setOnMovementEnd(onMovementEnd);
+    }
+
     // ===================================
     //             ACCESSORS
     // ===================================
@@ -410,7 +495,8 @@ public class HsvColorSelect extends Control {
      * @return (double[]): the hsv color at the <strong>current pointer position</strong>
      */
     public double[] getPointerHsv() {
-        return new double[]{getPointerHue(), getPointerSaturation(), getValue()};
+        final PointerColor color = getPointerColorSnapshot();
+        return new double[]{color.hue, color.saturation, color.value};
     }
 
     /**
@@ -429,8 +515,8 @@ public class HsvColorSelect extends Control {
      * @return (int[]): the rgb color at the <strong>current pointer position</strong>
      */
     public int[] getPointerRgb() {
-        final double[] hsv = getPointerHsv();
-        return ColorUtil.Hsv.toRgb(hsv[0], hsv[1], hsv[2]);
+        final int argb = getPointerColorSnapshot().argb;
+        return new int[]{(argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF};
     }
 
     /**
@@ -449,8 +535,15 @@ public class HsvColorSelect extends Control {
      * @return (String): the hex color at the <strong>current pointer position</strong>
      */
     public String getPointerHex() {
-        final double[] hsv = getPointerHsv();
-        return ColorUtil.Hsv.toHex(hsv[0], hsv[1], hsv[2]);
+        return getPointerColorSnapshot().getHex();
+    }
+
+    /**
+     * Getter for the {@link HsvColorSelect}'s <strong>pointer</strong> argb code
+     * @return (int): the argb code of the color at the <strong>current pointer position</strong>
+     */
+    public int getPointerArgb() {
+        return getPointerColorSnapshot().argb;
     }
 
     /**
@@ -469,8 +562,20 @@ public class HsvColorSelect extends Control {
      * @return (Color): the color at the <strong>current pointer position</strong>
      */
     public Color getPointerColor() {
-        final int[] rgb = getPointerRgb();
-        return Color.rgb(rgb[0], rgb[1], rgb[2]);
+        return getPointerColorSnapshot().getColor();
+    }
+
+    /**
+     * Getter for the snapshot of the color at the current pointer position. The snapshot is only recomputed after
+     * the pointer, the hue, the value or the {@link HsvColorSelect}'s size changed, so that reading the pointer color
+     * in several formats during the same move only converts it once
+     * @return ({@link PointerColor}): the current pointer color
+     */
+    public PointerColor getPointerColorSnapshot() {
+        if (pointerColor == null) {
+            pointerColor = new PointerColor(calculatePointerHue(), calculatePointerSaturation(), getValue());
+        }
+        return pointerColor;
     }
 
     // ===================================
@@ -540,4 +645,55 @@ public class HsvColorSelect extends Control {
         setValue(v);
     }
 
+    // ===================================
+    //           POINTER COLOR
+    // ===================================
+
+    /**
+     * Immutable snapshot of the color at the {@link HsvColorSelect}'s pointer. The hsv to rgb conversion happens once
+     * on creation, while the hex code & {@link Color} are only built if they are requested
+     */
+    public static final class PointerColor {
+
+        private final double hue;
+        private final double saturation;
+        private final double value;
+        private final int argb;
+        private String hex;
+        private Color color;
+
+        private PointerColor(final double hue, final double saturation, final double value) {
+            this.hue = hue;
+            this.saturation = saturation;
+            this.value = value;
+            this.argb = ColorUtil.Hsv.toArgbCode(hue, saturation, value);
+        }
+
+        public double getHue() {
+            return hue;
+        }
+
+        public double getSaturation() {
+            return saturation;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        public int getArgb() {
+            return argb;
+        }
+
+        public String getHex() {
+            if (hex == null) hex = ColorUtil.Rgb.toHex((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF);
+            return hex;
+        }
+
+        public Color getColor() {
+            if (color == null) color = Color.rgb((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF);
+            return color;
+        }
+    }
+
 }
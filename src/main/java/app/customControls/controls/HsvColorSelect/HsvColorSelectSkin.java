@@ -3,6 +3,7 @@ package app.customControls.controls.HsvColorSelect;
 import app.customControls.handlers.movementHandler.CoordinateConverter;
 import app.customControls.handlers.movementHandler.MovementBounds;
 import app.customControls.handlers.movementHandler.MovementHandler;
+import app.customControls.handlers.movementHandler.MutablePoint2D;
 import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
 import javafx.event.EventHandler;
@@ -359,26 +360,25 @@ public class HsvColorSelectSkin extends SkinBase<HsvColorSelect> implements Skin
     // ===================================
 
     /**
-     * Sets the pointer to the mouse's position when the user clicks on the hsv spectrum
+     * Sets the pointer to the mouse's position when the user clicks on the hsv spectrum, as a movement of its own so
+     * that the new color is treated like one the pointer was dragged to
      * @param mouseEvent ({@link MouseEvent}): the event resulting from clicking the mouse
      */
     private void repositionOnClick(MouseEvent mouseEvent) {
-        pointerMovement.moveTo(mouseEvent.getX(), mouseEvent.getY());
+        pointerMovement.jumpTo(mouseEvent.getX(), mouseEvent.getY());
     }
 
     /**
      * Handles converting the pointer's coordinates to take into consideration offset {@link MovementBounds}
-     * @param coordinates ({@link Point2D}): actual current pointer coordinates
-     * @return (Point2D): adjusted pointer coordinates to take into account offset
+     * @param coordinates ({@link MutablePoint2D}): actual current pointer coordinates, adjusted in place to take into
+     * account the offset
      */
-    private Point2D convertCoordinates(Point2D coordinates) {
+    private void convertCoordinates(MutablePoint2D coordinates) {
 
-        final double x = coordinates.getX();
-        final double y = coordinates.getY();
         final double deltaX = pointer.getWidth() / 2;
         final double deltaY = pointer.getHeight() / 2;
 
-        return new Point2D(x + deltaX, y + deltaY);
+        coordinates.translate(deltaX, deltaY);
     }
 
 }
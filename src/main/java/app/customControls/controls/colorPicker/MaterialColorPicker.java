@@ -1,11 +1,20 @@
 package app.customControls.controls.colorPicker;
 
+import app.customControls.handlers.colorHistory.ColorHistory;
+import app.customControls.handlers.colorModel.ColorModel;
+import app.customControls.utilities.BackgroundUtil;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.control.Control;
 import javafx.scene.control.Skin;
 import javafx.scene.paint.Color;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * An HSV color picker based on material design with support for hex, rgb and hsv color formats<br>
  * <br>
@@ -44,11 +53,18 @@ import javafx.scene.paint.Color;
  *         (excluding the taskbar for the moment)
  *     </li>
  *     <li>
+ *         optional color suggestions, showing the dominant colors of the screen while the drop tool is in use
+ *     </li>
+ *     <li>
+ *         color history, remembering the last picked colors across restarts & allowing to pick them again
+ *     </li>
+ *     <li>
  *         supports resizing, although there are still some performance issues at high resolutions
  *         due to poor utilisation of the Canvas
  *     </li>
  * </ul>
- *
+ * The color is backed by a headless {@link ColorModel}, which can be updated from any thread : changes made outside of
+ * the JavaFX application thread are folded into a single update of the color property on the next pulse
  */
 public class MaterialColorPicker extends Control {
 
@@ -59,10 +75,21 @@ public class MaterialColorPicker extends Control {
     /*          DEFAULT VALUES          */
     private static final Color DEFAULT_COLOR              = Color.RED;
     private static final ColorFormat DEFAULT_COLOR_FORMAT = ColorFormat.HEX;
+    private static final boolean DEFAULT_SUGGEST_COLORS   = false;
 
     /*            PROPERTIES            */
     private final SimpleObjectProperty<Color> color;
     private final SimpleObjectProperty<ColorFormat> colorFormat;
+    private final SimpleBooleanProperty suggestColors;
+
+    /*               MODEL              */
+    private final ColorModel colorModel;
+    private final InvalidationListener modelSyncListener;   // pushes color property changes to the model
+    private final ColorModel.Listener colorSyncListener;    // pushes model changes to the color property
+    private final AtomicBoolean colorSyncPending = new AtomicBoolean(false);
+
+    /*              HISTORY             */
+    private ColorHistory colorHistory;  // opened the first time it is used
 
     // ===================================
     //            CONSTRUCTOR
@@ -92,10 +119,62 @@ public class MaterialColorPicker extends Control {
 
         color = new SimpleObjectProperty<>(this, "color", DEFAULT_COLOR);
         colorFormat = new SimpleObjectProperty<>(this, "colorFormat", DEFAULT_COLOR_FORMAT);
+        suggestColors = new SimpleBooleanProperty(this, "suggestColors", DEFAULT_SUGGEST_COLORS);
 
         // saves the starting color & color format to the color picker
         setColor(initialColor);
         setColorFormat(initialColorFormat);
+
+        // keeps the color property & the color model synchronised
+        colorModel = new ColorModel(BackgroundUtil.toArgbCode(getColor()));
+        modelSyncListener = observable -> colorModel.setArgb(BackgroundUtil.toArgbCode(getColor()));
+        colorSyncListener = (oldArgb, newArgb) -> requestColorSync();
+        color.addListener(modelSyncListener);
+        colorModel.addListener(colorSyncListener);
+    }
+
+    // ===================================
+    //               MODEL
+    // ===================================
+
+    /**
+     * Schedules the color property to be synchronised to the {@link ColorModel}. Changes made on the JavaFX application
+     * thread are applied immediately, while any number of changes made from other threads are folded into one update
+     */
+    private void requestColorSync() {
+        if (Platform.isFxApplicationThread()) {
+            synchroniseColorToModel();
+            return;
+        }
+        if (colorSyncPending.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                colorSyncPending.set(false);
+                synchroniseColorToModel();
+            });
+        }
+    }
+
+    /**
+     * Updates the color property to match the {@link ColorModel}'s latest color
+     */
+    private void synchroniseColorToModel() {
+        final int argb = colorModel.getArgb();
+        if (BackgroundUtil.toArgbCode(getColor()) != argb) setColor(BackgroundUtil.toColor(argb));
+    }
+
+    // ===================================
+    //              HISTORY
+    // ===================================
+
+    /**
+     * Sets the {@link MaterialColorPicker}'s color as picked by the user & remembers it in the {@link ColorHistory}.
+     * Unlike {@link #setColor(Color)}, which is meant for programmatic changes, this should only be called for actual
+     * user picks (drop tool, pointer release, validated color code, history swatch)
+     * @param pickedColor ({@link Color}): the color picked by the user
+     */
+    public void pickColor(final Color pickedColor) {
+        setColor(pickedColor);
+        getColorHistory().append(BackgroundUtil.toArgbCode(pickedColor));
     }
 
     // ===================================
@@ -132,6 +211,15 @@ public class MaterialColorPicker extends Control {
         return colorFormat;
     }
 
+    /**
+     * Property for whether the {@link MaterialColorPicker} suggests the dominant colors of the screen
+     * while its drop tool is in use
+     * @return (BooleanProperty): the color picker's associated color suggestion property
+     */
+    public BooleanProperty suggestColorsProperty() {
+        return suggestColors;
+    }
+
     // ===================================
     //              SETTERS
     // ===================================
@@ -152,6 +240,24 @@ public class MaterialColorPicker extends Control {
         colorFormat.set(newColorFormat);
     }
 
+    /**
+     * Setter for whether the {@link MaterialColorPicker} suggests the dominant colors of the screen
+     * @param suggest (boolean): whether colors are suggested while the drop tool is in use
+     */
+    public void setSuggestColors(final boolean suggest) {
+        suggestColors.set(suggest);
+    }
+
+    /**
+     * Setter for the {@link MaterialColorPicker}'s color history
+     * @param newColorHistory ({@link ColorHistory}): the history in which picked colors are remembered, for example
+     *                        one only kept in memory
+     * @apiNote must be called before the history is displayed, since the skin only subscribes to it once
+     */
+    public void setColorHistory(final ColorHistory newColorHistory) {
+        colorHistory = newColorHistory;
+    }
+
     // ===================================
     //              GETTERS
     // ===================================
@@ -172,5 +278,32 @@ public class MaterialColorPicker extends Control {
         return colorFormat.get();
     }
 
+    /**
+     * Getter for whether the {@link MaterialColorPicker} suggests the dominant colors of the screen
+     * @return (boolean): whether colors are suggested while the drop tool is in use
+     */
+    public boolean isSuggestColors() {
+        return suggestColors.get();
+    }
+
+    /**
+     * Getter for the {@link MaterialColorPicker}'s color model
+     * @return ({@link ColorModel}): the headless model backing the color picker's color, safe to update from any thread
+     */
+    public ColorModel getColorModel() {
+        return colorModel;
+    }
+
+    /**
+     * Getter for the {@link MaterialColorPicker}'s color history
+     * @return ({@link ColorHistory}): the colors last picked, shared between all color pickers unless another history
+     * was set
+     * @implNote the shared history's file is only opened the first time this is called
+     */
+    public ColorHistory getColorHistory() {
+        if (colorHistory == null) colorHistory = ColorHistory.getShared();
+        return colorHistory;
+    }
+
 
 }
@@ -4,9 +4,13 @@ import app.customControls.controls.HsvColorSelect.HsvColorSelect;
 import app.customControls.controls.colorpickerOverlay.ColorPickerOverlay;
 import app.customControls.controls.loopSlider.LoopSlider;
 import app.customControls.controls.temporaryPopup.TemporaryPopup;
+import app.customControls.handlers.colorHistory.ColorHistory;
+import app.customControls.handlers.colorModel.ColorModel;
+import app.customControls.handlers.pulse.PulseHandler;
 import app.customControls.utilities.*;
 import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.EventHandler;
@@ -14,6 +18,8 @@ import javafx.geometry.Insets;
 import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.*;
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.InnerShadow;
@@ -24,6 +30,7 @@ import javafx.scene.paint.Color;
 import org.kordamp.ikonli.javafx.FontIcon;
 
 import java.util.Arrays;
+import java.util.function.UnaryOperator;
 
 import static app.customControls.controls.colorPicker.ColorFormat.*;
 import static app.customControls.controls.colorPicker.ColorFormat.HEX;
@@ -32,6 +39,11 @@ import static app.customControls.utilities.KeyboardUtil.Modifier.CTRL;
 import static app.customControls.utilities.KeyboardUtil.Modifier.SHIFT;
 import static app.customControls.utilities.KeyboardUtil.areKeysDown;
 
+/**
+ * Default skin of the {@link MaterialColorPicker}, which is a view over the picker's {@link ColorModel} : the color
+ * codes & current color are rendered from the model, while the user's input (pointer & slider moves, color codes typed
+ * or pasted) is forwarded to the model, which validates & converts it
+ */
 public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> implements Skin<MaterialColorPicker> {
 
     // ===================================
@@ -48,12 +60,6 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
     private static final int TOP_SPACE = 180;
     private static final String COLOR_PICKER_ICON = "fas-eye-dropper";
 
-    // default color code
-
-    private static final String DEFAULT_HEX  = "#FF0000";
-    private static final int[] DEFAULT_RGB  = new int[]{255, 0, 0};
-    private static final int[] DEFAULT_HSV  = new int[]{0, 100, 100};
-
     // constants
 
     private static final String MARGIN_KEY = "color-picker-margin";
@@ -63,10 +69,33 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
     private static final int MAX_VALUE = 100;
     private static final long POPUP_DURATION = 1000;
 
+    // color history (the history strip sits inside the color format's bottom margin)
+
+    private static final double HISTORY_SWATCH_SIZE = 14;
+    private static final double HISTORY_SWATCH_GAP = 4;
+    private static final double HISTORY_SWATCH_RADIUS = 4;
+    private static final double HISTORY_SPACING = 8;
+
+    // synchronisation flags
+
+    private static final int POINTER_CHANGED = 1;
+    private static final int HUE_CHANGED = 1 << 1;
+    private static final int VALUE_CHANGED = 1 << 2;
+    private static final int USER_INPUT = 1 << 3;       // the change comes from the user & is forwarded to the model
+
+    // color code text fields (indexes of the values last written to each field)
+
+    private static final int HEX_FIELD = 0;
+    private static final int RED_FIELD = 1;
+    private static final int HUE_FIELD = 4;
+    private static final int FIELD_COUNT = 7;
+    private static final int NOT_WRITTEN = -1;
+
     /*              PADDING             */
 
     private static final Insets pickerMargins = new Insets(0, 20, 0, 20);
     private static final Insets currentColorMargins = new Insets(0 , 20, 0 , 0);
+    private static final CornerRadii currentColorRadii = new CornerRadii(10);
     private static final Insets hueSliderMargins = new Insets(20, 10, 0, 0);
     private static final Insets valueSliderMargins = new Insets(0, 10, 0, 0);
     private static final Insets colorFormatMargins = new Insets(0, 10, 30, 10);
@@ -80,8 +109,6 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
     // color picking
     private final FontIcon              colorPickerIcon;
     private final Region currentColor;
-    // overlay
-    private final ColorPickerOverlay    overlay;
     // sliders
     private final LoopSlider            hueSlider;
     private final LoopSlider valueSlider;
@@ -90,22 +117,37 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
     private final ComboBox<ColorFormat> colorFormat;
     // hex
     private final TextField             hexDisplay;
-    // rgb
-    private final TextField             redDisplay;
-    private final TextField greenDisplay;
-    private final TextField blueDisplay;
-    private final TextField[] rgb;
-    // hsv
-    private final TextField             hueDisplay;
-    private final TextField saturationDisplay;
-    private final TextField valueDisplay;
-    private final TextField[] hsv;
+    // rgb (created the first time the rgb format is needed)
+    private TextField                   redDisplay;
+    private TextField greenDisplay;
+    private TextField blueDisplay;
+    private TextField[] rgb;
+    // hsv (created the first time the hsv format is needed)
+    private TextField                   hueDisplay;
+    private TextField saturationDisplay;
+    private TextField valueDisplay;
+    private TextField[] hsv;
     // copy notification
     private final TemporaryPopup        copyDisplay;
+    // color history
+    private final Canvas                historyStrip;
 
     /*            ASSOCIATED            */
 
     private final MaterialColorPicker colorPicker;
+    private final ColorModel colorModel;
+
+    /*          SYNCHRONISATION         */
+
+    private final PulseHandler synchronisation;  // folds all changes made during a pulse into one synchronisation
+    private int changedInputs = 0;               // inputs which changed since the last synchronisation
+    private boolean loadingModel = false;        // whether the pointer & sliders are being moved to the model
+
+    /*        TEXT SYNCHRONISATION      */
+
+    private final int[] writtenValues = new int[FIELD_COUNT];   // value last written to each field from the model
+    private final StringBuilder codeBuilder = new StringBuilder(); // reused to build color codes
+    private boolean programmaticUpdate = false;                  // whether a trusted update bypasses validation
 
     /*             LISTENERS            */
 
@@ -115,10 +157,15 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
     private final InvalidationListener hueListener;             // synchronises the color to the hue slider
     private final InvalidationListener valueListener;           // synchronises the color to the value slider
     private final InvalidationListener colorChangeListener;     // handles exterior color changes
+    private final InvalidationListener generationListener;      // moves the pointer to the model once it can
     private final EventHandler<KeyEvent> colorKeyListener;        // handles key presses in color display textFields
     private final EventHandler<KeyEvent> globalKeyListener;       // handles key presses in other ColorPicker regions
     private final EventHandler<MouseEvent> overlayToggleListener;   // handles displaying the ColorPickerOverlay
-    private final EventHandler<MouseEvent> onPointerRelease;        // handles synchronising color with the ColorPicker
+    private final Runnable onPointerRest;                           // handles synchronising color with the ColorPicker
+    private final EventHandler<MouseEvent> historySelectListener;   // handles picking a color from the history
+    private final InvalidationListener historyListener;             // redraws the history when it changes
+    private final WeakInvalidationListener weakHistoryListener;     // lets the shared history forget disposed skins
+    private boolean historyAttached = false;                        // whether the skin listens to the history yet
 
     // ===================================
     //            CONSTRUCTOR
@@ -127,8 +174,9 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
     protected MaterialColorPickerSkin(MaterialColorPicker colorPicker) {
         super(colorPicker);
 
-        // saves the associated colorPicker
+        // saves the associated colorPicker & its model
         this.colorPicker = colorPicker;
+        this.colorModel = colorPicker.getColorModel();
 
         /*      INITIALISING COMPONENTS     */
 
@@ -137,8 +185,6 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
         // color picking
         this.currentColor = new Region();
         this.colorPickerIcon = new FontIcon(COLOR_PICKER_ICON);
-        // overlay
-        this.overlay = new ColorPickerOverlay(colorPicker);
         // sliders
         this.hueSlider = new LoopSlider(MIN_HUE, MAX_HUE, MIN_HUE);
         this.valueSlider = new LoopSlider(MIN_VALUE, MAX_VALUE, MIN_VALUE, false);
@@ -147,31 +193,31 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
         this.colorFormat = new ComboBox<>();
         // hex
         this.hexDisplay = new TextField();
-        // rgb
-        this.redDisplay = new TextField();
-        this.greenDisplay = new TextField();
-        this.blueDisplay = new TextField();
-        this.rgb = new TextField[]{redDisplay, greenDisplay, blueDisplay};
-        // hsv
-        this.hueDisplay = new TextField();
-        this.saturationDisplay = new TextField();
-        this.valueDisplay = new TextField();
-        this.hsv = new TextField[]{hueDisplay, saturationDisplay, valueDisplay};
         // copy
         this.copyDisplay = new TemporaryPopup("", POPUP_DURATION);
+        // color history
+        this.historyStrip = new Canvas(0, HISTORY_SWATCH_SIZE);
+
+        /*          SYNCHRONISATION         */
+
+        this.synchronisation = new PulseHandler(this::synchroniseChangedInputs);
 
         /*             LISTENERS            */
 
         this.resizeListener = observable -> handleResize();
         this.formatListener = observable -> handleFormatChange();
-        this.colorListener = observable -> synchroniseColorToPointer();
-        this.hueListener = observable -> synchroniseDisplayHue();
-        this.valueListener = observable -> synchroniseDisplayValue();
+        this.colorListener = observable -> markChanged(POINTER_CHANGED | (isMovedByUser() ? USER_INPUT : 0));
+        this.hueListener = observable -> markChanged(HUE_CHANGED | (loadingModel ? 0 : USER_INPUT));
+        this.valueListener = observable -> markChanged(VALUE_CHANGED | (loadingModel ? 0 : USER_INPUT));
         this.colorChangeListener = observable -> loadPickerColor();
+        this.generationListener = observable -> loadPickerColor();
         this.colorKeyListener = this::handleColorFieldKeyPresses;
         this.globalKeyListener = this::handleGlobalKeyPresses;
         this.overlayToggleListener = mouseEvent -> showOverlay();
-        this.onPointerRelease = mouseEvent -> savePickerColor();
+        this.onPointerRest = this::savePickerColor;
+        this.historySelectListener = this::selectHistoryColor;
+        this.historyListener = observable -> drawHistory();
+        this.weakHistoryListener = new WeakInvalidationListener(historyListener);
 
         initialise();
         style();
@@ -218,22 +264,96 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
         ObservableList<ColorFormat> colorFormats = FXCollections.observableArrayList(HEX, RGB, HSV);
         colorFormat.setItems(colorFormats);
         colorFormat.setValue(HEX);
-        // hides rgb text fields
-        hideRgb();
-        // hides hsv text fields
-        hideHsv();
+        // (rgb & hsv text fields are only created once their format is first needed)
 
         /*          TEXT VALIDATION         */
         // hex
-        hexDisplay          .setTextFormatter(new TextFormatter<>(StringUtil.Validation.hexValidation));
-        // rgb
-        redDisplay          .setTextFormatter(new TextFormatter<>(StringUtil.Validation.redValidation));
-        greenDisplay        .setTextFormatter(new TextFormatter<>(StringUtil.Validation.greenValidation));
-        blueDisplay         .setTextFormatter(new TextFormatter<>(StringUtil.Validation.blueValidation));
-        // hsv
-        hueDisplay          .setTextFormatter(new TextFormatter<>(StringUtil.Validation.hueValidation));
-        saturationDisplay   .setTextFormatter(new TextFormatter<>(StringUtil.Validation.saturationValidation));
-        valueDisplay        .setTextFormatter(new TextFormatter<>(StringUtil.Validation.valueValidation));
+        hexDisplay          .setTextFormatter(new TextFormatter<>(trusted(StringUtil.Validation.hexValidation)));
+        // marks every field as not having been written to yet
+        Arrays.fill(writtenValues, NOT_WRITTEN);
+        trackWrittenValue(hexDisplay, HEX_FIELD);
+    }
+
+    /**
+     * Creates the rgb {@link TextField TextFields} the first time the rgb format is needed. Only one color format is
+     * displayed at a time, so there is no need to build every format when the skin is created
+     */
+    private void initialiseRgbFormat() {
+
+        // stops if the rgb format has already been created
+        if (rgb != null) return;
+
+        // creates the text fields...
+        redDisplay = new TextField();
+        greenDisplay = new TextField();
+        blueDisplay = new TextField();
+        rgb = new TextField[]{redDisplay, greenDisplay, blueDisplay};
+
+        // ...sets up text validation...
+        redDisplay          .setTextFormatter(new TextFormatter<>(trusted(StringUtil.Validation.redValidation)));
+        greenDisplay        .setTextFormatter(new TextFormatter<>(trusted(StringUtil.Validation.greenValidation)));
+        blueDisplay         .setTextFormatter(new TextFormatter<>(trusted(StringUtil.Validation.blueValidation)));
+
+        // ...and adds them to the color format, hidden until the format is shown
+        initialiseFormatFields(rgb, RED_FIELD);
+    }
+
+    /**
+     * Creates the hsv {@link TextField TextFields} the first time the hsv format is needed
+     */
+    private void initialiseHsvFormat() {
+
+        // stops if the hsv format has already been created
+        if (hsv != null) return;
+
+        // creates the text fields...
+        hueDisplay = new TextField();
+        saturationDisplay = new TextField();
+        valueDisplay = new TextField();
+        hsv = new TextField[]{hueDisplay, saturationDisplay, valueDisplay};
+
+        // ...sets up text validation...
+        hueDisplay          .setTextFormatter(new TextFormatter<>(trusted(StringUtil.Validation.hueValidation)));
+        saturationDisplay   .setTextFormatter(new TextFormatter<>(trusted(StringUtil.Validation.saturationValidation)));
+        valueDisplay        .setTextFormatter(new TextFormatter<>(trusted(StringUtil.Validation.valueValidation)));
+
+        // ...and adds them to the color format, hidden until the format is shown
+        initialiseFormatFields(hsv, HUE_FIELD);
+    }
+
+    /**
+     * Registers listeners on newly created color format {@link TextField TextFields} & adds them to the format pane
+     * @param fields ({@link TextField}[]): the color format's text fields
+     * @param firstIndex (int): index of the first field, used to track the values written to it
+     */
+    private void initialiseFormatFields(final TextField[] fields, final int firstIndex) {
+        for (int i = 0; i < fields.length; i++) {
+            fields[i].setVisible(false);
+            fields[i].setOnKeyPressed(colorKeyListener);
+            trackWrittenValue(fields[i], firstIndex + i);
+        }
+        formatPane.getChildren().addAll(fields);
+    }
+
+    /**
+     * Forgets the value last written to a color code field as soon as its text is changed by anything other than a
+     * trusted update (user input, pasting...), so that the next synchronisation overwrites it
+     * @param field ({@link TextField}): the color code field
+     * @param index (int): the field's index
+     */
+    private void trackWrittenValue(final TextField field, final int index) {
+        field.textProperty().addListener(observable -> {
+            if (!programmaticUpdate) writtenValues[index] = NOT_WRITTEN;
+        });
+    }
+
+    /**
+     * Wraps a user input validation so that it is bypassed by trusted updates, whose text is known to be valid
+     * @param validation ({@link UnaryOperator}): the user input validation
+     * @return (UnaryOperator): the wrapped validation
+     */
+    private UnaryOperator<TextFormatter.Change> trusted(final UnaryOperator<TextFormatter.Change> validation) {
+        return change -> programmaticUpdate ? change : validation.apply(change);
     }
 
     private void style() {
@@ -245,12 +365,6 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
 
         formatPane.getChildren().addAll(
                 colorFormat,
-                hueDisplay,
-                saturationDisplay,
-                valueDisplay,
-                redDisplay,
-                greenDisplay,
-                blueDisplay,
                 hexDisplay
         );
 
@@ -262,7 +376,8 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
                 currentColor,
                 hueSlider,
                 valueSlider,
-                formatPane
+                formatPane,
+                historyStrip
         );
 
         getChildren().add(container);
@@ -287,42 +402,101 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
 
         // color changes
         colorPicker.colorProperty().addListener(colorChangeListener);
+        hsvColorSelect.generatedProperty().addListener(generationListener);
 
         // current color changes
         hsvColorSelect.pointerLayoutXProperty().addListener(colorListener);
         hsvColorSelect.pointerLayoutYProperty().addListener(colorListener);
 
         // color synchronisation with color picker
-        hsvColorSelect.setOnMouseClicked(onPointerRelease);
+        // (the color is only picked once the pointer comes to rest, after any inertia)
+        hsvColorSelect.setOnPointerMovementEnd(onPointerRest);
 
         // sliders
         hueSlider.valueProperty().addListener(hueListener);
         valueSlider.valueProperty().addListener(valueListener);
 
         // user input (color key presses)
+        // (rgb & hsv text fields register their own listeners when they are created)
         hexDisplay.setOnKeyPressed(colorKeyListener);
-        redDisplay.setOnKeyPressed(colorKeyListener);
-        greenDisplay.setOnKeyPressed(colorKeyListener);
-        blueDisplay.setOnKeyPressed(colorKeyListener);
-        hueDisplay.setOnKeyPressed(colorKeyListener);
-        saturationDisplay.setOnKeyPressed(colorKeyListener);
-        valueDisplay.setOnKeyPressed(colorKeyListener);
 
         // user input (global key presses)
         colorPicker.setOnKeyPressed(globalKeyListener);
+
+        // color history
+        // (the skin only starts listening to the history once it is first drawn, see drawHistory)
+        historyStrip.setOnMouseClicked(historySelectListener);
+    }
+
+    @Override
+    public void dispose() {
+        // the history is shared between color pickers and outlives the skin
+        if (historyAttached) colorPicker.getColorHistory().removeListener(weakHistoryListener);
+        super.dispose();
     }
 
     // ===================================
     //          SYNCHRONISATION
     // ===================================
 
+    /**
+     * Marks an input as having changed & schedules a synchronisation for the next pulse. A single drag step usually
+     * changes several inputs (pointer x & y, sliders), which all end up being synchronised at once
+     * @param input (int): flag of the input which changed
+     */
+    private void markChanged(final int input) {
+        changedInputs |= input;
+        synchronisation.request();
+    }
+
+    /**
+     * Immediately synchronises any pending change instead of waiting for the next pulse
+     */
+    private void flushSynchronisation() {
+        synchronisation.flush();
+    }
+
+    /**
+     * Synchronises every input which changed since the last synchronisation, then updates the color code & current
+     * color a single time
+     */
+    private void synchroniseChangedInputs() {
+        final int changed = changedInputs;
+        changedInputs = 0;
+
+        if ((changed & HUE_CHANGED) != 0) synchroniseDisplayHue();
+        if ((changed & VALUE_CHANGED) != 0) synchroniseDisplayValue();
+
+        // forwards the user's moves to the model...
+        if ((changed & USER_INPUT) != 0) forwardPointerColor();
+
+        // ...and renders it
+        synchroniseColorToModel();
+    }
+
+    /**
+     * Determines if the pointer is being moved by the user, as opposed to being moved to the model's color or
+     * repositioned when the hsv display is laid out
+     * @return (boolean): whether the pointer's moves should be forwarded to the model
+     */
+    private boolean isMovedByUser() {
+        return hsvColorSelect.isPointerMoving() && !loadingModel;
+    }
+
+    /**
+     * Forwards the color at the hsv display's pointer to the {@link ColorModel}. The pointer is a trusted source, so
+     * its components are clamped rather than validated
+     */
+    private void forwardPointerColor() {
+        final HsvColorSelect.PointerColor color = hsvColorSelect.getPointerColorSnapshot();
+        colorModel.setHsvClamped(color.getHue(), color.getSaturation(), color.getValue());
+    }
+
     /**
      * Synchronises the hsv display to match the slider's hue
      */
     private void synchroniseDisplayHue() {
         hsvColorSelect.setHue(hueSlider.getValue());
-        // updates the color code accordingly
-        synchroniseColorToPointer();
     }
 
     /**
@@ -330,8 +504,6 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
      */
     private void synchroniseDisplayValue() {
         hsvColorSelect.setValue(100 - valueSlider.getValue());
-        // updates the color code accordingly
-        synchroniseColorToPointer();
     }
 
     /**
@@ -343,49 +515,115 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
     }
 
     /**
-     * Synchronises the hsv display to match the values in the color format text fields
-     * & is responsible for calling upon methods to verify the validity of user inout in these text fields
+     * Forwards the color code typed in the color format text fields to the {@link ColorModel} as a pick, or warns the
+     * user if the model rejected it
      * @param colorFormat ({@link ColorFormat}): the current color format
      * @apiNote if color format is invalid, resets color code to match the current color
      */
     private void synchroniseDisplayToTextFields(final ColorFormat colorFormat) {
 
-        // checks the validity of the color format text before updating the display
-        switch (colorFormat) {
-            case HEX -> applyHex(validateHexInput());
-            case RGB -> applyRgb(validateRgbInput());
-            case HSV -> applyHsv(validateHsvInput());
+        // warns the user if the color code was rejected...
+        if (!forwardColorCode(colorFormat)) {
+            warnInvalidColorCode(colorFormat);
+            return;
+        }
+
+        // ...otherwise the validated color code is a pick, which is remembered in the history
+        savePickerColor();
+    }
+
+    /**
+     * Forwards the color code typed in the color format text fields to the {@link ColorModel}, which validates it.
+     * The color code is rendered back from the model, completing its units
+     * @param colorFormat ({@link ColorFormat}): the color format to forward
+     * @return (boolean): whether the model accepted the color code
+     */
+    private boolean forwardColorCode(final ColorFormat colorFormat) {
+
+        // lets the model validate & apply the color code
+        final boolean accepted = switch (colorFormat) {
+            case HEX -> colorModel.applyHexCode(hexDisplay.getText());
+            case RGB -> {
+                initialiseRgbFormat();
+                yield colorModel.applyRgbCode(redDisplay.getText(), greenDisplay.getText(), blueDisplay.getText());
+            }
+            case HSV -> {
+                initialiseHsvFormat();
+                yield colorModel.applyHsvCode(
+                        hueDisplay.getText(),
+                        saturationDisplay.getText(),
+                        valueDisplay.getText()
+                );
+            }
             case NULL -> { // invalid colorFormat passed
                 final String errorMessage = "Invalid color format %s, must be HEX, RGB or HSV";
                 throw new IllegalStateException(String.format(errorMessage, colorFormat));
             }
-        }
+        };
+
+        // renders the model, even if the color did not change (the typed text may lack units)
+        synchroniseColorCodeToModel();
+        return accepted;
+    }
 
+    /**
+     * Displays a popup below a color format telling the user its color code is invalid
+     * @param colorFormat ({@link ColorFormat}): the color format whose color code was rejected
+     */
+    private void warnInvalidColorCode(final ColorFormat colorFormat) {
+
+        // determines which text field to display the popup under
+        final TextField field = switch (colorFormat) {
+            case RGB -> redDisplay;
+            case HSV -> hueDisplay;
+            default  -> hexDisplay;
+        };
+        final Point2D location = NodeUtil.nodeScreenCoordinates(field).add(0, field.getHeight());
+
+        // displays the popup warning the user the code is invalid
+        copyDisplay.setLifeCycle(2000);
+        copyDisplay.setText(String.format("Invalid %s code", colorFormat));
+        copyDisplay.show(colorPicker.getScene().getWindow(), location.getX(), location.getY());
     }
 
     /**
-     * Synchronises current color if ColoPicker color has been set from the exterior
+     * Moves the pointer & sliders to the {@link ColorModel}'s color if it was set from the exterior (drop tool,
+     * history, color code, another thread...) & renders it
      */
     private void loadPickerColor() {
 
-        // gets the color picker's color
-        final Color color = colorPicker.getColor();
-        // updates the pointer accordingly
-        hsvColorSelect.setPointerColor(color);
+        // only renders the model if the pointer already points at its color (the change came from the pointer)
+        if (hsvColorSelect.getPointerArgb() == colorModel.getArgb()) {
+            synchroniseColorToModel();
+            return;
+        }
 
-        // synchronises the other components
-        synchroniseColorCodeToPointer();
-        synchroniseCurrentColorToPointer();
-        SynchroniseSliders();
+        // moves the pointer to the model's color, using its hsv components so that a hue is not lost on greys
+        final double[] hsv = colorModel.getHsv();
+        loadingModel = true;
+        try {
+            hsvColorSelect.setPointerHsv(hsv[0], hsv[1], hsv[2]);
+            SynchroniseSliders();
+        } finally {
+            loadingModel = false;
+        }
+
+        // renders the model, even if the pointer did not need to move
+        markChanged(POINTER_CHANGED);
+        flushSynchronisation();
     }
 
     /**
-     * Updates the ColorPicker's color each time the pointer stops moving so that it can be accessed from the exterior
-     * @implNote this <i>will trigger</i> the loadPickerColor method once
+     * Picks the {@link ColorModel}'s color each time the user stops moving the pointer or validates a color code, so
+     * that it is remembered in the color history
      */
     private void savePickerColor() {
-        final Color color = hsvColorSelect.getPointerColor();
-        colorPicker.setColor(color);
+
+        // forwards any move which has not been synchronised yet
+        flushSynchronisation();
+
+        // picks the model's color
+        colorPicker.pickColor(BackgroundUtil.toColor(colorModel.getArgb()));
     }
 
     // ===================================
@@ -411,7 +649,7 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
         }
 
         // updates the color code to match the current color
-        synchroniseColorCodeToPointer();
+        synchroniseColorCodeToModel();
 
     }
 
@@ -473,79 +711,114 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
     }
 
     /**
-     * Synchronises the color code and current color to match the hsv display's color
+     * Renders the {@link ColorModel}'s color as the color code & current color
      */
-    private void synchroniseColorToPointer() {
-        synchroniseColorCodeToPointer();
-        synchroniseCurrentColorToPointer();
+    private void synchroniseColorToModel() {
+        synchroniseColorCodeToModel();
+        synchroniseCurrentColorToModel();
     }
 
     /**
-     * Synchronises the current color code to match the currently selected color in the hsv display
+     * Renders the {@link ColorModel}'s color in the current color format
      */
-    private void synchroniseColorCodeToPointer() {
+    private void synchroniseColorCodeToModel() {
 
         // determines the current color format
         final ColorFormat currentFormat = colorFormat.getSelectionModel().getSelectedItem();
 
-        // synchronises that color format to the current color in the hsv display
+        // renders the model in that color format
         switch (currentFormat) {
-            case HEX -> syncHexToPointer();
-            case RGB -> syncRgbToPointer();
-            case HSV -> syncHsvToPointer();
+            case HEX -> syncHexToModel();
+            case RGB -> syncRgbToModel();
+            case HSV -> syncHsvToModel();
         }
     }
 
     /**
-     * Synchronises the current color to match the currently selected color in the hsv display
+     * Renders the {@link ColorModel}'s color as the current color
      */
-    private void synchroniseCurrentColorToPointer() {
-        // sets the background color to match the current color in the hsv display
-        currentColor.setStyle("-fx-background-color: " + hsvColorSelect.getPointerHex());
+    private void synchroniseCurrentColorToModel() {
+        // (cached backgrounds are used instead of inline styles to avoid re-parsing css on every pointer move)
+        currentColor.setBackground(BackgroundUtil.fill(colorModel.getArgb(), currentColorRadii));
     }
 
     /**
-     * Synchronises the hex color code to the hsv display's pointer
+     * Renders the {@link ColorModel}'s hex color code
      */
-    private void syncHexToPointer() {
-        // retrieves and sets the pointer's hex code
-        swapHexText(hsvColorSelect.getPointerHex());
+    private void syncHexToModel() {
+        final int rgbCode = colorModel.getArgb() & 0xFFFFFF;
+
+        // only builds & sets the hex code if it changed
+        if (writtenValues[HEX_FIELD] == rgbCode) return;
+        writeTrusted(hexDisplay, HEX_FIELD, rgbCode, colorModel.getHex());
     }
 
     /**
-     * Synchronises the rgb color code to the hsv display's pointer
+     * Renders the {@link ColorModel}'s rgb color code
      */
-    private void syncRgbToPointer() {
-        // retrieves the pointer's rgb code...
-        final int[] rgb = hsvColorSelect.getPointerRgb();
+    private void syncRgbToModel() {
+        // makes sure the rgb text fields exist
+        initialiseRgbFormat();
+        // retrieves the model's rgb code...
+        final int[] rgbCode = colorModel.getRgb();
 
-        // ...adds units to it...
-        final String red = "r:" + rgb[0];
-        final String green = "g:" + rgb[1];
-        final String blue = "b:" + rgb[2];
+        // ...and displays each component which changed, with its units
+        syncField(redDisplay, RED_FIELD, "r:", rgbCode[0]);
+        syncField(greenDisplay, RED_FIELD + 1, "g:", rgbCode[1]);
+        syncField(blueDisplay, RED_FIELD + 2, "b:", rgbCode[2]);
+    }
+
+    /**
+     * Renders the {@link ColorModel}'s hsv color code
+     */
+    private void syncHsvToModel() {
+        // makes sure the hsv text fields exist
+        initialiseHsvFormat();
+        // retrieves the model's hsv code...
+        final double[] hsvCode = colorModel.getHsv();
 
-        // ...and displays the final result
-        swapRedText(red);
-        swapGreenText(green);
-        swapBlueText(blue);
+        // ...and displays each component which changed, with its units
+        syncField(hueDisplay, HUE_FIELD, "h:", ColorModel.round(hsvCode[0]));
+        syncField(saturationDisplay, HUE_FIELD + 1, "s:", ColorModel.round(hsvCode[1]));
+        syncField(valueDisplay, HUE_FIELD + 2, "v:", ColorModel.round(hsvCode[2]));
     }
 
     /**
-     * Synchronises the hsv color code to the hsv display's pointer
+     * Synchronises a single color code field to a value, skipping the update if that value is already displayed
+     * @param field ({@link TextField}): the field to update
+     * @param index (int): the field's index
+     * @param units ({@link String}): the units displayed before the value
+     * @param value (int): the value to display
      */
-    private void syncHsvToPointer() {
-        // retrieves the pointer's hsv code...
-        final double[] hsv = hsvColorSelect.getPointerHsv();
+    private void syncField(final TextField field, final int index, final String units, final int value) {
 
-        // ...adds units to it...
-        final String hue = "h:" + (int) hsv[0];
-        final String saturation = "s:" + (int) hsv[1];
-        final String value = "v:" + (int) hsv[2];
+        // stops if the field already displays the value
+        if (writtenValues[index] == value) return;
 
-        // ...and displays the final result
-        setHueText(hue);
-        setSaturationText(saturation);
-        setValueText(value);
+        // builds the text using the shared buffer...
+        codeBuilder.setLength(0);
+        codeBuilder.append(units).append(value);
+
+        // ...and displays it
+        writeTrusted(field, index, value, codeBuilder.toString());
+    }
+
+    /**
+     * Sets a color code field's text without going through user input validation, since the text is generated from
+     * the model and known to be valid
+     * @param field ({@link TextField}): the field to update
+     * @param index (int): the field's index
+     * @param value (int): the value being displayed
+     * @param text ({@link String}): the text to display
+     */
+    private void writeTrusted(final TextField field, final int index, final int value, final String text) {
+        programmaticUpdate = true;
+        try {
+            field.setText(text);
+        } finally {
+            programmaticUpdate = false;
+        }
+        writtenValues[index] = value;
     }
 
     // ===================================
@@ -564,25 +837,14 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
         hexDisplay.setText(hexText);
     }
 
-    /**
-     * Swaps the entire rbg color code
-     * @param rgb (int[]): the rgb code to display
-     */
-    private void swapRgb(final int[] rgb) {
-        // swaps the red text
-        swapRedText(Integer.toString(rgb[0]));
-        // swaps the green text
-        swapGreenText(Integer.toString(rgb[1]));
-        // swaps the blue text
-        swapBlueText(Integer.toString(rgb[2]));
-    }
-
     /**
      * Swaps the current red text
      * @param redText ({@link String}): the hex code to display
      * @apiNote new text <i>must be valid</i> to avoid issues
      */
     private void swapRedText(final String redText) {
+        // makes sure the rgb text fields exist
+        initialiseRgbFormat();
         // clears text to avoid issues with TextField TextFormatter
         redDisplay.clear();
         // sets the new text
@@ -595,6 +857,8 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
      * @apiNote new text <i>must be valid</i> to avoid issues
      */
     private void swapGreenText(final String greenText) {
+        // makes sure the rgb text fields exist
+        initialiseRgbFormat();
         // clears text to avoid issues with TextField TextFormatter
         greenDisplay.clear();
         // sets the new text
@@ -607,31 +871,22 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
      * @apiNote new text <i>must be valid</i> to avoid issues
      */
     private void swapBlueText(final String blueText) {
+        // makes sure the rgb text fields exist
+        initialiseRgbFormat();
         // clears text to avoid issues with TextField TextFormatter
         blueDisplay.clear();
         // sets the new text
         blueDisplay.setText(blueText);
     }
 
-    /**
-     * Swaps the entire hsv color code
-     * @param hsv (double[]): the rgb code to display
-     */
-    private void setHsv(final double[] hsv) {
-        // swaps the hue text
-        setHueText(Integer.toString((int) hsv[0]));
-        // swaps the saturation text
-        setSaturationText(Integer.toString((int) hsv[1]));
-        // swaps the value text
-        setValueText(Integer.toString((int) hsv[2]));
-    }
-
     /**
      * Swaps the current hue text
      * @param hueText ({@link String}): the hex code to display
      * @apiNote new text <i>must be valid</i> to avoid issues
      */
     private void setHueText(final String hueText) {
+        // makes sure the hsv text fields exist
+        initialiseHsvFormat();
         // clears text to avoid issues with TextField TextFormatter
         hueDisplay.clear();
         // sets the new text
@@ -644,6 +899,8 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
      * @apiNote new text <i>must be valid</i> to avoid issues
      */
     private void setSaturationText(final String saturationText) {
+        // makes sure the hsv text fields exist
+        initialiseHsvFormat();
         // clears text to avoid issues with TextField TextFormatter
         saturationDisplay.clear();
         // sets the new text
@@ -656,6 +913,8 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
      * @apiNote new text <i>must be valid</i> to avoid issues
      */
     private void setValueText(final String valueText) {
+        // makes sure the hsv text fields exist
+        initialiseHsvFormat();
         // clears text to avoid issues with TextField TextFormatter
         valueDisplay.clear();
         // sets the new text
@@ -752,67 +1011,100 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
     //              OVERLAY
     // ===================================
 
+    /**
+     * Toggles the {@link ColorPickerOverlay} shared by all color pickers, after binding it to this color picker
+     */
     private void showOverlay() {
+        final ColorPickerOverlay overlay = ColorPickerOverlay.getShared();
+        overlay.bind(colorPicker);
         overlay.toggleOverlay();
     }
 
+    // ===================================
+    //           COLOR HISTORY
+    // ===================================
+
+    /**
+     * Draws the most recent colors of the {@link ColorHistory} onto the history strip, as many as fit in its width.
+     * Drawing onto a single {@link Canvas} avoids creating & discarding a node for each color in the history
+     * @implNote the history is only opened & listened to once the strip is wide enough to show a swatch, so that
+     * pickers which are never displayed do not touch the history file
+     */
+    private void drawHistory() {
+        final GraphicsContext gc = historyStrip.getGraphicsContext2D();
+
+        // clears the previous swatches
+        gc.clearRect(0, 0, historyStrip.getWidth(), historyStrip.getHeight());
+
+        // stops if no swatch fits in the strip
+        final int fitting = visibleHistorySwatches();
+        if (fitting <= 0) return;
+
+        // starts listening to the history the first time it is displayed
+        final ColorHistory history = colorPicker.getColorHistory();
+        if (!historyAttached) {
+            history.addListener(weakHistoryListener);
+            historyAttached = true;
+        }
+
+        // draws each visible swatch, most recent first
+        final int visible = Math.min(history.size(), fitting);
+        for (int i = 0; i < visible; i++) {
+            gc.setFill(BackgroundUtil.toColor(history.getArgb(i)));
+            gc.fillRoundRect(
+                    i * (HISTORY_SWATCH_SIZE + HISTORY_SWATCH_GAP), 0,
+                    HISTORY_SWATCH_SIZE, HISTORY_SWATCH_SIZE,
+                    HISTORY_SWATCH_RADIUS, HISTORY_SWATCH_RADIUS
+            );
+        }
+    }
+
+    /**
+     * Determines how many swatches fit in the history strip
+     * @return (int): the number of visible swatches
+     */
+    private int visibleHistorySwatches() {
+        return (int) ((historyStrip.getWidth() + HISTORY_SWATCH_GAP) / (HISTORY_SWATCH_SIZE + HISTORY_SWATCH_GAP));
+    }
+
+    /**
+     * Picks the color of the swatch the user clicked on in the history strip
+     * @param mouseEvent ({@link MouseEvent}): the click on the history strip
+     */
+    private void selectHistoryColor(final MouseEvent mouseEvent) {
+
+        // determines which swatch was clicked
+        final double step = HISTORY_SWATCH_SIZE + HISTORY_SWATCH_GAP;
+        final int index = (int) (mouseEvent.getX() / step);
+
+        // ignores clicks in the gap between swatches...
+        if (mouseEvent.getX() - index * step > HISTORY_SWATCH_SIZE) return;
+        // ...or past the last swatch
+        final ColorHistory history = colorPicker.getColorHistory();
+        if (index >= Math.min(history.size(), visibleHistorySwatches())) return;
+
+        // picks the swatch's color
+        colorPicker.pickColor(BackgroundUtil.toColor(history.getArgb(index)));
+    }
+
     // ===================================
     //               FOCUS
     // ===================================
 
     /**
      * Forces the current color code to lose focus. If format is invalid at the time focus is lost, color code
-     * defaults to the currently selected color in the hsv display
+     * defaults to the model's color
      * @param keyEvent ({@link KeyEvent}): the event responsible for triggering the method
      */
     private void looseColorCodeFocus(final KeyEvent keyEvent) {
         // determines from where the key event originates
-        final Node source = (Node) keyEvent.getSource();
+        final TextField source = (TextField) keyEvent.getSource();
 
-        // gets the text inside the text field
-        final String text = ((TextField) source).getText();
-
-        // checks the validity of the text inside the textField
-        final ColorFormat origin = deterMineOrigin(keyEvent);
-        // if text is invalid, sets it to the current pointer color instead
-        switch (origin) {
-            case HEX -> {
-                // sets the hex to the current hex color
-                if (!StringUtil.Validation.isValidHex(text)) swapHexText(hsvColorSelect.getPointerHex());
-            }
-            case RGB -> {
-                // determines if the current rgb color is valid
-                final boolean isValidRed = StringUtil.Validation.isValidRed(text);
-                final boolean isValidGreen = StringUtil.Validation.isValidGreen(text);
-                final boolean isValidBlue = StringUtil.Validation.isValidBlue(text);
-                // determines the currently selected rgb color
-                final int[] pointerRgb = hsvColorSelect.getPointerRgb();
-
-                // updates the rgb code to the current color if it is incorrect
-                if (!isValidRed) swapRedText(Integer.toString(pointerRgb[0]));
-                if (!isValidGreen) swapGreenText(Integer.toString(pointerRgb[1]));
-                if (!isValidBlue) swapBlueText(Integer.toString(pointerRgb[2]));
-            }
-            case HSV -> {
-                // determines if the current hsv code is invalid
-                final boolean isValidHue = StringUtil.Validation.isValidHue(text);
-                final boolean isValidSaturation = StringUtil.Validation.isValidSaturation(text);
-                final boolean isValidValue = StringUtil.Validation.isValidValue(text);
-                // determines the currently selected hsv color
-                final double[] pointerHsv = hsvColorSelect.getPointerHsv();
-
-                // updates the hsv code to the current color if it is incorrect
-                if (!isValidHue) setHueText(Integer.toString((int) pointerHsv[0]));
-                if (!isValidSaturation) setSaturationText(Integer.toString((int) pointerHsv[1]));
-                if (!isValidValue) setValueText(Integer.toString((int) pointerHsv[2]));
-            }
-        }
-
-        // updates the display to match the TextFields
-        synchroniseDisplayToTextFields(origin);
+        // forwards the color code to the model, which renders its own color back if the code is invalid
+        if (forwardColorCode(deterMineOrigin(keyEvent))) savePickerColor();
 
         // deselects all text in the text field
-        ((TextField) source).deselect();
+        source.deselect();
         // takes away the focus from the text field
         colorPicker.requestFocus();
     }
@@ -833,24 +1125,26 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
      * @param keyEvent ({@link KeyEvent}): the event responsible for calling this method
      */
     private void smartCopy(KeyEvent keyEvent) {
-        switch (deterMineOrigin(keyEvent)) {
-            case HEX -> smartCopyHex(validateHexInput());
-            case RGB -> smartCopyRgb(validateRgbInput());
-            case HSV -> smartCopyHsv(validateHsvInput());
+        final ColorFormat origin = deterMineOrigin(keyEvent);
+
+        // forwards the typed color code, so that the model's color code is the one displayed
+        // (if the typed code is invalid, the model's current color is rendered & copied instead)
+        forwardColorCode(origin);
+
+        switch (origin) {
+            case HEX -> smartCopyHex();
+            case RGB -> smartCopyRgb();
+            case HSV -> smartCopyHsv();
         }
     }
 
     /**
      * Handles copying the hex code
-     * @param hex ({@link String}): the validated hex code
      */
-    private void smartCopyHex(final String hex) {
-
-        // if the hex text is invalid, uses the currently selected color instead
-        if (hex.equals("")) syncHexToPointer();
+    private void smartCopyHex() {
 
-        // copies hex code to the clipboard
-        ClipBoardUtil.copy(hex);
+        // copies the model's hex code to the clipboard
+        ClipBoardUtil.copy(colorModel.getHex());
 
         // displays popup notifying user that hex code has been copied
         final Point2D hexLocation = NodeUtil.nodeScreenCoordinates(hexDisplay).add(0, hexDisplay.getHeight());
@@ -861,40 +1155,12 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
 
     /**
      * Handles copying the rgb code
-     * @param rgb ({@link String}[]): the validated rgb code
      */
-    private void smartCopyRgb(final String[] rgb) {
+    private void smartCopyRgb() {
 
-        // creates a copy of the originally validated rgb code to avoid modifying it
-        final String[] rgbCopy = Arrays.copyOf(rgb, 3);
-
-        // if rgb text is invalid...
-        for (String s : rgb) {
-            if (s.equals("")) {
-                //...uses the currently selected color instead
-                syncRgbToPointer();
-
-                // updates the rgb code to be copied
-                rgbCopy[0] = redDisplay.getText();
-                rgbCopy[1] = greenDisplay.getText();
-                rgbCopy[2] = blueDisplay.getText();
-
-                // breaks out of the loop to avoid doing this multiple times
-                break;
-            }
-        }
-
-        // extracts red, green and red texts
-        final String redText = rgbCopy[0];
-        final String greenText = rgbCopy[1];
-        final String blueText = rgbCopy[2];
-
-        // formats red, green and blue strings into full rgb string
+        // copies the model's full rgb code to the clipboard
         // ex: rgb(r:255, g:0, b:0)
-        final String rgbString = String.format("rgb(%s, %s, %s)", redText, greenText, blueText);
-
-        // copies the final string to the clipboard
-        ClipBoardUtil.copy(rgbString);
+        ClipBoardUtil.copy(colorModel.getRgbCode());
 
         // displays popup notifying user that rgb code has been copied
         final Point2D redLocation = NodeUtil.nodeScreenCoordinates(redDisplay).add(0, redDisplay.getHeight());
@@ -904,40 +1170,12 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
 
     /**
      * Handles copying the Hsv code
-     * @param hsv ({@link String}[]): the validated hsv code
      */
-    private void smartCopyHsv(final String[] hsv) {
-
-        // creates a copy of the originally validated hsv code to avoid modifying it
-        final String[] hsvCopy = Arrays.copyOf(hsv, 3);
-
-        // if the hsv code is invalid...
-        for (String s : hsv) {
-            if (s.equals("")) {
-                // ...uses the currently selected color instead
-                syncHsvToPointer();
-
-                // updates the hsv code to be copied
-                hsvCopy[0] = hueDisplay.getText();
-                hsvCopy[1] = saturationDisplay.getText();
-                hsvCopy[2] = valueDisplay.getText();
-
-                // exits the loop to avoid doing this multiple times
-                break;
-            }
-        }
-
-        // extracts hue, saturation and value strings
-        final String hueText = hsvCopy[0];
-        final String saturationText = hsvCopy[1];
-        final String valueText = hsvCopy[2];
+    private void smartCopyHsv() {
 
-        // formats hue, saturation and value strings into full hsv string
+        // copies the model's full hsv code to the clipboard
         // ex: hsv(h:0, s:100, v:100)
-        final String hsvString = String.format("hsv(%s, %s, %s)", hueText, saturationText, valueText);
-
-        // copies the final string to the clipboard
-        ClipBoardUtil.copy(hsvString);
+        ClipBoardUtil.copy(colorModel.getHsvCode());
 
         // displays popup notifying user that hsv code has been copied
         final Point2D hueLocation = NodeUtil.nodeScreenCoordinates(hueDisplay).add(0, hueDisplay.getHeight());
@@ -979,13 +1217,12 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
      * @return whether the content can be pasted as a complete hex code
      */
     private boolean hexPasteFormat(final String content) {
-        // stops if content is not in the correct hex format
-        if (!StringUtil.Validation.isValidHex(content)) return false;
+        // forwards the content to the model, stopping if it is not in the correct hex format
+        if (!colorModel.applyHexCode(content)) return false;
 
-        // otherwise, copies the content directly to the hex display and switches to that color mode
-        swapHexText(content);
+        // otherwise, switches to that color mode, rendering the model, & picks the color
         showHexFormat();
-        synchroniseDisplayToTextFields(HEX);
+        savePickerColor();
 
         // takes away the focus from the hex display text field
         colorPicker.requestFocus();
@@ -999,16 +1236,12 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
      * @return whether the content can be pasted as a complete rbg code
      */
     private boolean rgbPasteFormat(final String content) {
-        // stops if content is not in valid rgb format
-        if (!StringUtil.Validation.isValidRgb(content)) return false;
-
-        // extracts the rgb values from the content
-        final int[] rgb = ColorUtil.Rgb.fromRgbString(content);
+        // forwards the content to the model, stopping if it is not in valid rgb format
+        if (!colorModel.applyRgbCode(content)) return false;
 
-        // copies the content directly to the rgb display and switches to that color mode
-        swapRgb(rgb);
+        // otherwise, switches to that color mode, rendering the model, & picks the color
         showRgbFormat();
-        synchroniseDisplayToTextFields(RGB);
+        savePickerColor();
 
         // takes away the focus from the rgb display text fields
         colorPicker.requestFocus();
@@ -1023,16 +1256,12 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
      */
     private boolean hsvPasteFormat(final String content) {
 
-        // stops if content is not in valid hsv format
-        if (!StringUtil.Validation.isValidHsv(content)) return false;
-
-        // extract hsv values from content
-        final double[] hsv = ColorUtil.Hsv.fromHsvString(content);
+        // forwards the content to the model, stopping if it is not in valid hsv format
+        if (!colorModel.applyHsvCode(content)) return false;
 
-        // copies the content directly to the hsv display and switches to that color mode
-        setHsv(hsv);
+        // otherwise, switches to that color mode, rendering the model, & picks the color
         showHsvFormat();
-        synchroniseDisplayToTextFields(HSV);
+        savePickerColor();
 
         // takes away the focus from the hsv display text fields
         colorPicker.requestFocus();
@@ -1097,275 +1326,51 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
     }
 
     // ===================================
-    //          INPUT VALIDATION
+    //              RESETTING
     // ===================================
 
     /**
-     * Resets the current color format to its default color
+     * Resets the color to its default value, in any color format
      */
     private void resetCurrentColorFormat() {
-        switch (colorFormat.getSelectionModel().getSelectedItem()) {
-            case HEX -> resetHex();
-            case RGB -> resetRgb();
-            case HSV -> resetHsv();
-        }
-    }
-
-    /**
-     * Checks that the content of the Hex text field is a correct hex code
-     * @return (String) the validated hex color code
-     * @apiNote uses "" as a flag for an invalid hex code
-     */
-    private String validateHexInput() {
-        final String hexText = hexDisplay.getText();
-
-        // returns an empty string if hex code is invalid
-        return StringUtil.Validation.isValidHex(hexText) ? hexText : "";
-    }
-
-    /**
-     * Applies the new hex code if it is valid & synchronises the other components to it.
-     * Otherwise, sets it to match the currently selected color
-     * @param hex ({@link String}): the parsed hex code
-     */
-    private void applyHex(final String hex) {
-
-        // if the hex code is invalid...
-        if (hex.equals("")) {
-
-            // ...gets the screen location of the hex text field...
-            final Point2D hexLocation = NodeUtil.nodeScreenCoordinates(hexDisplay).add(0, hexDisplay.getHeight());
-
-            // ...and displays a popup warning user the code is invalid...
-            copyDisplay.setLifeCycle(2000);
-            copyDisplay.setText("Invalid HEX code");
-            copyDisplay.show(colorPicker.getScene().getWindow(), hexLocation.getX(), hexLocation.getY());
-
-            // ...then synchronises the hex code to the current color
-            syncHexToPointer();
-
-            return;
-        }
-
-        // completes hex code if it lacks units
-        if (!hex.contains("#")) swapHexText("#" + hex);
-
-        // sets the pointer at the correct position to match the hex code
-        final double[] hsv = ColorUtil.Hex.toHsv(hex);
-        hsvColorSelect.setPointerHsv(hsv[0], hsv[1], hsv[2]);
-
-        // updates the sliders accordingly
-        SynchroniseSliders();
-
-        // makes sure the color code displayed at the end is the one imputed by the user
-        // (because the pointer is moving, it is possible for the text to be updated midway)
-        swapHexText(hex);
-    }
-
-    /**
-     * Resets the hex color code to its default value
-     */
-    private void resetHex() {
-        hsvColorSelect.setPointerHex(DEFAULT_HEX);
+        colorModel.setArgb(ColorModel.DEFAULT_ARGB);
+        synchroniseColorCodeToModel();
     }
 
-    /**
-     * Checks that the content of each of the rgb text fields form a correct rbg code
-     * @return (String[]): array of validated rgb strings
-     * @apiNote uses "" as a flag for an invalid hex code
-     */
-    private String[] validateRgbInput() {
-        // gets rgb strings from each textBox
-        String redText = redDisplay.getText();
-        String greenText = greenDisplay.getText();
-        String blueText = blueDisplay.getText();
-
-        // checks the validity of each rgb string
-        final boolean isValidRed = StringUtil.Validation.isValidRed(redText);
-        final boolean isValidGreen = StringUtil.Validation.isValidGreen(greenText);
-        final boolean isValidBlue = StringUtil.Validation.isValidBlue(blueText);
-
-        // resets rgb values if one or more are invalid
-        if (!isValidRed || !isValidGreen || !isValidBlue) return new String[]{"", "", ""};
-
-        // completes each rgb text if they lack units
-        final boolean redHasUnits = redText.contains("r:");
-        final boolean greenHasUnits = greenText.contains("g:");
-        final boolean blueHasUnits = blueText.contains("b:");
-
-        if (!redHasUnits) {
-            redText = "r:" + redText;
-            swapRedText(redText);
-        }
-        if (!greenHasUnits) {
-            greenText = "g:" + greenText;
-            swapGreenText(greenText);
-        }
-        if (!blueHasUnits) {
-            blueText = "b:" + blueText;
-            swapBlueText(blueText);
-        }
-
-        return new String[]{redText, greenText, blueText};
-    }
-
-    /**
-     * Applies the new rgb code if it is valid & synchronises the other components to it.
-     * Otherwise, sets it to match the currently selected color
-     * @param rgb ({@link String}[]): the parsed rgb code
-     */
-    private void applyRgb(final String[] rgb) {
-
-        // checks to see if the rgb code is invalid
-        for (String s : rgb) {
-
-            if (!s.equals("")) continue;
-
-            // if the rgb code is invalid, determines the position of the red display text field...
-            final Point2D rgbLocation = NodeUtil.nodeScreenCoordinates(redDisplay).add(0, redDisplay.getHeight());
-
-            // ...and displays a popup warning user code is invalid...
-            copyDisplay.setLifeCycle(2000);
-            copyDisplay.setText("Invalid RGB code");
-            copyDisplay.show(colorPicker.getScene().getWindow(), rgbLocation.getX(), rgbLocation.getY());
-
-            // ...then synchronises the rgb code to match the currently selected color
-            syncRgbToPointer();
-
-            return;
-
-        }
-
-        // extracts red, green and red texts
-        final String redText = rgb[0];
-        final String greenText = rgb[1];
-        final String blueText = rgb[2];
-
-        // sets the pointer at the correct position to match the rgb code
-        final int[] rgbValues = ColorUtil.Rgb.fromRgbString(redText, greenText, blueText);
-        final double[] hsv = ColorUtil.Rgb.toHsv(rgbValues[0], rgbValues[1], rgbValues[2]);
-
-        hsvColorSelect.setPointerHsv(hsv[0], hsv[1], hsv[2]);
-
-        // updates the sliders accordingly
-        SynchroniseSliders();
-
-        // makes sure the color code displayed at the end is the one imputed by the user
-        // (because the pointer is moving, it is possible for the text to be updated midway)
-        swapRedText(redText);
-        swapGreenText(greenText);
-        swapBlueText(blueText);
-    }
+    // ===================================
+    //             COUNTERS
+    // ===================================
 
     /**
-     * Resets the rgb code to its default value
+     * Getter for the number of raw change events (pointer moves, slider changes) received by the skin
+     * @return (long): number of change events since the skin was created
      */
-    private void resetRgb() {
-
-        swapRedText("r:" + DEFAULT_RGB[0]);
-        swapGreenText("g:" + DEFAULT_RGB[1]);
-        swapBlueText("b:" + DEFAULT_RGB[2]);
-
-        hsvColorSelect.setPointerRgb(DEFAULT_RGB[0], DEFAULT_RGB[1], DEFAULT_RGB[2]);
-
+    public long getSynchronisationRequests() {
+        return synchronisation.getRequestCount();
     }
 
     /**
-     * Checks that the content of each of the hsv text fields form a correct hsv code
-     * @return (String[]): array of validated hsv strings
-     * @apiNote uses "" as a flag for an invalid hex code
+     * Getter for the number of synchronisations actually performed
+     * @return (long): number of synchronisations since the skin was created
      */
-    private String[] validateHsvInput() {
-        // gets hsv string from each text box
-        String hueText = hueDisplay.getText();
-        String saturationText = saturationDisplay.getText();
-        String valueText = valueDisplay.getText();
-
-        // checks the validity of each string
-        final boolean isValidHue = StringUtil.Validation.isValidHue(hueText);
-        final boolean isValidSaturation = StringUtil.Validation.isValidSaturation(saturationText);
-        final boolean isValidValue = StringUtil.Validation.isValidValue(valueText);
-
-        // resets hsv values if one of the strings is invalid
-        if (!isValidHue || !isValidSaturation || !isValidValue) return new String[]{"", "", ""};
-
-        // completes each hsv text if they lack units
-        final boolean hueHasUnits = hueText.contains("h:");
-        final boolean saturationHasUnits = saturationText.contains("s:");
-        final boolean valueHasUnits = valueText.contains("v:");
-
-        if (!hueHasUnits) {
-            hueText = "h:" + hueText;
-            setHueText(hueText);
-        }
-        if (!saturationHasUnits) {
-            saturationText = "s:" + saturationText;
-            setSaturationText(saturationText);
-        }
-        if (!valueHasUnits) {
-            valueText = "v:" + valueText;
-            setValueText(valueText);
-        }
-
-        return new String[]{hueText, saturationText, valueText};
+    public long getSynchronisationCount() {
+        return synchronisation.getRunCount();
     }
 
     /**
-     * Applies the new hsv code if it is valid & synchronises the other components to it.
-     * Otherwise, sets it to match the currently selected color
-     * @param hsv ({@link String}[]): the parsed hsv code
+     * Getter for the number of change events folded into the last synchronisation
+     * @return (int): change events handled by the last synchronisation
      */
-    private void applyHsv(final String[] hsv) {
-
-        // checks to see if the hsv code is valid
-        for (String s : hsv) {
-
-            if (!s.equals("")) continue;
-
-            // if the hsv code is invalid, determines the screen position of the hue display text field...
-            final Point2D hsvLocation = NodeUtil.nodeScreenCoordinates(hueDisplay).add(0, hueDisplay.getHeight());
-
-            // ...and display a popup warning the user the code is invalid...
-            copyDisplay.setLifeCycle(2000);
-            copyDisplay.setText("Invalid HSV code");
-            copyDisplay.show(colorPicker.getScene().getWindow(), hsvLocation.getX(), hsvLocation.getY());
-
-            // ...then synchronises the hsv color code to match the currently selected color
-            syncHsvToPointer();
-
-            return;
-
-        }
-
-        // extracts hue, saturation and value strings
-        final String hueText = hsv[0];
-        final String saturationText = hsv[1];
-        final String valueText = hsv[2];
-
-        // sets the pointer at the correct position to match hsv code
-        final double[] hsvValues = ColorUtil.Hsv.fromHsvString(hueText, saturationText, valueText);
-        hsvColorSelect.setPointerHsv(hsvValues[0], hsvValues[1], hsvValues[2]);
-
-        // updates the sliders accordingly
-        SynchroniseSliders();
-
-        // makes sure the color code displayed at the end is the one imputed by the user
-        // (because the pointer is moving, it is possible for the text to be updated midway)
-        setHueText(hueText);
-        setSaturationText(saturationText);
-        setValueText(valueText);
+    public int getLastFoldedRequests() {
+        return synchronisation.getLastFoldedRequests();
     }
 
     /**
-     * Resets the hsv color code to its default values
+     * Getter for the average number of change events folded into each synchronisation
+     * @return (double): change events per synchronisation
      */
-    private void resetHsv() {
-
-        setHueText("h:" + DEFAULT_HSV[0]);
-        setSaturationText("s:" + DEFAULT_HSV[1]);
-        setValueText("v:" + DEFAULT_HSV[2]);
-
-        hsvColorSelect.setPointerHsv(DEFAULT_HSV[0], DEFAULT_HSV[1], DEFAULT_HSV[2]);
+    public double getAverageFoldedRequests() {
+        return synchronisation.getAverageFoldedRequests();
     }
 
     // ===================================
@@ -1392,6 +1397,8 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
         resizeSliders();
         // resizes the current color format
         resizeColorFormat();
+        // resizes the color history
+        resizeHistory();
 
         // repositions all the components, taking into consideration their new sizes
         reposition();
@@ -1434,6 +1441,15 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
         formatPane.setPrefWidth(availableWidth);
     }
 
+    /**
+     * Handles resizing the color history strip to the width of the color format pane & redrawing it
+     */
+    private void resizeHistory() {
+        final double width = colorPicker.getWidth() - colorFormatMargins.getLeft() - colorFormatMargins.getRight();
+        historyStrip.setWidth(Math.max(0, width));
+        drawHistory();
+    }
+
     /**
      * Calculates the space available at the top of the color picker
      * @return (double): the space available for the hsv color spectrum to be displayed
@@ -1501,6 +1517,9 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
         // color format
         arrangeColorFormat();
         repositionColorFormat(hueSliderSize, valueSliderSize);
+
+        // color history
+        repositionHistory();
     }
 
     /**
@@ -1572,7 +1591,7 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
      * Handles repositioning the value slider
      * @param pickerSize ({@link Rectangle2D}): the size of the color picker icon
      * @param currentColorSize ({@link Rectangle2D}): the size of the current color
-     * @param hueSliderSize ({@link java.awt.Rectangle}): the size of the hue slider
+     * @param hueSliderSize ({@link Rectangle2D}): the size of the hue slider
      */
     private void repositionValueSlider(
             final Rectangle2D pickerSize,
@@ -1608,6 +1627,14 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
         NodeUtil.positionAt(formatPane, x, y);
     }
 
+    /**
+     * Handles repositioning the color history strip, just below the color format container
+     */
+    private void repositionHistory() {
+        final double y = formatPane.getLayoutY() + formatPane.getHeight() + HISTORY_SPACING;
+        NodeUtil.positionAt(historyStrip, colorFormatMargins.getLeft(), y);
+    }
+
     /**
      * Arranges the nodes inside the color format pane
      */
@@ -1734,6 +1761,8 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
      * @param isVisible (boolean): whether the rgb TextFields are visible
      */
     private void setVisibleRgb(final boolean isVisible) {
+        // nothing to hide if the rgb format has not been created yet
+        if (rgb == null) return;
         for (TextField textField : rgb) {
             textField.setVisible(isVisible);
         }
@@ -1743,6 +1772,7 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
      * Makes the rgb {@link TextField TextFields} visible
      */
     private void showRgb() {
+        initialiseRgbFormat();
         setVisibleRgb(true);
     }
 
@@ -1758,6 +1788,8 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
      * @param isVisible (boolean): whether the rgb TextFields are visible
      */
     private void setVisibleHsv(final boolean isVisible) {
+        // nothing to hide if the hsv format has not been created yet
+        if (hsv == null) return;
         for (TextField textField : hsv) {
             textField.setVisible(isVisible);
         }
@@ -1767,6 +1799,7 @@ public class MaterialColorPickerSkin extends SkinBase<MaterialColorPicker> imple
      * Makes the hsv {@link TextField TextFields} visible
      */
     private void showHsv() {
+        initialiseHsvFormat();
         setVisibleHsv(true);
     }
 
@@ -0,0 +1,106 @@
+package app.customControls.controls.colorPickerCell;
+
+import javafx.scene.control.Cell;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.paint.Color;
+
+/**
+ * Editing logic shared by every cell which edits a color, such as {@link ColorPickerTableCell} &
+ * {@link ColorPickerListCell}. The cell delegates to its editor, which displays the color as a {@link ColorSwatch}
+ * & borrows the shared {@link ColorPickerPopup} while the cell is being edited<br>
+ * <br>
+ * <u><i>Features</i></u> :<br>
+ * <ul>
+ *     <li>lightweight swatch graphic, hidden for empty cells</li>
+ *     <li>live preview of the colors picked while editing, without committing them</li>
+ *     <li>commits the last picked color once the popup is closed, or cancels the edit if nothing changed</li>
+ * </ul>
+ * @implNote the cell must forward its {@code updateItem}, {@code startEdit} & {@code cancelEdit} calls to the editor,
+ * after calling their super implementations
+ */
+public class ColorCellEditor {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private final Cell<Color> cell;
+    private final ColorSwatch swatch;
+    private Color editedColor;  // last color picked while editing
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link ColorCellEditor} constructor
+     * @param cell ({@link Cell}): the cell to edit, which is styled as a color-picker-cell
+     */
+    public ColorCellEditor(final Cell<Color> cell) {
+        this.cell = cell;
+        this.swatch = new ColorSwatch();
+
+        cell.getStyleClass().add("color-picker-cell");
+        cell.setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    // ===================================
+    //              DISPLAY
+    // ===================================
+
+    /**
+     * Displays the cell's color, to be called from the cell's {@code updateItem}
+     * @param color ({@link Color}): the cell's color
+     * @param empty (boolean): whether the cell is empty
+     */
+    public void updateItem(final Color color, final boolean empty) {
+        if (empty || color == null) {
+            cell.setGraphic(null);
+        } else {
+            swatch.setColor(color);
+            cell.setGraphic(swatch);
+        }
+    }
+
+    // ===================================
+    //              EDITING
+    // ===================================
+
+    /**
+     * Borrows the shared color picker, starting from the cell's color, to be called from the cell's {@code startEdit}
+     */
+    public void startEdit() {
+        if (!cell.isEditing()) return;
+
+        editedColor = cell.getItem();
+        ColorPickerPopup.getShared().borrow(cell, cell, cell.getItem(), this::previewColor, this::finishEdit);
+    }
+
+    /**
+     * Gives back the shared color picker & restores the cell's color, to be called from the cell's {@code cancelEdit}
+     */
+    public void cancelEdit() {
+        ColorPickerPopup.getShared().giveBack(cell);
+        updateItem(cell.getItem(), cell.isEmpty());
+    }
+
+    /**
+     * Displays the color picked in the shared color picker without committing it yet
+     * @param color ({@link Color}): the picked color
+     */
+    private void previewColor(final Color color) {
+        editedColor = color;
+        swatch.setColor(color);
+    }
+
+    /**
+     * Commits the last picked color once the shared color picker is closed
+     */
+    private void finishEdit() {
+        if (!cell.isEditing()) return;
+
+        if (editedColor != null && !editedColor.equals(cell.getItem())) cell.commitEdit(editedColor);
+        else cell.cancelEdit();
+    }
+
+}
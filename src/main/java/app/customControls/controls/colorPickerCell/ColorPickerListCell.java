@@ -0,0 +1,70 @@
+package app.customControls.controls.colorPickerCell;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.paint.Color;
+import javafx.util.Callback;
+
+/**
+ * A {@link ListCell} displaying its color as a lightweight {@link ColorSwatch}. While editing, the cell borrows the
+ * shared {@link ColorPickerPopup} instead of owning its own color picker, and commits the last picked color once the
+ * popup is closed. The editing logic itself lives in the cell's {@link ColorCellEditor}<br>
+ * <br>
+ * <u><i>CSS Pseudo-class</i></u> : color-picker-cell<br>
+ * <br>
+ * <u><i>Substructure</i></u>
+ * <ul>
+ *     <li>color-swatch: {@link ColorSwatch}</li>
+ * </ul>
+ */
+public class ColorPickerListCell extends ListCell<Color> {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private final ColorCellEditor editor;   // displays the swatch & borrows the shared popup
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    public ColorPickerListCell() {
+        this.editor = new ColorCellEditor(this);
+    }
+
+    /**
+     * Creates a cell factory for {@link ListView ListViews} of colors
+     * @return (Callback): the cell factory
+     */
+    public static Callback<ListView<Color>, ListCell<Color>> forListView() {
+        return listView -> new ColorPickerListCell();
+    }
+
+    // ===================================
+    //              DISPLAY
+    // ===================================
+
+    @Override
+    protected void updateItem(final Color color, final boolean empty) {
+        super.updateItem(color, empty);
+        editor.updateItem(color, empty);
+    }
+
+    // ===================================
+    //              EDITING
+    // ===================================
+
+    @Override
+    public void startEdit() {
+        super.startEdit();
+        editor.startEdit();
+    }
+
+    @Override
+    public void cancelEdit() {
+        super.cancelEdit();
+        editor.cancelEdit();
+    }
+
+}
@@ -0,0 +1,157 @@
+package app.customControls.controls.colorPickerCell;
+
+import app.customControls.controls.colorPicker.MaterialColorPicker;
+import javafx.beans.InvalidationListener;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.stage.Popup;
+
+import java.util.function.Consumer;
+
+/**
+ * A single {@link Popup} holding a {@link MaterialColorPicker}, shared between every cell which edits a color.<br>
+ * <br>
+ * Instead of each cell owning a heavy color picker, cells borrow the shared popup when they start editing : the popup
+ * is rebound to the cell's color, reports every color picked to it, and tells it when editing is over. Only one cell
+ * can borrow the popup at a time, so memory stays the same no matter how many cells exist
+ * @implNote must be used from the JavaFX application thread
+ * @see ColorCellEditor
+ * @see ColorPickerTableCell
+ * @see ColorPickerListCell
+ */
+public class ColorPickerPopup extends Popup {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*              SHARED              */
+
+    private static ColorPickerPopup shared;
+
+    /*            COMPONENTS            */
+
+    private final MaterialColorPicker colorPicker;
+
+    /*              BINDING             */
+
+    private Object owner;               // the object currently borrowing the popup
+    private Consumer<Color> onPick;     // called whenever a color is picked
+    private Runnable onRelease;         // called once the popup is hidden
+
+    /*             LISTENERS            */
+
+    private final InvalidationListener colorListener;   // reports picked colors to the owner
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    private ColorPickerPopup() {
+        this.colorPicker = new MaterialColorPicker();
+        this.colorListener = observable -> handleColorPicked();
+
+        setAutoHide(true);
+        setHideOnEscape(true);
+        getContent().add(colorPicker);
+
+        colorPicker.colorProperty().addListener(colorListener);
+        setOnHidden(windowEvent -> release());
+    }
+
+    /**
+     * Retrieves the popup shared by all color cells, creating it the first time it is needed
+     * @return ({@link ColorPickerPopup}): the shared popup
+     */
+    public static ColorPickerPopup getShared() {
+        if (shared == null) shared = new ColorPickerPopup();
+        return shared;
+    }
+
+    // ===================================
+    //              METHODS
+    // ===================================
+
+    /**
+     * Binds the popup to a new owner & shows it just below the anchor node. If another owner was borrowing the popup,
+     * it is released first
+     * @param owner ({@link Object}): the object borrowing the popup
+     * @param anchor ({@link Node}): the node below which to display the popup
+     * @param initialColor ({@link Color}): the color to start from
+     * @param onPick ({@link Consumer}): called with every color picked while the owner borrows the popup
+     * @param onRelease ({@link Runnable}): called once the popup is hidden or lent to someone else
+     */
+    public void borrow(
+            final Object owner,
+            final Node anchor,
+            final Color initialColor,
+            final Consumer<Color> onPick,
+            final Runnable onRelease
+    ) {
+
+        // releases the previous owner
+        if (isShowing()) hide();
+        release();
+
+        // loads the owner's color before binding, so it is not reported as a pick. setColor is a programmatic change,
+        // which is never recorded in the color history (only the colors picked by the user are)
+        if (initialColor != null) colorPicker.setColor(initialColor);
+
+        // binds the popup to the new owner
+        this.owner = owner;
+        this.onPick = onPick;
+        this.onRelease = onRelease;
+
+        // shows the popup below the anchor
+        final Bounds bounds = anchor.localToScreen(anchor.getBoundsInLocal());
+        if (bounds == null) {
+            release();
+            return;
+        }
+        show(anchor, bounds.getMinX(), bounds.getMaxY());
+    }
+
+    /**
+     * Hides the popup if it is currently borrowed by a specific owner
+     * @param owner ({@link Object}): the owner giving back the popup
+     */
+    public void giveBack(final Object owner) {
+        if (this.owner != owner) return;
+        if (isShowing()) hide();
+        else release();
+    }
+
+    /**
+     * Unbinds the popup from its current owner
+     */
+    private void release() {
+        final Runnable released = onRelease;
+
+        owner = null;
+        onPick = null;
+        onRelease = null;
+
+        if (released != null) released.run();
+    }
+
+    /**
+     * Reports a picked color to the current owner
+     */
+    private void handleColorPicked() {
+        if (onPick != null) onPick.accept(colorPicker.getColor());
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    public MaterialColorPicker getColorPicker() {
+        return colorPicker;
+    }
+
+    public boolean isBorrowedBy(final Object owner) {
+        return owner != null && this.owner == owner;
+    }
+
+}
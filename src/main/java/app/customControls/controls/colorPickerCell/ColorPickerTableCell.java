@@ -0,0 +1,72 @@
+package app.customControls.controls.colorPickerCell;
+
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.paint.Color;
+import javafx.util.Callback;
+
+/**
+ * A {@link TableCell} displaying its color as a lightweight {@link ColorSwatch}. While editing, the cell borrows the
+ * shared {@link ColorPickerPopup} instead of owning its own color picker, and commits the last picked color once the
+ * popup is closed. The editing logic itself lives in the cell's {@link ColorCellEditor}<br>
+ * <br>
+ * <u><i>CSS Pseudo-class</i></u> : color-picker-cell<br>
+ * <br>
+ * <u><i>Substructure</i></u>
+ * <ul>
+ *     <li>color-swatch: {@link ColorSwatch}</li>
+ * </ul>
+ * @param <S> the type of the TableView's items
+ */
+public class ColorPickerTableCell<S> extends TableCell<S, Color> {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private final ColorCellEditor editor;   // displays the swatch & borrows the shared popup
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    public ColorPickerTableCell() {
+        this.editor = new ColorCellEditor(this);
+    }
+
+    /**
+     * Creates a cell factory for {@link TableColumn TableColumns} of colors
+     * @param <S> the type of the TableView's items
+     * @return (Callback): the cell factory
+     */
+    public static <S> Callback<TableColumn<S, Color>, TableCell<S, Color>> forTableColumn() {
+        return column -> new ColorPickerTableCell<>();
+    }
+
+    // ===================================
+    //              DISPLAY
+    // ===================================
+
+    @Override
+    protected void updateItem(final Color color, final boolean empty) {
+        super.updateItem(color, empty);
+        editor.updateItem(color, empty);
+    }
+
+    // ===================================
+    //              EDITING
+    // ===================================
+
+    @Override
+    public void startEdit() {
+        super.startEdit();
+        editor.startEdit();
+    }
+
+    @Override
+    public void cancelEdit() {
+        super.cancelEdit();
+        editor.cancelEdit();
+    }
+
+}
@@ -0,0 +1,49 @@
+package app.customControls.controls.colorPickerCell;
+
+import app.customControls.utilities.BackgroundUtil;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+
+/**
+ * Lightweight {@link Region} which only displays a color, used in place of a full
+ * {@link app.customControls.controls.colorPicker.MaterialColorPicker MaterialColorPicker} inside cells<br>
+ * <br>
+ * <u><i>CSS Pseudo-class</i></u> : color-swatch<br>
+ * @implNote backgrounds come from {@link BackgroundUtil}'s cache, so swatches showing the same color share them
+ */
+public class ColorSwatch extends Region {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*             CONSTANTS            */
+
+    private static final double DEFAULT_WIDTH = 40;
+    private static final double DEFAULT_HEIGHT = 16;
+    private static final CornerRadii SWATCH_RADII = new CornerRadii(4);
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    public ColorSwatch() {
+        setPrefSize(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+        setMaxSize(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+        getStyleClass().add("color-swatch");
+    }
+
+    // ===================================
+    //              METHODS
+    // ===================================
+
+    /**
+     * Displays a color inside the {@link ColorSwatch}
+     * @param color ({@link Color}): the color to display
+     */
+    public void setColor(final Color color) {
+        setBackground(BackgroundUtil.fill(color, SWATCH_RADII));
+    }
+
+}
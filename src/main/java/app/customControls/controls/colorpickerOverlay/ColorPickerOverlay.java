@@ -3,31 +3,52 @@ package app.customControls.controls.colorpickerOverlay;
 import app.customControls.controls.colorPicker.MaterialColorPicker;
 import app.customControls.controls.corner.BorderFrame;
 import app.customControls.controls.shapes.BorderLine;
+import app.customControls.handlers.colorExtraction.DominantColorExtractor;
 import app.customControls.handlers.delay.DelayHandler;
+import app.customControls.handlers.input.InputSampler;
+import app.customControls.handlers.screenCapture.CaptureScheduler;
+import app.customControls.handlers.screenCapture.CaptureSource;
+import app.customControls.handlers.screenCapture.LiveScreenSampler;
+import app.customControls.handlers.screenCapture.MultiScreenCapture;
+import app.customControls.handlers.screenCapture.RobotCaptureSource;
+import app.customControls.handlers.screenMetrics.ScreenMetrics;
+import app.customControls.utilities.BackgroundUtil;
 import app.customControls.utilities.NodeUtil;
 import app.customControls.utilities.ScreenUtil;
-import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
 import javafx.event.EventHandler;
 import javafx.geometry.Point2D;
+import javafx.geometry.Pos;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.ImageCursor;
 import javafx.scene.image.Image;
-import javafx.scene.image.PixelReader;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
-import javafx.util.Duration;
+import javafx.stage.Window;
 
+import java.nio.IntBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static app.customControls.utilities.KeyboardUtil.Letter.DOWN;
 import static app.customControls.utilities.KeyboardUtil.Letter.ESC;
+import static app.customControls.utilities.KeyboardUtil.Letter.UP;
 import static app.customControls.utilities.KeyboardUtil.areKeysDown;
 
 /**
  * Handles displaying the color picking UI overlay for a {@link MaterialColorPicker} & hiding the color picker.
- * Works by taking a screenshot whenever the {@link ColorPickerOverlay} comes into focus & reading its pixels
- * as the user hovers over the screen<br>
+ * Covers every screen, and works by capturing the screen around the mouse, one tile at a time, as the user hovers over
+ * it (a screen is only captured once the mouse enters it). Capturing starts on
+ * the first frames rendered once the color picker's window is hidden, and the captured tiles are discarded whenever
+ * the {@link ColorPickerOverlay} is shown again. In live mode, only a small region
+ * around the mouse is sampled again on every pulse instead, so colors under videos or animations stay up to date<br>
  * <br>
  * <u><i>CSS Pseudo-class</i></u> : color-picker-overlay<br>
  * <br>
@@ -38,15 +59,30 @@ import static app.customControls.utilities.KeyboardUtil.areKeysDown;
  *         <li>border-line: {@link BorderLine BorderLine}</li>
  *     </ul>
  *     <li>hover-Color: Rectangle</li>
+ *     <li>loupe: {@link Loupe}</li>
+ *     <li>color-suggestions: {@link HBox}</li>
+ *     <ul>
+ *         <li>color-suggestion: Rectangle</li>
+ *     </ul>
  * </ul>
  * <u><i>Features</i></u> :<br>
  * <ul>
  *     <li>handles toggling between the color picker and only displaying the overlay</li>
- *     <li>allows picking any color on the screen except the taskbar</li>
+ *     <li>allows picking any color on any screen except the taskbars</li>
  *     <li>displays clear boundary outline as to in which area a color can be picked</li>
  *     <li>uses a custom eye-picker icon for the cursor</li>
  *     <li>adjusts cursor position for easier targeting of individual pixels</li>
  *     <li>displays the current hove color next to the cursor</li>
+ *     <li>displays a magnified view of the pixels around the picked pixel below the hover color</li>
+ *     <li>
+ *         averages the picked color over a square area of 1x1 up to 31x31 pixels, resized with the mouse wheel or the
+ *         up & down arrows, in constant time whatever its size
+ *     </li>
+ *     <li>suggests the dominant colors of the screen if the {@link MaterialColorPicker} allows it</li>
+ *     <li>
+ *         a single overlay can be shared by every color picker through {@link #getShared()}, being rebound to
+ *         whichever color picker shows it
+ *     </li>
  * </ul>
  * @implNote Does not allow selecting colors along the trackbar & overlay can obfuscate colors below it
  */
@@ -62,21 +98,55 @@ public class ColorPickerOverlay extends TransparentWindow {
     private static final int DEFAULT_CORNER_SIZE = 50;
     private static final int DEFAULT_CORNER_WIDTH = 10;
     private static final int MOVEMENT_DELAY = 10;
+    private static final int PICK_OFFSET = 15;
     private static final Point2D MOUSE_OFFSET = new Point2D(10, 10);
+    private static final int SUGGESTION_COUNT = DominantColorExtractor.DEFAULT_COLOR_COUNT;
+    private static final int SUGGESTION_SIZE = 40;
+    private static final int LOUPE_SPACING = 5;
+    public static final int MAX_SAMPLE_RADIUS = 15;
+    private static final String CURSOR_PATH = "/app/customControls/pictures/eyedropper_white_no_crosshair_32.png";
+
+    /*            SHARED            */
+
+    private static ColorPickerOverlay shared;
 
     /*          COMPONENTS          */
 
-    private final MaterialColorPicker colorPicker;
+    private MaterialColorPicker colorPicker;
     private final BorderFrame borderFrame;
     private final Rectangle hoverColor;
+    private final Loupe loupe;
+    private final HBox suggestions;
+    private final Rectangle[] suggestionSwatches;
     private final BorderPane root;
 
     /*          VISIBILITY          */
 
     private boolean isVisible = false;
-    private final Stage colorPickerStage;
+    private Window colorPickerWindow;   // resolved each time the overlay is shown
     private final Stage overlayStage;
-    private PixelReader screenShot;
+    private ImageCursor cursor;         // loaded the first time the overlay is shown
+
+    /*            CAPTURE           */
+
+    private MultiScreenCapture screenCapture;   // captures the screens around the mouse on demand
+    private boolean followScreens = true;       // whether the captured screens follow the actual screen layout
+    private boolean captureReady = false;       // whether the color picker has disappeared from the screen
+    private final CaptureScheduler captureScheduler;
+    private long showTime = 0;                  // when the overlay was last shown, in nanoseconds
+    private boolean firstSamplePending = false;
+    private double timeToFirstSample = 0;       // in milliseconds
+    private LiveScreenSampler liveSampler;      // samples the region under the mouse on every pulse in live mode
+    private boolean liveMode = false;
+    private final int[] loupeBlock;             // pixels around the picked pixel, reused for every mouse movement
+    private final IntBuffer loupeBuffer;
+    private int sampleRadius = 0;               // number of pixels averaged on each side of the picked pixel
+
+    /*          SUGGESTIONS         */
+
+    private int captureCount = 0;   // discards suggestions belonging to an older screenshot
+    private int[] suggestionPixels;     // pixels of the last analysed screen, reused once its analysis is done
+    private CompletableFuture<int[]> suggestionTask;
 
     /*           LISTENERS          */
 
@@ -84,6 +154,7 @@ public class ColorPickerOverlay extends TransparentWindow {
     private final EventHandler<MouseEvent> movementListener;
     private final EventHandler<MouseEvent> colorSelectionListener;
     private final EventHandler<KeyEvent> keyListener;
+    private final EventHandler<ScrollEvent> scrollListener;
 
     /*            TIMING            */
 
@@ -93,6 +164,14 @@ public class ColorPickerOverlay extends TransparentWindow {
     //          CONSTRUCTORS
     // ===============================
 
+    /**
+     * {@link ColorPickerOverlay} constructor for an overlay which is not bound to a color picker yet
+     * @see #bind(MaterialColorPicker)
+     */
+    public ColorPickerOverlay() {
+        this(null);
+    }
+
     /**
      * {@link ColorPickerOverlay} constructor
      * @param colorPicker ({@link MaterialColorPicker}): color picker associated to the overlay
@@ -104,23 +183,44 @@ public class ColorPickerOverlay extends TransparentWindow {
         // components
         this.borderFrame = new BorderFrame(DEFAULT_CORNER_SIZE, DEFAULT_CORNER_WIDTH, Color.WHITE);
         this.hoverColor = new Rectangle(RECTANGLE_SIZE, RECTANGLE_SIZE);
+        this.suggestions = new HBox();
+        this.suggestionSwatches = new Rectangle[SUGGESTION_COUNT];
         this.root = (BorderPane) getScene().getRoot();
+        // capture
+        final List<Rectangle2D> screens = ScreenMetrics.getShared().getScreenBounds();
+        this.screenCapture = new MultiScreenCapture(screens, RobotCaptureSource::new);
+        this.liveSampler = new LiveScreenSampler(screenCapture, MAX_SAMPLE_RADIUS);
+        this.loupe = new Loupe();
+        this.loupeBlock = new int[loupe.getBlockSize() * loupe.getBlockSize()];
+        this.loupeBuffer = IntBuffer.wrap(loupeBlock);
+        this.captureScheduler = new CaptureScheduler();
         // stages
-        this.colorPickerStage = (Stage) colorPicker.getScene().getWindow();
         this.overlayStage = (Stage) getScene().getWindow();
         // timing
         this.movementDelay = new DelayHandler(MOVEMENT_DELAY);
         // listeners
         this.focusListener = observable -> handleFocusGain();
         this.movementListener = this::repositionColor;
-        this.colorSelectionListener = mouseEvent -> selectCurrentColor();
+        this.colorSelectionListener = this::selectCurrentColor;
         this.keyListener = this::handleKeyPresses;
+        this.scrollListener = this::handleScroll;
+        this.liveSampler.setOnSample(this::updateHoverColor);
 
         style();
         populate();
         registerListeners();
     }
 
+    /**
+     * Retrieves the overlay shared by every {@link MaterialColorPicker}, creating it the first time it is needed. The
+     * overlay's window is only hidden between uses, so showing it again does not create a new native window
+     * @return ({@link ColorPickerOverlay}): the shared overlay
+     */
+    public static ColorPickerOverlay getShared() {
+        if (shared == null) shared = new ColorPickerOverlay();
+        return shared;
+    }
+
     // ===============================
     //         INITIALISATION
     // ===============================
@@ -132,6 +232,7 @@ public class ColorPickerOverlay extends TransparentWindow {
         // style classes
         root.getStyleClass().setAll("color-picker-overlay");
         hoverColor.getStyleClass().setAll("hover-color");
+        suggestions.getStyleClass().setAll("color-suggestions");
 
         // css stylesheets
         final String css = getClass().getResource("/app/customControls/style/color-picker-overlay.css").toExternalForm();
@@ -148,9 +249,24 @@ public class ColorPickerOverlay extends TransparentWindow {
         // makes the overlay slightly transparent
         borderFrame.setOpacity(0.5);
 
+        // creates the swatches used to display color suggestions once & reuses them for each screenshot
+        for (int i = 0; i < suggestionSwatches.length; i++) {
+            final Rectangle swatch = new Rectangle(SUGGESTION_SIZE, SUGGESTION_SIZE);
+            swatch.getStyleClass().setAll("color-suggestion");
+            swatch.setOnMousePressed(this::selectSuggestion);
+            suggestionSwatches[i] = swatch;
+        }
+        suggestions.getChildren().addAll(suggestionSwatches);
+        suggestions.setAlignment(Pos.CENTER);
+        suggestions.setVisible(false);
+
         // adds the components to the root
         root.setCenter(borderFrame);
-        root.getChildren().add(hoverColor);
+        root.setBottom(suggestions);
+        root.getChildren().addAll(hoverColor, loupe);
+
+        // the loupe only appears once it has something to magnify
+        loupe.setVisible(false);
 
     }
 
@@ -169,6 +285,9 @@ public class ColorPickerOverlay extends TransparentWindow {
 
         // key presses
         getScene().setOnKeyPressed(keyListener);
+
+        // sample size
+        borderFrame.setOnScroll(scrollListener);
     }
 
     // ===============================
@@ -176,25 +295,25 @@ public class ColorPickerOverlay extends TransparentWindow {
     // ===============================
 
     /**
-     * Handles updating the screenshot & hover color position when the {@link ColorPickerOverlay} is focused
+     * Handles updating the hover color position when the {@link ColorPickerOverlay} is focused
      */
     private void handleFocusGain() {
-
         // moves the hover color display to the mouse's curren position
-        NodeUtil.positionAt(hoverColor, ScreenUtil.getMousePosition().add(MOUSE_OFFSET));
+        positionIndicators(ScreenUtil.getMousePosition());
+    }
 
-        // delay taking into consideration the closing of the color picker
-        PauseTransition pauseTransition = new PauseTransition(Duration.millis(250));
-        // takes the screenshot only once the color picker has disappeared
-        pauseTransition.setOnFinished(actionEvent -> {
-            // takes a screenshot
-            screenShot = ScreenUtil.getScreenShot().getPixelReader();
+    /**
+     * Starts capturing the screen once the color picker has disappeared from it
+     */
+    private void handleCaptureReady() {
+        captureReady = true;
 
-            // updates the hover color to mach the screenshot
-            updateHoverColor();
-        });
-        // starts the delay
-        pauseTransition.play();
+        // updates the hover color, capturing the tile under the mouse or sampling it continuously in live mode
+        if (liveMode) startLiveSampling();
+        else updateHoverColor();
+
+        // analyses the whole screen in the background if suggestions are needed
+        suggestColors();
     }
 
     // ===============================
@@ -210,49 +329,187 @@ public class ColorPickerOverlay extends TransparentWindow {
         // waits for delay between movements
         if (!movementDelay.hasElapsed()) return;
 
-        // gets the mouse's position along the screen & translates the hover color to the bottom right
-        final Point2D target = ScreenUtil.getMousePosition().add(MOUSE_OFFSET);
-        NodeUtil.positionAt(hoverColor, target);
+        // gets the mouse's position along the screen from the event & translates the hover color to the bottom right
+        // (recording it spares polling the screen for the rest of the pulse)
+        final Point2D mouse = InputSampler.getShared().record(mouseEvent);
+        positionIndicators(mouse);
+
+        // in live mode, moves the sampled region along with the mouse, the next sample updating the color
+        if (liveMode) {
+            final Point2D picked = toPickedPosition(mouse);
+            liveSampler.setPosition(picked.getX(), picked.getY());
+            return;
+        }
+
+        // captures the tile the mouse is heading towards ahead of time
+        if (captureReady) screenCapture.track(mouse.getX(), mouse.getY());
 
         // updates the current color upon mouse movement
         updateHoverColor();
     }
 
     /**
-     * Updates the hover color to match the currently hovered color
+     * Positions the hover color & the loupe below it to the bottom right of the mouse
+     * @param mouse ({@link Point2D}): the mouse's position on the screen
+     */
+    private void positionIndicators(final Point2D mouse) {
+        // the overlay spans every screen, so its origin is the top-left corner of the leftmost & topmost screen
+        final double x = mouse.getX() - overlayStage.getX() + MOUSE_OFFSET.getX();
+        final double y = mouse.getY() - overlayStage.getY() + MOUSE_OFFSET.getY();
+        NodeUtil.positionAt(hoverColor, x, y);
+        NodeUtil.positionAt(loupe, x, y + RECTANGLE_SIZE + LOUPE_SPACING);
+    }
+
+    /**
+     * Updates the hover color & the loupe to match the currently hovered color
      */
     private void updateHoverColor() {
-        // checks that the screenshot has been taken or otherwise exits the method
-        if (screenShot == null) return;
+        // checks that the screen can be captured or otherwise exits the method
+        if (!captureReady) return;
+
+        // gets the position of the picked pixel
+        final Point2D picked = toPickedPosition(ScreenUtil.getMousePosition());
+
         // updates the hover color
-        hoverColor.setFill(getCurrentColor());
+        hoverColor.setFill(getCurrentColor(picked));
+        // magnifies the pixels around the picked pixel
+        updateLoupe(picked);
+
+        // records how long the user waited for the first color since the overlay was shown
+        if (firstSamplePending) {
+            firstSamplePending = false;
+            timeToFirstSample = (System.nanoTime() - showTime) / 1e6;
+        }
+    }
+
+    /**
+     * Magnifies the pixels around the picked pixel, reusing the last live sample or copying them from the captured tiles
+     * @param picked ({@link Point2D}): the position of the picked pixel
+     */
+    private void updateLoupe(final Point2D picked) {
+        final int size = loupe.getBlockSize();
+        if (liveMode) {
+            liveSampler.copyBlock(size, loupeBlock);
+        } else {
+            final int x = (int) picked.getX() - size / 2;
+            final int y = (int) picked.getY() - size / 2;
+            screenCapture.copy(x, y, size, size, loupeBlock);
+        }
+        loupe.render(loupeBuffer);
+        loupe.setVisible(true);
     }
 
     /**
      * Saves the current hover color to the {@link MaterialColorPicker} & toggles back to the color picker display
+     * @param mouseEvent ({@link MouseEvent}): the event triggered by clicking on the overlay
      */
-    private void selectCurrentColor() {
-        // checks that the screenshot has been taken or otherwise exits the method
-        if (screenShot == null) return;
+    private void selectCurrentColor(final MouseEvent mouseEvent) {
+        // checks that the screen can be captured or otherwise exits the method
+        if (!captureReady) return;
         // saves the color to the color picker
-        colorPicker.setColor(getCurrentColor());
+        colorPicker.pickColor(getCurrentColor(toPickedPosition(InputSampler.getShared().record(mouseEvent))));
         // returns to the color picker overlay
         toggleOverlay();
     }
 
     /**
-     * Gets the currently hovered color
+     * Gets the currently hovered color, averaged over the sample area
+     * @param picked ({@link Point2D}): the position of the picked pixel
      * @return (Color): the currently hovered color
      */
-    private Color getCurrentColor() {
-        // gets the current mouse coordinates
-        final Point2D mouseCoordinates = ScreenUtil.getMousePosition();
-        // adjusts the mouse coordinates along the x-axis & y-axis to make it easier to select pixels
-        final double adjustedX = Math.max(mouseCoordinates.getX() - 15, 0);
-        final double adjustedY = Math.max(mouseCoordinates.getY() - 15, 0);
+    private Color getCurrentColor(final Point2D picked) {
 
-        // determines the color at the mouse's ADJUSTED position
-        return screenShot.getColor((int) adjustedX, (int) adjustedY);
+        // in live mode, the last sample already holds the area under the mouse
+        if (liveMode && liveSampler.getSampleCount() > 0) {
+            return BackgroundUtil.toColor(liveSampler.getAverageArgb(sampleRadius));
+        }
+
+        // determines the color around the mouse's ADJUSTED position
+        return BackgroundUtil.toColor(screenCapture.getAverageArgb(picked.getX(), picked.getY(), sampleRadius));
+    }
+
+    /**
+     * Adjusts the mouse coordinates along the x-axis & y-axis to make it easier to select pixels
+     * @param mouse ({@link Point2D}): the mouse's position on the screen
+     * @return (Point2D): the position of the pixel being picked
+     */
+    private Point2D toPickedPosition(final Point2D mouse) {
+        return new Point2D(
+                Math.max(mouse.getX() - PICK_OFFSET, screenCapture.getMinX()),
+                Math.max(mouse.getY() - PICK_OFFSET, screenCapture.getMinY())
+        );
+    }
+
+    // ===============================
+    //          SUGGESTIONS
+    // ===============================
+
+    /**
+     * Extracts the dominant colors of the screen on a worker pool & displays them as suggestions once done
+     */
+    private void suggestColors() {
+
+        // hides the suggestions of the previous screenshot
+        suggestions.setVisible(false);
+        final int capture = ++captureCount;
+
+        // only captures the whole screen the mouse is on if the color picker allows suggestions
+        if (!colorPicker.isSuggestColors()) return;
+        final Point2D mouse = ScreenUtil.getMousePosition();
+        final Rectangle2D bounds = screenCapture.getScreenBounds(mouse.getX(), mouse.getY());
+        final int width = (int) bounds.getWidth();
+        final int height = (int) bounds.getHeight();
+
+        // reuses the last buffer unless the workers are still reading from it or the screen has a different size
+        final boolean bufferBusy = suggestionTask != null && !suggestionTask.isDone();
+        if (bufferBusy || suggestionPixels == null || suggestionPixels.length != width * height) {
+            suggestionPixels = new int[width * height];
+        }
+
+        // captures the screen straight into the buffer, which the workers then only ever read from
+        screenCapture.capture((int) bounds.getMinX(), (int) bounds.getMinY(), width, height, suggestionPixels);
+
+        suggestionTask = DominantColorExtractor.getShared()
+                .extractAsync(IntBuffer.wrap(suggestionPixels), SUGGESTION_COUNT);
+        suggestionTask.thenAccept(colors -> Platform.runLater(() -> displaySuggestions(capture, colors)));
+    }
+
+    /**
+     * Displays the color suggestions
+     * @param capture (int): the screenshot from which the colors were extracted
+     * @param colors (int[]): the suggested colors as packed ARGB values
+     */
+    private void displaySuggestions(final int capture, final int[] colors) {
+
+        // the overlay was closed or a newer screenshot was taken in the meantime
+        if (capture != captureCount || !isVisible) return;
+
+        // fills the swatches, hiding those which do not have a color
+        for (int i = 0; i < suggestionSwatches.length; i++) {
+            final Rectangle swatch = suggestionSwatches[i];
+            final boolean hasColor = i < colors.length;
+
+            swatch.setVisible(hasColor);
+            swatch.setManaged(hasColor);
+            if (hasColor) swatch.setFill(Color.rgb(colors[i] >> 16 & 0xFF, colors[i] >> 8 & 0xFF, colors[i] & 0xFF));
+        }
+
+        suggestions.setVisible(colors.length > 0);
+    }
+
+    /**
+     * Saves the clicked suggestion to the {@link MaterialColorPicker} & toggles back to the color picker display
+     * @param mouseEvent ({@link MouseEvent}): the event triggered by clicking a suggestion
+     */
+    private void selectSuggestion(final MouseEvent mouseEvent) {
+        final Rectangle swatch = (Rectangle) mouseEvent.getSource();
+
+        // saves the color to the color picker
+        colorPicker.pickColor((Color) swatch.getFill());
+        // returns to the color picker overlay
+        toggleOverlay();
+
+        mouseEvent.consume();
     }
 
     // ===============================
@@ -266,12 +523,44 @@ public class ColorPickerOverlay extends TransparentWindow {
     private void handleKeyPresses(final KeyEvent keyEvent) {
         // user wants to exit overlay
         if (areKeysDown(keyEvent, ESC)) toggleOverlay();
+        // user wants to average over a larger or smaller area
+        else if (areKeysDown(keyEvent, UP)) changeSampleRadius(1);
+        else if (areKeysDown(keyEvent, DOWN)) changeSampleRadius(-1);
+    }
+
+    /**
+     * Grows or shrinks the sample area as the user scrolls
+     * @param scrollEvent ({@link ScrollEvent}): the event triggered by the mouse wheel
+     */
+    private void handleScroll(final ScrollEvent scrollEvent) {
+        if (scrollEvent.getDeltaY() == 0) return;
+        changeSampleRadius(scrollEvent.getDeltaY() > 0 ? 1 : -1);
+        scrollEvent.consume();
+    }
+
+    /**
+     * Changes the sample area by a number of pixels on each side, staying within the allowed sizes
+     * @param change (int): the change in radius
+     */
+    private void changeSampleRadius(final int change) {
+        setSampleRadius(Math.max(0, Math.min(MAX_SAMPLE_RADIUS, sampleRadius + change)));
     }
 
     // ===============================
     //            DISPLAY
     // ===============================
 
+    /**
+     * Binds the {@link ColorPickerOverlay} to a new {@link MaterialColorPicker}, which will receive the picked colors.
+     * If the overlay is currently shown for another color picker, it is hidden first
+     * @param newColorPicker ({@link MaterialColorPicker}): the color picker using the overlay
+     */
+    public void bind(final MaterialColorPicker newColorPicker) {
+        if (newColorPicker == colorPicker) return;
+        if (isVisible) hideOverlay();
+        colorPicker = newColorPicker;
+    }
+
     /**
      *  Hides overlay if it was visible, shows it if it was hidden
      */
@@ -284,8 +573,28 @@ public class ColorPickerOverlay extends TransparentWindow {
      * Shows the {@link ColorPickerOverlay} & hides its associated {@link MaterialColorPicker}
      */
     private void showOverlay() {
-        // transitions visible stages
-        colorPickerStage.hide();
+
+        // makes sure the overlay is bound to a color picker
+        if (colorPicker == null) {
+            throw new IllegalStateException("Overlay is not bound to a color picker, call bind() first");
+        }
+
+        // determines the color picker's current window (may change between uses)
+        colorPickerWindow = colorPicker.getScene() == null ? null : colorPicker.getScene().getWindow();
+
+        // discards the tiles captured while the overlay was last shown & follows any change of screens
+        captureReady = false;
+        if (followScreens) screenCapture.setScreens(ScreenMetrics.getShared().getScreenBounds());
+        screenCapture.invalidate();
+        showTime = System.nanoTime();
+        firstSamplePending = true;
+
+        // only starts capturing once the color picker's stage is hidden & the following frames have been rendered
+        final boolean hidesWindow = colorPickerWindow instanceof Stage;
+        captureScheduler.arm(hidesWindow ? colorPickerWindow : null, this::handleCaptureReady);
+
+        // transitions visible stages (only stages can be shown again once hidden, other windows stay visible)
+        if (hidesWindow) colorPickerWindow.hide();
         overlayStage.show();
         borderFrame.requestFocus();
         isVisible = true;
@@ -301,8 +610,135 @@ public class ColorPickerOverlay extends TransparentWindow {
         // transitions visible stages
         hoverColor.requestFocus();
         overlayStage.hide();
-        colorPickerStage.show();
+        if (colorPickerWindow instanceof Stage) ((Stage) colorPickerWindow).show();
+        colorPickerWindow = null;
         isVisible = false;
+
+        // releases the captured tiles & stops sampling
+        captureScheduler.cancel();
+        firstSamplePending = false;
+        captureReady = false;
+        screenCapture.invalidate();
+        liveSampler.stop();
+
+        // suggestions will be recalculated on the next screenshot
+        suggestions.setVisible(false);
+        loupe.setVisible(false);
+    }
+
+    // ===============================
+    //            CAPTURE
+    // ===============================
+
+    /**
+     * Replaces the source from which the screen is captured by a single screen, for example a synthetic one
+     * @param source ({@link CaptureSource}): the new capture source
+     */
+    public void setCaptureSource(final CaptureSource source) {
+        setScreenCapture(new MultiScreenCapture(source));
+    }
+
+    /**
+     * Replaces the capture of the screens, for example by a simulated multi-screen layout. The captured screens then
+     * stop following the actual screen layout
+     * @param capture ({@link MultiScreenCapture}): the new screen capture
+     */
+    public void setScreenCapture(final MultiScreenCapture capture) {
+        liveSampler.stop();
+        followScreens = false;
+        screenCapture = capture;
+        liveSampler = new LiveScreenSampler(capture, MAX_SAMPLE_RADIUS);
+        liveSampler.setOnSample(this::updateHoverColor);
+        if (liveMode && captureReady) startLiveSampling();
+    }
+
+    /**
+     * Enables or disables live mode, in which the region under the mouse is sampled again on every pulse instead of
+     * being captured once when the overlay is shown
+     * @param liveMode (boolean): whether colors should be sampled continuously
+     */
+    public void setLiveMode(final boolean liveMode) {
+        if (this.liveMode == liveMode) return;
+        this.liveMode = liveMode;
+
+        // applies the change immediately if the overlay is already capturing
+        if (!captureReady) return;
+        if (liveMode) {
+            startLiveSampling();
+        } else {
+            liveSampler.stop();
+            screenCapture.invalidate();
+        }
+    }
+
+    public boolean isLiveMode() {
+        return liveMode;
+    }
+
+    /**
+     * Setter for the size of the area over which the picked color is averaged
+     * @param sampleRadius (int): number of pixels on each side of the picked pixel, from 0 (1x1) to
+     *                     {@link #MAX_SAMPLE_RADIUS} (31x31)
+     */
+    public void setSampleRadius(final int sampleRadius) {
+
+        // makes sure the area is within the allowed sizes
+        if (sampleRadius < 0 || sampleRadius > MAX_SAMPLE_RADIUS) {
+            final String errorMessage = "Invalid sample radius %d, must be in the range [0; %d]";
+            throw new IllegalArgumentException(String.format(errorMessage, sampleRadius, MAX_SAMPLE_RADIUS));
+        }
+
+        if (this.sampleRadius == sampleRadius) return;
+        this.sampleRadius = sampleRadius;
+        loupe.setSampleRadius(sampleRadius);
+
+        // only the tables' corners are read again, no matter the area's size
+        updateHoverColor();
+    }
+
+    public int getSampleRadius() {
+        return sampleRadius;
+    }
+
+    /**
+     * Starts sampling the region under the mouse on every pulse
+     */
+    private void startLiveSampling() {
+        final Point2D picked = toPickedPosition(ScreenUtil.getMousePosition());
+        liveSampler.setPosition(picked.getX(), picked.getY());
+        liveSampler.start();
+    }
+
+    /**
+     * Getter for the time the user waited for the first color the last time the overlay was shown
+     * @return (double): time between showing the overlay & displaying the first hover color, in milliseconds
+     */
+    public double getTimeToFirstSample() {
+        return timeToFirstSample;
+    }
+
+    /**
+     * Getter for the scheduler deciding when capturing can start, giving access to how often its timeout was needed
+     * @return ({@link CaptureScheduler}): the capture scheduler
+     */
+    public CaptureScheduler getCaptureScheduler() {
+        return captureScheduler;
+    }
+
+    /**
+     * Getter for the live sampler, giving access to its achieved samples per second & capture latency
+     * @return ({@link LiveScreenSampler}): the live sampler
+     */
+    public LiveScreenSampler getLiveSampler() {
+        return liveSampler;
+    }
+
+    /**
+     * Getter for the capture of the screens, giving access to its capture counters
+     * @return ({@link MultiScreenCapture}): the screen capture
+     */
+    public MultiScreenCapture getScreenCapture() {
+        return screenCapture;
     }
 
     /**
@@ -310,12 +746,13 @@ public class ColorPickerOverlay extends TransparentWindow {
      */
     private void updateCursor() {
 
-        // gets the path to the cursor graphic & saves it as an image
-        final String path = "/app/customControls/pictures/eyedropper_white_no_crosshair_32.png";
-        final String imageString = getClass().getResource(path).toExternalForm();
-        final Image cursor = new Image(imageString);
+        // loads the cursor graphic the first time it is needed & keeps it for later uses
+        if (cursor == null) {
+            final String imageString = getClass().getResource(CURSOR_PATH).toExternalForm();
+            cursor = new ImageCursor(new Image(imageString), 32, 32);
+        }
 
         // updates the cursor
-        getScene().setCursor(new ImageCursor(cursor, 32, 32));
+        getScene().setCursor(cursor);
     }
 }
@@ -0,0 +1,225 @@
+package app.customControls.controls.colorpickerOverlay;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.util.Callback;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Magnified view of a small square block of pixels, used by the {@link ColorPickerOverlay} to pick individual pixels
+ * precisely.<br>
+ * <br>
+ * Each pixel of the block is drawn as a square of zoom x zoom pixels (nearest-neighbour scaling) directly into the
+ * memory of a {@link PixelBuffer} backing the displayed image, and the center pixel is outlined by a crosshair. The
+ * pixel buffer, the image and the update callback are created once, so rendering a new block allocates nothing.<br>
+ * <br>
+ * <u><i>CSS Pseudo-class</i></u> : loupe<br>
+ * <br>
+ * <u><i>Features</i></u> :<br>
+ * <ul>
+ *     <li>nearest-neighbour magnification of a block of argb codes</li>
+ *     <li>crosshair around the center pixel, black or white depending on the pixel's brightness</li>
+ *     <li>outline of the averaged sample area, when it fits inside the block</li>
+ *     <li>no allocation per rendered block</li>
+ * </ul>
+ * @implNote must be used from the JavaFX application thread
+ */
+public class Loupe extends ImageView {
+
+    // ===============================
+    //            FIELDS
+    // ===============================
+
+    /*          CONSTANTS           */
+
+    public static final int DEFAULT_BLOCK_SIZE = 9;
+    public static final int DEFAULT_ZOOM = 11;
+    private static final int DARK = 0xFF000000;
+    private static final int LIGHT = 0xFFFFFFFF;
+
+    /*            BLOCK             */
+
+    private final int blockSize;
+    private final int zoom;
+    private IntBuffer block;    // block being rendered, only referenced during an update
+    private int sampleRadius = 0;
+
+    /*            IMAGE             */
+
+    private final int imageSize;
+    private final IntBuffer imagePixels;
+    private final PixelBuffer<IntBuffer> pixelBuffer;
+    private final Callback<PixelBuffer<IntBuffer>, Rectangle2D> renderCallback;
+
+    /*           COUNTERS           */
+
+    private long renderCount = 0;
+
+    // ===============================
+    //          CONSTRUCTORS
+    // ===============================
+
+    /**
+     * {@link Loupe} constructor with the default block size & zoom
+     */
+    public Loupe() {
+        this(DEFAULT_BLOCK_SIZE, DEFAULT_ZOOM);
+    }
+
+    /**
+     * {@link Loupe} constructor
+     * @param blockSize (int): width & height of the magnified block, in pixels (must be odd to have a center pixel)
+     * @param zoom (int): width & height of each magnified pixel
+     */
+    public Loupe(final int blockSize, final int zoom) {
+
+        // makes sure the block has a center pixel & the zoom is valid
+        if (blockSize <= 0 || blockSize % 2 == 0 || zoom <= 0) {
+            final String errorMessage = "Invalid block size %d or zoom %d, block size must be odd & both greater than 0";
+            throw new IllegalArgumentException(String.format(errorMessage, blockSize, zoom));
+        }
+
+        this.blockSize = blockSize;
+        this.zoom = zoom;
+        this.imageSize = blockSize * zoom;
+
+        // the pixel buffer needs direct memory in the platform's byte order
+        this.imagePixels = ByteBuffer.allocateDirect(imageSize * imageSize * Integer.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asIntBuffer();
+        this.pixelBuffer = new PixelBuffer<>(imageSize, imageSize, imagePixels, PixelFormat.getIntArgbPreInstance());
+        this.renderCallback = buffer -> renderBlock();
+
+        setImage(new WritableImage(pixelBuffer));
+        setSmooth(false);
+        setMouseTransparent(true);
+        getStyleClass().setAll("loupe");
+    }
+
+    // ===============================
+    //           RENDERING
+    // ===============================
+
+    /**
+     * Magnifies a block of pixels
+     * @param block ({@link IntBuffer}): argb codes of the block, row after row, read from index 0 without changing the
+     *              buffer's position
+     */
+    public void render(final IntBuffer block) {
+
+        // makes sure the block is large enough
+        if (block.limit() < blockSize * blockSize) {
+            final String errorMessage = "Invalid block of %d pixels, must contain at least %d pixels";
+            throw new IllegalArgumentException(String.format(errorMessage, block.limit(), blockSize * blockSize));
+        }
+
+        this.block = block;
+        pixelBuffer.updateBuffer(renderCallback);
+        this.block = null;
+    }
+
+    /**
+     * Writes the magnified block & the crosshair into the pixel buffer
+     * @return (Rectangle2D): null, as the whole image changed
+     */
+    private Rectangle2D renderBlock() {
+
+        // scales each pixel of the block up to a zoom x zoom square
+        for (int row = 0; row < blockSize; row++) {
+            for (int column = 0; column < blockSize; column++) {
+                // screen pixels are opaque, so their argb codes are already premultiplied
+                fillSquare(column * zoom, row * zoom, zoom, block.get(row * blockSize + column) | DARK);
+            }
+        }
+
+        // outlines the center pixel in a color which stands out against it
+        final int center = block.get(blockSize / 2 * blockSize + blockSize / 2);
+        final int crosshair = isBright(center) ? DARK : LIGHT;
+        drawOutline((blockSize / 2) * zoom, (blockSize / 2) * zoom, zoom, crosshair);
+
+        // outlines the averaged area around the center pixel if it fits inside the block
+        if (sampleRadius > 0 && sampleRadius <= blockSize / 2) {
+            final int start = (blockSize / 2 - sampleRadius) * zoom;
+            drawOutline(start, start, (sampleRadius * 2 + 1) * zoom, crosshair);
+        }
+
+        renderCount++;
+        return null;
+    }
+
+    /**
+     * Fills a square of the image with a single color
+     * @param x (int): x-coordinate of the square's top-left corner
+     * @param y (int): y-coordinate of the square's top-left corner
+     * @param size (int): the square's width & height
+     * @param argb (int): the square's color
+     */
+    private void fillSquare(final int x, final int y, final int size, final int argb) {
+        for (int row = y; row < y + size; row++) {
+            final int offset = row * imageSize;
+            for (int column = x; column < x + size; column++) {
+                imagePixels.put(offset + column, argb);
+            }
+        }
+    }
+
+    /**
+     * Draws the one pixel wide outline of a square
+     * @param x (int): x-coordinate of the square's top-left corner
+     * @param y (int): y-coordinate of the square's top-left corner
+     * @param size (int): the square's width & height
+     * @param argb (int): the outline's color
+     */
+    private void drawOutline(final int x, final int y, final int size, final int argb) {
+        final int last = size - 1;
+        for (int i = 0; i < size; i++) {
+            imagePixels.put(y * imageSize + x + i, argb);
+            imagePixels.put((y + last) * imageSize + x + i, argb);
+            imagePixels.put((y + i) * imageSize + x, argb);
+            imagePixels.put((y + i) * imageSize + x + last, argb);
+        }
+    }
+
+    /**
+     * Determines if a color is bright enough for a dark crosshair to stand out against it
+     * @param argb (int): the color's argb code
+     * @return (boolean): whether the color is bright
+     */
+    private static boolean isBright(final int argb) {
+        final int red = (argb >> 16) & 0xFF;
+        final int green = (argb >> 8) & 0xFF;
+        final int blue = argb & 0xFF;
+        return red * 299 + green * 587 + blue * 114 > 128_000;
+    }
+
+    // ===============================
+    //           ACCESSORS
+    // ===============================
+
+    /**
+     * Setter for the radius of the area averaged around the center pixel, outlined on the next render
+     * @param sampleRadius (int): number of pixels on each side of the center pixel
+     */
+    public void setSampleRadius(final int sampleRadius) {
+        this.sampleRadius = sampleRadius;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int getZoom() {
+        return zoom;
+    }
+
+    public long getRenderCount() {
+        return renderCount;
+    }
+
+}
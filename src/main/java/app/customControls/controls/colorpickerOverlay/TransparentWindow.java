@@ -1,9 +1,11 @@
 package app.customControls.controls.colorpickerOverlay;
 
-import app.customControls.utilities.ScreenUtil;
+import app.customControls.handlers.screenMetrics.ScreenMetrics;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
@@ -19,6 +21,8 @@ public class TransparentWindow extends Stage {
     // ===============================
 
     final Scene windowScene;
+    private final Runnable screensListener;     // follows changes in the screen layout
+    private boolean followsScreens = false;
 
     // ===============================
     //          CONSTRUCTORS
@@ -35,13 +39,15 @@ public class TransparentWindow extends Stage {
     /**
      * {@link TransparentWindow} constructor
      * @param root ({@link Parent}): root node to be displayed inside the window
-     * @param fitToScreen (boolean): whether the window should take up all available screen space
+     * @param fitToScreen (boolean): whether the window should take up all available screen space, across every
+     *                    screen
      */
     TransparentWindow(Parent root, boolean fitToScreen) {
         super();
 
         // saves the root scene
         windowScene = new Scene(root);
+        screensListener = this::fitToScreens;
 
         format(fitToScreen);
         populate();
@@ -58,14 +64,36 @@ public class TransparentWindow extends Stage {
         // makes the window transparent
         initStyle(StageStyle.TRANSPARENT);
 
-        // grows the window to fit the screen if specified
+        // grows the window to fit the screens if specified, following any change in the screen layout
         if (fitToScreen) {
-            Rectangle2D screenBounds = ScreenUtil.getScreenSize();
-            setWidth(screenBounds.getWidth());
-            setHeight(screenBounds.getHeight() - ScreenUtil.getTaskbarSize());
+            fitToScreens();
+            ScreenMetrics.getShared().addListener(screensListener);
+            followsScreens = true;
         }
     }
 
+    /**
+     * Covers the visual bounds of every screen (excluding their taskbars)
+     */
+    private void fitToScreens() {
+        final Rectangle2D screenBounds = ScreenMetrics.getShared().getUnionVisualBounds();
+        setX(screenBounds.getMinX());
+        setY(screenBounds.getMinY());
+        setWidth(screenBounds.getWidth());
+        setHeight(screenBounds.getHeight());
+    }
+
+    /**
+     * Stops following the screen layout, so that the window can be garbage collected once closed.
+     * The window no longer resizes itself when screens are added, removed or resized
+     */
+    public void dispose() {
+        if (!followsScreens) return;
+
+        ScreenMetrics.getShared().removeListener(screensListener);
+        followsScreens = false;
+    }
+
     // ===============================
     //         INITIALISATION
     // ===============================
@@ -85,9 +113,7 @@ public class TransparentWindow extends Stage {
 
         // makes the window & the root transparent
         windowScene.setFill(Color.TRANSPARENT);
-        root.setStyle(
-                "-fx-background-color: transparent;"
-        );
+        if (root instanceof Region) ((Region) root).setBackground(Background.EMPTY);
 
     }
 
@@ -1,5 +1,6 @@
 package app.customControls.controls.loopSlider;
 
+import app.customControls.handlers.movementHandler.PositioningMode;
 import javafx.beans.property.*;
 import javafx.scene.control.Control;
 import javafx.scene.control.Skin;
@@ -33,6 +34,7 @@ public class LoopSlider extends Control {
     private static final double DEFAULT_MAX = 100;
     private static final double DEFAULT_VALUE = 0;
     private static final boolean LOOP_DEFAULT = true;
+    private static final PositioningMode POSITIONING_DEFAULT = PositioningMode.LAYOUT;
 
     // properties
     private final DoubleProperty minValue;
@@ -42,6 +44,9 @@ public class LoopSlider extends Control {
     // looping
     private final BooleanProperty doesLoop;
 
+    // thumb positioning
+    private final ObjectProperty<PositioningMode> positioningMode;
+
     // =========================================
     //               CONSTRUCTOR
     // =========================================
@@ -77,6 +82,7 @@ public class LoopSlider extends Control {
         this.maxValue = new SimpleDoubleProperty(this, "max", DEFAULT_MAX);
         this.value = new SimpleDoubleProperty(this, "val", DEFAULT_VALUE);
         this.doesLoop = new SimpleBooleanProperty(this, "loop", LOOP_DEFAULT);
+        this.positioningMode = new SimpleObjectProperty<>(this, "positioningMode", POSITIONING_DEFAULT);
 
         // sets value specified in constructor
         setMin(minValue);
@@ -150,6 +156,15 @@ public class LoopSlider extends Control {
         return doesLoop;
     }
 
+    /**
+     * Thumb positioning mode {@link Property} for the {@link LoopSlider} (updates whenever the way the thumb is moved
+     * changes)
+     * @return (ObjectProperty): LoopSlider thumb positioning mode property
+     */
+    public ObjectProperty<PositioningMode> positioningModeProperty() {
+        return positioningMode;
+    }
+
     /*                 VALUES                 */
 
     /**
@@ -217,4 +232,21 @@ public class LoopSlider extends Control {
         return loopingProperty().get();
     }
 
+    /**
+     * Setter for the way the {@link LoopSlider}'s thumb is moved. In {@link PositioningMode#TRANSLATE TRANSLATE} mode,
+     * dragging the thumb does not make the slider lay out again, the thumb's layout position being updated on release
+     * @param positioningMode ({@link PositioningMode}): the thumb's new positioning mode
+     */
+    public void setPositioningMode(PositioningMode positioningMode) {
+        positioningModeProperty().set(positioningMode);
+    }
+
+    /**
+     * Getter for the way the {@link LoopSlider}'s thumb is moved
+     * @return (PositioningMode): the thumb's positioning mode
+     */
+    public PositioningMode getPositioningMode() {
+        return positioningModeProperty().get();
+    }
+
 }
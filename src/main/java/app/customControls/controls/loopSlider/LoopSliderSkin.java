@@ -1,5 +1,6 @@
 package app.customControls.controls.loopSlider;
 
+import app.customControls.utilities.NodeUtil;
 import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
 import javafx.event.EventHandler;
@@ -43,6 +44,8 @@ public class LoopSliderSkin extends SkinBase<LoopSlider> implements Skin<LoopSli
     private final EventHandler<MouseEvent> focusListener;
     private final EventHandler<MouseEvent> dragListener;
     private final EventHandler<MouseEvent> valueClickListener;
+    private final EventHandler<MouseEvent> releaseListener;
+    private final InvalidationListener positioningListener;
 
     // paired control
     private LoopSlider loopSlider;
@@ -66,6 +69,8 @@ public class LoopSliderSkin extends SkinBase<LoopSlider> implements Skin<LoopSli
         this.focusListener = this::focusOnClick;
         this.dragListener = this::calculateThumbPosition;
         this.valueClickListener = this::updateThumbOnTrackClick;
+        this.releaseListener = mouseEvent -> NodeUtil.commitPosition(thumb);
+        this.positioningListener = observable -> NodeUtil.commitPosition(thumb);
 
         initialiseGraphics();
         registerListeners();
@@ -116,6 +121,9 @@ public class LoopSliderSkin extends SkinBase<LoopSlider> implements Skin<LoopSli
 
         // thumb positioning
         thumb.setOnMouseDragged(dragListener);
+        thumb.setOnMouseReleased(releaseListener);
+        track.setOnMouseReleased(releaseListener);
+        loopSlider.positioningModeProperty().addListener(positioningListener);
 
         // value changes
         loopSlider.valueProperty().addListener(valueUpdateListener);
@@ -137,6 +145,7 @@ public class LoopSliderSkin extends SkinBase<LoopSlider> implements Skin<LoopSli
     public void dispose() {
         loopSlider.widthProperty().removeListener(sizeListener);
         loopSlider.heightProperty().removeListener(sizeListener);
+        loopSlider.positioningModeProperty().removeListener(positioningListener);
         loopSlider = null;
     }
 
@@ -245,17 +254,16 @@ public class LoopSliderSkin extends SkinBase<LoopSlider> implements Skin<LoopSli
     }
 
     /**
-     * Handles resizing and repositioning the thumb
+     * Handles resizing and repositioning the thumb, through its translation until the mouse is released if the
+     * LoopSlider is in {@link app.customControls.handlers.movementHandler.PositioningMode#TRANSLATE TRANSLATE} mode
      */
     private void repositionThumb() {
-        // centers the thumb vertically
+        // sets the thumb's progression along the LoopSlider
         final double thumbX = loopSlider.getValue() / loopSlider.getMax() * adjustedWidth();
-        // System.out.println(adjustedWidth());
-        thumb.setLayoutX(thumbX);
 
-        // sets the thumb's progression along the LoopSlider
+        // centers the thumb vertically
         final double thumbY = (loopSlider.getHeight() - thumb.getHeight()) / 2;
-        thumb.setLayoutY(thumbY);
+        NodeUtil.positionAt(thumb, thumbX, thumbY, loopSlider.getPositioningMode());
     }
 
 }
@@ -673,15 +673,15 @@ public class MovementPaneSkin extends SkinBase<MovementPane> implements Skin<Mov
         // gets the mouse's position & the zoom to apply
         final Point2D zoomAmount = new Point2D(scaleX, scaleY);
 
-        // applies the zoom to the node
-        zoomTo(zoomAmount);
+        // applies the zoom to the node, centered on the mouse's position carried by the event
+        zoomTo(zoomAmount, scrollEvent.getScreenX(), scrollEvent.getScreenY());
     }
 
-    private void zoomTo(final Point2D zoomAmount) {
+    private void zoomTo(final Point2D zoomAmount, final double screenX, final double screenY) {
 
         // gets the mouse's position relative to the associated node
         final Node associatedNode = movementPane.getMovementNode();
-        final Point2D localPosition = associatedNode.screenToLocal(ScreenUtil.getMousePosition());
+        final Point2D localPosition = associatedNode.screenToLocal(screenX, screenY);
 
         // creates the zoom transformation
         final Scale newZoom = new Scale();
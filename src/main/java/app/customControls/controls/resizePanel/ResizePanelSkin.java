@@ -3,6 +3,8 @@ package app.customControls.controls.resizePanel;
 import app.customControls.controls.shapes.Arrow;
 import app.customControls.controls.shapes.Orientation;
 import app.customControls.handlers.delay.DelayHandler;
+import app.customControls.handlers.input.InputSampler;
+import app.customControls.utilities.BackgroundUtil;
 import app.customControls.utilities.NodeUtil;
 import app.customControls.utilities.ScreenUtil;
 import app.customControls.utilities.TransformUtil;
@@ -40,6 +42,7 @@ public class ResizePanelSkin extends SkinBase<ResizePanel> implements Skin<Resiz
 
     private static final String CSS_LOCATION = "/app/customControls/style/size-panel.css";
     private static final int MOVEMENT_DELAY = 10;
+    private static final Border contentBorder = BackgroundUtil.solidBorder(Color.RED, 1);
 
     private enum ResizeMode {
         NORMAL,
@@ -129,10 +132,7 @@ public class ResizePanelSkin extends SkinBase<ResizePanel> implements Skin<Resiz
         this.contentPane = new Pane();
         this.nodeContainer = new Pane();
 
-        contentPane.setStyle(
-                "-fx-border-width: 1;" +
-                "-fx-border-color: red"
-        );
+        contentPane.setBorder(contentBorder);
 
         // initialising variables
 
@@ -443,9 +443,8 @@ public class ResizePanelSkin extends SkinBase<ResizePanel> implements Skin<Resiz
         // (results in incorrect resize arrow position otherwise, fuck JFX)
         if (!movementDelay.hasElapsed()) return;
 
-        // gets the mouse position
-        // final Point2D mousePosition = new Point2D(mouseEvent.getX(), mouseEvent.getY());
-        final Point2D mousePosition = ScreenUtil.getMousePosition();
+        // gets the mouse position from the event (recording it spares polling the screen for the rest of the pulse)
+        final Point2D mousePosition = InputSampler.getShared().record(mouseEvent);
         // determines the path from the resize arrow to the mouse
         final Point2D deltaMovement = mousePosition.subtract(getResizeArrowPosition(resizeDirection));
         // adapts displacement to current node scale
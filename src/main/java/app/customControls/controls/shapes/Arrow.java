@@ -1,5 +1,6 @@
 package app.customControls.controls.shapes;
 
+import app.customControls.utilities.BackgroundUtil;
 import app.customControls.utilities.CssUtil;
 import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
@@ -7,12 +8,13 @@ import javafx.beans.property.ObjectProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.css.*;
+import javafx.geometry.Point2D;
+import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.scene.transform.Rotate;
 
-import java.awt.geom.Point2D;
 import java.util.List;
 
 public class Arrow extends Region {
@@ -165,7 +167,7 @@ public class Arrow extends Region {
         this.arrow1 = new Triangle();
         this.arrow2 = new Triangle();
         this.pane = new Pane();
-        this.line.setStyle("-fx-background-color: #" + color.toString().replace("0x", ""));
+        this.line.setBackground(BackgroundUtil.fill(color, CornerRadii.EMPTY));
 
         this.rotate = new Rotate();
         getTransforms().add(rotate);
@@ -233,7 +235,7 @@ public class Arrow extends Region {
 
     private void updateColor(ObservableValue<? extends Color> value, Color oldColor, Color newColor) {
         color.setValue(newColor);
-        line.setStyle("-fx-background-color: #" + newColor.toString().replace("0x", ""));
+        line.setBackground(BackgroundUtil.fill(newColor, CornerRadii.EMPTY));
         arrow1.setFill(newColor);
         arrow2.setFill(newColor);
     }
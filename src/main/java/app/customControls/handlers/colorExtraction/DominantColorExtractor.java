@@ -0,0 +1,437 @@
+package app.customControls.handlers.colorExtraction;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extracts the dominant colors of an image using median-cut quantization.<br>
+ * <br>
+ * Pixels are first reduced to a 15-bit (5 bits per channel) histogram, which also keeps the sum of the exact channel
+ * values falling into each bin so that extracted colors are not rounded. The histogram is built in parallel : the pixel
+ * buffer is split into horizontal stripes, each of which is counted by a worker into its own local histogram before
+ * all histograms are merged. Median-cut then only ever works on the merged histogram, so its cost does not depend on
+ * the size of the image.
+ *
+ * @implNote fully transparent pixels are ignored
+ * @see app.customControls.controls.colorpickerOverlay.ColorPickerOverlay ColorPickerOverlay
+ */
+public class DominantColorExtractor {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*             CONSTANTS            */
+
+    public static final int DEFAULT_COLOR_COUNT = 6;
+    private static final int BITS = 5;
+    private static final int SHIFT = 8 - BITS;
+    private static final int SIDE = 1 << BITS;
+    private static final int BIN_COUNT = SIDE * SIDE * SIDE;
+    private static final int BIN_SIZE = 4; // pixel count, red sum, green sum, blue sum
+    private static final int HISTOGRAM_SIZE = BIN_COUNT * BIN_SIZE;
+    private static final int MIN_STRIPE_SIZE = 1 << 16; // avoids splitting tiny images into many stripes
+
+    /*              SHARED              */
+
+    private static DominantColorExtractor shared;
+
+    /*              WORKERS             */
+
+    private final ExecutorService workers;      // counts the stripes of the histogram
+    private final ExecutorService coordinator;  // runs asynchronous requests, which wait on the workers
+    private final int stripeCount;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link DominantColorExtractor} constructor, using one worker per available processor
+     */
+    public DominantColorExtractor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * {@link DominantColorExtractor} constructor
+     * @param workerCount (int): number of worker threads used to build the color histogram
+     */
+    public DominantColorExtractor(final int workerCount) {
+
+        if (workerCount < 1) {
+            final String errorMessage = "Invalid worker count %s, must be at least 1";
+            throw new IllegalArgumentException(String.format(errorMessage, workerCount));
+        }
+
+        this.stripeCount = workerCount;
+
+        // threads are daemons so that they never keep the application alive
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            final Thread thread = new Thread(runnable, "color-extraction-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "color-extraction-coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Getter for the process-wide {@link DominantColorExtractor}, created on first use
+     * @return (DominantColorExtractor): the shared extractor
+     */
+    public static synchronized DominantColorExtractor getShared() {
+        if (shared == null) shared = new DominantColorExtractor();
+        return shared;
+    }
+
+    // ===================================
+    //            EXTRACTION
+    // ===================================
+
+    /**
+     * Extracts the dominant colors of a buffer of ARGB pixels
+     * @param pixels ({@link IntBuffer}): ARGB pixels, from index 0 to the buffer's limit
+     * @param colorCount (int): maximum number of colors to extract
+     * @return (int[]): the dominant colors as packed ARGB values, most frequent first
+     */
+    public int[] extract(final IntBuffer pixels, final int colorCount) {
+        return quantize(histogramOf(pixels), colorCount);
+    }
+
+    /**
+     * Extracts the dominant colors of an {@link Image}
+     * @param image ({@link Image}): the image to analyse
+     * @param colorCount (int): maximum number of colors to extract
+     * @return (int[]): the dominant colors as packed ARGB values, most frequent first
+     */
+    public int[] extract(final Image image, final int colorCount) {
+        return extract(pixelsOf(image), colorCount);
+    }
+
+    /**
+     * Extracts the dominant colors of an image file
+     * @param imageFile ({@link File}): the image file to analyse
+     * @param colorCount (int): maximum number of colors to extract
+     * @return (int[]): the dominant colors as packed ARGB values, most frequent first
+     * @throws IOException if the file could not be read as an image
+     */
+    public int[] extract(final File imageFile, final int colorCount) throws IOException {
+        return extract(loadImage(imageFile), colorCount);
+    }
+
+    /**
+     * Extracts the dominant colors of a buffer of ARGB pixels without blocking the calling thread
+     * @param pixels ({@link IntBuffer}): ARGB pixels, from index 0 to the buffer's limit
+     * @param colorCount (int): maximum number of colors to extract
+     * @return (CompletableFuture): the dominant colors as packed ARGB values, most frequent first
+     * @implNote the buffer must not be modified until the future has completed
+     */
+    public CompletableFuture<int[]> extractAsync(final IntBuffer pixels, final int colorCount) {
+        return CompletableFuture.supplyAsync(() -> extract(pixels, colorCount), coordinator);
+    }
+
+    /**
+     * Extracts the dominant colors of an image file without blocking the calling thread
+     * @param imageFile ({@link File}): the image file to analyse
+     * @param colorCount (int): maximum number of colors to extract
+     * @return (CompletableFuture): the dominant colors as packed ARGB values, most frequent first
+     */
+    public CompletableFuture<int[]> extractAsync(final File imageFile, final int colorCount) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return extract(imageFile, colorCount);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }, coordinator);
+    }
+
+    /**
+     * Stops the worker threads. The extractor can no longer be used afterwards
+     */
+    public void shutdown() {
+        coordinator.shutdown();
+        workers.shutdown();
+    }
+
+    // ===================================
+    //             HISTOGRAM
+    // ===================================
+
+    /**
+     * Builds the 15-bit color histogram of the pixels, counting each stripe of the buffer in parallel
+     * @param pixels ({@link IntBuffer}): ARGB pixels
+     * @return (long[]): pixel count & channel sums per quantized color
+     */
+    private long[] histogramOf(final IntBuffer pixels) {
+
+        final int size = pixels.limit();
+        // small buffers are not worth handing out to the workers
+        final int stripes = Math.max(1, Math.min(stripeCount, size / MIN_STRIPE_SIZE));
+        final int stripeSize = (size + stripes - 1) / stripes;
+
+        if (stripes == 1) return histogramOf(pixels, 0, size);
+
+        // counts each stripe into its own local histogram...
+        final List<Future<long[]>> partials = new ArrayList<>(stripes);
+        for (int i = 0; i < stripes; i++) {
+            final int start = i * stripeSize;
+            final int end = Math.min(size, start + stripeSize);
+            partials.add(workers.submit(() -> histogramOf(pixels, start, end)));
+        }
+
+        // ...then merges them together
+        final long[] histogram = new long[HISTOGRAM_SIZE];
+        for (Future<long[]> partial : partials) {
+            final long[] counts = join(partial);
+            for (int i = 0; i < HISTOGRAM_SIZE; i++) histogram[i] += counts[i];
+        }
+
+        return histogram;
+    }
+
+    /**
+     * Counts the pixels of a single stripe
+     * @param pixels ({@link IntBuffer}): ARGB pixels
+     * @param start (int): index of the first pixel of the stripe
+     * @param end (int): index after the last pixel of the stripe
+     * @return (long[]): pixel count & channel sums per quantized color inside the stripe
+     * @implNote only absolute reads are used, so several stripes can safely share the same buffer
+     */
+    private static long[] histogramOf(final IntBuffer pixels, final int start, final int end) {
+        final long[] histogram = new long[HISTOGRAM_SIZE];
+
+        for (int i = start; i < end; i++) {
+            final int argb = pixels.get(i);
+            // ignores fully transparent pixels
+            if ((argb >>> 24) == 0) continue;
+
+            final int r = argb >> 16 & 0xFF;
+            final int g = argb >> 8 & 0xFF;
+            final int b = argb & 0xFF;
+            final int bin = indexOf(r >> SHIFT, g >> SHIFT, b >> SHIFT) * BIN_SIZE;
+
+            histogram[bin]++;
+            histogram[bin + 1] += r;
+            histogram[bin + 2] += g;
+            histogram[bin + 3] += b;
+        }
+
+        return histogram;
+    }
+
+    private static int indexOf(final int r, final int g, final int b) {
+        return (r << (2 * BITS)) | (g << BITS) | b;
+    }
+
+    private static long[] join(final Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Color extraction was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Color extraction failed", e.getCause());
+        }
+    }
+
+    // ===================================
+    //            MEDIAN CUT
+    // ===================================
+
+    /**
+     * Splits the color space into boxes of similar population & averages each box into a single color
+     * @param histogram (long[]): pixel count & channel sums per quantized color
+     * @param colorCount (int): maximum number of colors to extract
+     * @return (int[]): the average color of each box as packed ARGB values, most populated box first
+     */
+    private static int[] quantize(final long[] histogram, final int colorCount) {
+
+        if (colorCount < 1) return new int[0];
+
+        final List<ColorBox> boxes = new ArrayList<>(colorCount);
+        final ColorBox full = new ColorBox(0, SIDE - 1, 0, SIDE - 1, 0, SIDE - 1, histogram);
+        if (full.population == 0) return new int[0];
+        boxes.add(full);
+
+        // keeps splitting the box which covers the most pixels until enough colors have been found
+        while (boxes.size() < colorCount) {
+            ColorBox largest = null;
+            for (ColorBox box : boxes) {
+                if (!box.canSplit()) continue;
+                if (largest == null || box.population > largest.population) largest = box;
+            }
+
+            // every box is down to a single color
+            if (largest == null) break;
+
+            boxes.remove(largest);
+            boxes.addAll(largest.split(histogram));
+        }
+
+        boxes.sort(Comparator.comparingLong((ColorBox box) -> box.population).reversed());
+
+        final int[] colors = new int[boxes.size()];
+        for (int i = 0; i < colors.length; i++) colors[i] = boxes.get(i).averageColor(histogram);
+        return colors;
+    }
+
+    /**
+     * Axis-aligned box inside the quantized rgb color space
+     */
+    private static final class ColorBox {
+
+        private final int rMin, rMax, gMin, gMax, bMin, bMax;
+        private final long population;
+
+        private ColorBox(
+                final int rMin, final int rMax,
+                final int gMin, final int gMax,
+                final int bMin, final int bMax,
+                final long[] histogram
+        ) {
+            this.rMin = rMin;
+            this.rMax = rMax;
+            this.gMin = gMin;
+            this.gMax = gMax;
+            this.bMin = bMin;
+            this.bMax = bMax;
+
+            long count = 0;
+            for (int r = rMin; r <= rMax; r++)
+                for (int g = gMin; g <= gMax; g++)
+                    for (int b = bMin; b <= bMax; b++)
+                        count += histogram[indexOf(r, g, b) * BIN_SIZE];
+            this.population = count;
+        }
+
+        private boolean canSplit() {
+            return population > 1 && (rMax > rMin || gMax > gMin || bMax > bMin);
+        }
+
+        /**
+         * Splits the box in two along its longest axis, at the median pixel
+         * @param histogram (long[]): pixel count & channel sums per quantized color
+         * @return (List): the two halves of the box, excluding any empty half
+         */
+        private List<ColorBox> split(final long[] histogram) {
+
+            final int rLength = rMax - rMin;
+            final int gLength = gMax - gMin;
+            final int bLength = bMax - bMin;
+            final int axis = rLength >= gLength && rLength >= bLength ? 0 : gLength >= bLength ? 1 : 2;
+
+            final int min = axis == 0 ? rMin : axis == 1 ? gMin : bMin;
+            final int max = axis == 0 ? rMax : axis == 1 ? gMax : bMax;
+
+            // finds the plane at which half the pixels have been passed
+            long count = 0;
+            int cut = min;
+            for (int plane = min; plane < max; plane++) {
+                count += planePopulation(axis, plane, histogram);
+                cut = plane;
+                if (count * 2 >= population) break;
+            }
+
+            final List<ColorBox> halves = new ArrayList<>(2);
+            final ColorBox lower = switch (axis) {
+                case 0  -> new ColorBox(rMin, cut, gMin, gMax, bMin, bMax, histogram);
+                case 1  -> new ColorBox(rMin, rMax, gMin, cut, bMin, bMax, histogram);
+                default -> new ColorBox(rMin, rMax, gMin, gMax, bMin, cut, histogram);
+            };
+            final ColorBox upper = switch (axis) {
+                case 0  -> new ColorBox(cut + 1, rMax, gMin, gMax, bMin, bMax, histogram);
+                case 1  -> new ColorBox(rMin, rMax, cut + 1, gMax, bMin, bMax, histogram);
+                default -> new ColorBox(rMin, rMax, gMin, gMax, cut + 1, bMax, histogram);
+            };
+
+            if (lower.population > 0) halves.add(lower);
+            if (upper.population > 0) halves.add(upper);
+            return halves;
+        }
+
+        private long planePopulation(final int axis, final int plane, final long[] histogram) {
+            long count = 0;
+            for (int r = axis == 0 ? plane : rMin; r <= (axis == 0 ? plane : rMax); r++)
+                for (int g = axis == 1 ? plane : gMin; g <= (axis == 1 ? plane : gMax); g++)
+                    for (int b = axis == 2 ? plane : bMin; b <= (axis == 2 ? plane : bMax); b++)
+                        count += histogram[indexOf(r, g, b) * BIN_SIZE];
+            return count;
+        }
+
+        /**
+         * Averages all the pixels inside the box
+         * @param histogram (long[]): pixel count & channel sums per quantized color
+         * @return (int): the average color as a packed ARGB value
+         */
+        private int averageColor(final long[] histogram) {
+            long rSum = 0, gSum = 0, bSum = 0;
+
+            for (int r = rMin; r <= rMax; r++) {
+                for (int g = gMin; g <= gMax; g++) {
+                    for (int b = bMin; b <= bMax; b++) {
+                        final int bin = indexOf(r, g, b) * BIN_SIZE;
+                        rSum += histogram[bin + 1];
+                        gSum += histogram[bin + 2];
+                        bSum += histogram[bin + 3];
+                    }
+                }
+            }
+
+            final int r = (int) Math.min(255, rSum / population);
+            final int g = (int) Math.min(255, gSum / population);
+            final int b = (int) Math.min(255, bSum / population);
+            return (0xFF << 24) | (r << 16) | (g << 8) | b;
+        }
+    }
+
+    // ===================================
+    //              IMAGES
+    // ===================================
+
+    /**
+     * Copies the pixels of an {@link Image} into an ARGB buffer
+     * @param image ({@link Image}): the image to copy
+     * @return (IntBuffer): the image's ARGB pixels
+     */
+    public static IntBuffer pixelsOf(final Image image) {
+
+        final PixelReader reader = image.getPixelReader();
+        if (reader == null) throw new IllegalArgumentException("Image pixels cannot be read");
+
+        final int width = (int) image.getWidth();
+        final int height = (int) image.getHeight();
+        final IntBuffer pixels = IntBuffer.allocate(width * height);
+
+        // copies all the pixels in a single call
+        reader.getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, width);
+
+        return pixels;
+    }
+
+    private static Image loadImage(final File imageFile) throws IOException {
+        final Image image = new Image(imageFile.toURI().toString(), false);
+        if (image.isError()) throw new IOException("Could not read image " + imageFile, image.getException());
+        return image;
+    }
+
+}
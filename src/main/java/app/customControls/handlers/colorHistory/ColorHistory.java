@@ -0,0 +1,301 @@
+package app.customControls.handlers.colorHistory;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size ring buffer of picked colors, stored as packed argb codes along with the time at which they were picked.<br>
+ * <br>
+ * The buffer lives in a small memory-mapped file so that the history survives restarts : appending a color only writes
+ * a few bytes to the mapped memory, without any serialization or flushing on the calling thread (the operating system
+ * writes the pages back to disk on its own). Loading only maps the file and reads its header, so it takes the same
+ * time no matter how many colors are stored.<br>
+ * <br>
+ * <u><i>File layout</i></u> :<br>
+ * <ul>
+ *     <li>header: magic (int), capacity (int), head (int), count (int)</li>
+ *     <li>entries: argb (int), timestamp (long), repeated capacity times</li>
+ * </ul>
+ * The history is {@link Observable} so that views can register a {@link javafx.beans.WeakInvalidationListener
+ * WeakInvalidationListener} : the shared history lives as long as the application and must not keep them alive.
+ * @implNote if the file cannot be opened or mapped, the history falls back to a buffer in memory which is lost on exit.
+ * Must be accessed from the JavaFX application thread
+ */
+public class ColorHistory implements Observable {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*             CONSTANTS            */
+
+    public static final int DEFAULT_CAPACITY = 256;
+    private static final int MAGIC = 0x43484953; // "CHIS"
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 4;
+    private static final int HEAD_OFFSET = 8;
+    private static final int COUNT_OFFSET = 12;
+    private static final int HEADER_SIZE = 16;
+    private static final int TIMESTAMP_OFFSET = 4;
+    private static final int ENTRY_SIZE = 12;
+    private static final String DEFAULT_DIRECTORY = ".customControls";
+    private static final String DEFAULT_FILE = "color-history.dat";
+
+    /*              SHARED              */
+
+    private static ColorHistory shared;
+
+    /*              BUFFER              */
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final boolean persistent;
+    private int head;   // index of the next entry to write
+    private int count;  // number of stored entries
+
+    /*             LISTENERS            */
+
+    private final List<InvalidationListener> listeners = new ArrayList<>();
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link ColorHistory} constructor for a history which is only kept in memory
+     * @param capacity (int): maximum number of colors to remember
+     */
+    public ColorHistory(final int capacity) {
+        this(null, capacity);
+    }
+
+    /**
+     * {@link ColorHistory} constructor
+     * @param file ({@link Path}): file in which the history is persisted, or null to only keep it in memory
+     * @param capacity (int): maximum number of colors to remember
+     */
+    public ColorHistory(final Path file, final int capacity) {
+
+        // makes sure the capacity is valid
+        if (capacity <= 0) {
+            final String errorMessage = "Invalid capacity %d, must be greater than 0";
+            throw new IllegalArgumentException(String.format(errorMessage, capacity));
+        }
+
+        this.capacity = capacity;
+
+        // tries to map the history file, falling back to memory on failure
+        final ByteBuffer mapped = file == null ? null : map(file, HEADER_SIZE + capacity * ENTRY_SIZE);
+        this.persistent = mapped != null;
+        this.buffer = persistent ? mapped : ByteBuffer.allocate(HEADER_SIZE + capacity * ENTRY_SIZE);
+
+        // loads the header, resetting the history if it was not written by a history of the same capacity
+        load();
+    }
+
+    /**
+     * Retrieves the history shared by all color pickers, persisted in the user's home directory
+     * @return ({@link ColorHistory}): the shared history
+     */
+    public static ColorHistory getShared() {
+        if (shared == null) {
+            final Path file = Path.of(System.getProperty("user.home"), DEFAULT_DIRECTORY, DEFAULT_FILE);
+            shared = new ColorHistory(file, DEFAULT_CAPACITY);
+        }
+        return shared;
+    }
+
+    // ===================================
+    //           INITIALISATION
+    // ===================================
+
+    /**
+     * Maps the history file into memory
+     * @param file ({@link Path}): the history file
+     * @param size (int): the size of the history file in bytes
+     * @return (ByteBuffer): the mapped file, or null if it could not be mapped
+     */
+    private static ByteBuffer map(final Path file, final int size) {
+        try {
+            // makes sure the parent directory exists
+            final Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+
+            // maps the file (the mapping stays valid once the channel is closed)
+            try (FileChannel channel = FileChannel.open(
+                    file,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE
+            )) {
+                if (channel.size() > size) channel.truncate(size);
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Loads the history's header, resetting the history if the header is invalid
+     */
+    private void load() {
+        final int magic = buffer.getInt(MAGIC_OFFSET);
+        final int storedCapacity = buffer.getInt(CAPACITY_OFFSET);
+        final int storedHead = buffer.getInt(HEAD_OFFSET);
+        final int storedCount = buffer.getInt(COUNT_OFFSET);
+
+        // determines if the stored header can be trusted
+        final boolean valid = magic == MAGIC
+                && storedCapacity == capacity
+                && storedHead >= 0 && storedHead < capacity
+                && storedCount >= 0 && storedCount <= capacity;
+
+        if (valid) {
+            head = storedHead;
+            count = storedCount;
+        } else {
+            reset();
+        }
+    }
+
+    /**
+     * Writes an empty header
+     */
+    private void reset() {
+        head = 0;
+        count = 0;
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        buffer.putInt(HEAD_OFFSET, head);
+        buffer.putInt(COUNT_OFFSET, count);
+    }
+
+    // ===================================
+    //              METHODS
+    // ===================================
+
+    /**
+     * Adds a color to the history, unless it is the same as the last color added
+     * @param argb (int): the color's argb code
+     * @return (boolean): whether the color was added
+     */
+    public boolean append(final int argb) {
+
+        // ignores consecutive duplicates
+        if (count > 0 && getArgb(0) == argb) return false;
+
+        // writes the entry at the head of the buffer...
+        final int offset = HEADER_SIZE + head * ENTRY_SIZE;
+        buffer.putLong(offset + TIMESTAMP_OFFSET, System.currentTimeMillis());
+        buffer.putInt(offset, argb);
+
+        // ...and moves the head forward, overwriting the oldest entry once the buffer is full
+        head = (head + 1) % capacity;
+        if (count < capacity) count++;
+        buffer.putInt(HEAD_OFFSET, head);
+        buffer.putInt(COUNT_OFFSET, count);
+
+        notifyListeners();
+        return true;
+    }
+
+    /**
+     * Removes every color from the history
+     */
+    public void clear() {
+        reset();
+        notifyListeners();
+    }
+
+    /**
+     * Registers a listener called whenever the history changes
+     * @param listener ({@link InvalidationListener}): the listener
+     */
+    @Override
+    public void addListener(final InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener previously registered with {@link #addListener(InvalidationListener)}
+     * @param listener ({@link InvalidationListener}): the listener
+     */
+    @Override
+    public void removeListener(final InvalidationListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyListeners() {
+        // walks backwards so that weak listeners can remove themselves once their target has been collected
+        for (int i = listeners.size() - 1; i >= 0; i--) {
+            listeners.get(i).invalidated(this);
+        }
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    /**
+     * Getter for a color in the history
+     * @param index (int): the color's index, 0 being the most recent color
+     * @return (int): the color's argb code
+     */
+    public int getArgb(final int index) {
+        return buffer.getInt(offsetOf(index));
+    }
+
+    /**
+     * Getter for the time at which a color was added to the history
+     * @param index (int): the color's index, 0 being the most recent color
+     * @return (long): the time at which the color was added, in milliseconds since the epoch
+     */
+    public long getTimestamp(final int index) {
+        return buffer.getLong(offsetOf(index) + TIMESTAMP_OFFSET);
+    }
+
+    /**
+     * Determines the position of an entry in the buffer
+     * @param index (int): the entry's index, 0 being the most recent entry
+     * @return (int): the entry's offset in bytes
+     */
+    private int offsetOf(final int index) {
+
+        // makes sure the entry exists
+        if (index < 0 || index >= count) {
+            final String errorMessage = "Invalid index %d, must be in the range [0; %d[";
+            throw new IllegalArgumentException(String.format(errorMessage, index, count));
+        }
+
+        // walks backwards from the head
+        final int position = (head - 1 - index + capacity) % capacity;
+        return HEADER_SIZE + position * ENTRY_SIZE;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Determines if the history is persisted to a file
+     * @return (boolean): whether the history survives restarts
+     */
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+}
@@ -0,0 +1,412 @@
+package app.customControls.handlers.colorModel;
+
+import app.customControls.utilities.ColorUtil;
+import app.customControls.utilities.StringUtil;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Headless color state for color pickers, independent of the scene graph.<br>
+ * <br>
+ * The color is stored as a single packed argb code inside an {@link AtomicInteger}, so it can be read & updated from
+ * any thread without locking. Conversions to & from the rgb, hsv and hex color formats are validated before being
+ * applied, and listeners are notified of every change on the thread which made it.<br>
+ * <br>
+ * Color pickers only render the model & forward user input to it : the color codes typed or pasted by the user are
+ * parsed & validated here, and the codes displayed or copied are built here.<br>
+ * <br>
+ * <u><i>Features</i></u> :<br>
+ * <ul>
+ *     <li>lock-free reads & writes, including atomic read-modify-write updates</li>
+ *     <li>rgb, hsv & hex conversions with range validation</li>
+ *     <li>parsing of user color codes, with or without units (ex: "r:255" or "255")</li>
+ *     <li>
+ *         hsv components remembered for as long as the color does not change, so that a hue is not lost on greys
+ *         & a typed hsv code is displayed back exactly
+ *     </li>
+ *     <li>change listeners receiving both the old and new argb codes</li>
+ * </ul>
+ * @see app.customControls.controls.colorPicker.MaterialColorPicker MaterialColorPicker
+ */
+public class ColorModel {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*             CONSTANTS            */
+
+    public static final int DEFAULT_ARGB = 0xFFFF0000;
+    private static final int OPAQUE = 0xFF000000;
+    private static final double MAX_RGB = 255;
+    private static final double MAX_HUE = 360;
+    private static final double MAX_SV = 100;
+
+    /*               STATE              */
+
+    private final AtomicInteger argb;
+    private volatile HsvComponents hsvComponents;   // hsv components of the last color set from hsv, if any
+
+    /**
+     * Hsv components of a color set from hsv, along with the argb code they were converted to. They are only valid
+     * for as long as the model's color is still that argb code
+     * @param argb (int): the argb code the components were converted to
+     * @param hue (double): hue component [0; 360[
+     * @param saturation (double): saturation component [0; 100]
+     * @param value (double): value component [0; 100]
+     */
+    private record HsvComponents(int argb, double hue, double saturation, double value) {}
+
+    /*             LISTENERS            */
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Listener notified whenever the {@link ColorModel}'s color changes
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Called after the color changed, on the thread which changed it
+         * @param oldArgb (int): the previous argb code
+         * @param newArgb (int): the new argb code
+         */
+        void colorChanged(int oldArgb, int newArgb);
+    }
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * Default {@link ColorModel} constructor, starting on opaque red
+     */
+    public ColorModel() {
+        this(DEFAULT_ARGB);
+    }
+
+    /**
+     * {@link ColorModel} constructor
+     * @param initialArgb (int): argb code of the starting color
+     */
+    public ColorModel(final int initialArgb) {
+        this.argb = new AtomicInteger(initialArgb);
+    }
+
+    // ===================================
+    //             LISTENERS
+    // ===================================
+
+    public void addListener(final Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(final Listener listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyListeners(final int oldArgb, final int newArgb) {
+        for (Listener listener : listeners) {
+            listener.colorChanged(oldArgb, newArgb);
+        }
+    }
+
+    // ===================================
+    //              SETTERS
+    // ===================================
+
+    /**
+     * Setter for the {@link ColorModel}'s color
+     * @param newArgb (int): argb code of the new color
+     * @return (boolean): whether the color changed
+     */
+    public boolean setArgb(final int newArgb) {
+        final int oldArgb = argb.getAndSet(newArgb);
+        if (oldArgb == newArgb) return false;
+
+        notifyListeners(oldArgb, newArgb);
+        return true;
+    }
+
+    /**
+     * Atomically updates the {@link ColorModel}'s color, retrying if another thread changed it in the meantime
+     * @param update ({@link IntUnaryOperator}): computes the new argb code from the current one
+     * @return (int): argb code of the new color
+     */
+    public int update(final IntUnaryOperator update) {
+        int oldArgb;
+        int newArgb;
+        do {
+            oldArgb = argb.get();
+            newArgb = update.applyAsInt(oldArgb);
+        } while (!argb.compareAndSet(oldArgb, newArgb));
+
+        if (oldArgb != newArgb) notifyListeners(oldArgb, newArgb);
+        return newArgb;
+    }
+
+    /**
+     * Sets the {@link ColorModel}'s color from its rgb components (opaque)
+     * @param red (int): red component [0; 255]
+     * @param green (int): green component [0; 255]
+     * @param blue (int): blue component [0; 255]
+     * @return (boolean): whether the color changed
+     */
+    public boolean setRgb(final int red, final int green, final int blue) {
+        validateRange("red", red, MAX_RGB);
+        validateRange("green", green, MAX_RGB);
+        validateRange("blue", blue, MAX_RGB);
+        return setArgb(ColorUtil.Rgb.toArgbCode(red, green, blue));
+    }
+
+    /**
+     * Sets the {@link ColorModel}'s color from its hsv components (opaque)
+     * @param hue (double): hue component [0; 360]
+     * @param saturation (double): saturation component [0; 100]
+     * @param value (double): value component [0; 100]
+     * @return (boolean): whether the color changed
+     */
+    public boolean setHsv(final double hue, final double saturation, final double value) {
+        validateRange("hue", hue, MAX_HUE);
+        validateRange("saturation", saturation, MAX_SV);
+        validateRange("value", value, MAX_SV);
+        return applyHsv(hue % MAX_HUE, saturation, value);
+    }
+
+    /**
+     * Sets the {@link ColorModel}'s color from hsv components coming from a trusted source, such as a spectrum's
+     * pointer, clamping them to their range instead of rejecting them (opaque)
+     * @param hue (double): hue component, wrapped to [0; 360[
+     * @param saturation (double): saturation component, clamped to [0; 100]
+     * @param value (double): value component, clamped to [0; 100]
+     * @return (boolean): whether the color changed
+     */
+    public boolean setHsvClamped(final double hue, final double saturation, final double value) {
+        final double wrappedHue = (hue % MAX_HUE + MAX_HUE) % MAX_HUE;
+        return applyHsv(wrappedHue, clamp(saturation, MAX_SV), clamp(value, MAX_SV));
+    }
+
+    /**
+     * Sets the {@link ColorModel}'s color from valid hsv components & remembers them
+     * @param hue (double): hue component [0; 360[
+     * @param saturation (double): saturation component [0; 100]
+     * @param value (double): value component [0; 100]
+     * @return (boolean): whether the color changed
+     */
+    private boolean applyHsv(final double hue, final double saturation, final double value) {
+        final int newArgb = ColorUtil.Hsv.toArgbCode(hue, saturation, value);
+
+        // remembers the components before notifying listeners, so that they can read them back
+        hsvComponents = new HsvComponents(newArgb, hue, saturation, value);
+        return setArgb(newArgb);
+    }
+
+    /**
+     * Sets the {@link ColorModel}'s color from its hex code (opaque)
+     * @param hex ({@link String}): hex code, with or without a leading #
+     * @return (boolean): whether the color changed
+     */
+    public boolean setHex(final String hex) {
+        if (hex == null || !StringUtil.Validation.isValidHex(hex)) {
+            final String errorMessage = "Invalid hex code %s, must be 6 hexadecimal digits optionally preceded by #";
+            throw new IllegalArgumentException(String.format(errorMessage, hex));
+        }
+        final int[] rgb = ColorUtil.Hex.toRgb(hex);
+        return setArgb(ColorUtil.Rgb.toArgbCode(rgb[0], rgb[1], rgb[2]));
+    }
+
+    // ===================================
+    //              GETTERS
+    // ===================================
+
+    public int getArgb() {
+        return argb.get();
+    }
+
+    public int getOpacity() {
+        return argb.get() >>> 24;
+    }
+
+    /**
+     * Getter for the {@link ColorModel}'s rgb components
+     * @return (int[]): the red, green & blue components [0; 255]
+     */
+    public int[] getRgb() {
+        final int current = argb.get();
+        return new int[]{(current >> 16) & 0xFF, (current >> 8) & 0xFF, current & 0xFF};
+    }
+
+    /**
+     * Getter for the {@link ColorModel}'s hsv components. If the color was last set from hsv components, those are
+     * returned as they were set instead of being converted back from rgb
+     * @return (double[]): the hue [0; 360[, saturation [0; 100] & value [0; 100]
+     */
+    public double[] getHsv() {
+        final int current = argb.get();
+        final HsvComponents components = hsvComponents;
+
+        // returns the remembered components if they still describe the current color
+        if (components != null && components.argb == current) {
+            return new double[]{components.hue, components.saturation, components.value};
+        }
+
+        return ColorUtil.Rgb.toHsv((current >> 16) & 0xFF, (current >> 8) & 0xFF, current & 0xFF);
+    }
+
+    /**
+     * Getter for the {@link ColorModel}'s hex code
+     * @return (String): the hex code, ex: #FF0000
+     */
+    public String getHex() {
+        final int[] rgb = getRgb();
+        return ColorUtil.Rgb.toHex(rgb[0], rgb[1], rgb[2]);
+    }
+
+    /**
+     * Determines if the {@link ColorModel}'s color is fully opaque
+     * @return (boolean): whether the color is opaque
+     */
+    public boolean isOpaque() {
+        return (argb.get() & OPAQUE) == OPAQUE;
+    }
+
+    /**
+     * Getter for the {@link ColorModel}'s full rgb code, as displayed & copied by color pickers
+     * @return (String): the rgb code, ex: rgb(r:255, g:0, b:0)
+     */
+    public String getRgbCode() {
+        final int[] rgb = getRgb();
+        return String.format("rgb(r:%d, g:%d, b:%d)", rgb[0], rgb[1], rgb[2]);
+    }
+
+    /**
+     * Getter for the {@link ColorModel}'s full hsv code, as displayed & copied by color pickers
+     * @return (String): the hsv code, ex: hsv(h:0, s:100, v:100)
+     */
+    public String getHsvCode() {
+        final double[] hsv = getHsv();
+        return String.format("hsv(h:%d, s:%d, v:%d)", round(hsv[0]), round(hsv[1]), round(hsv[2]));
+    }
+
+    /**
+     * Rounds a color component to the integer displayed in color codes
+     * @param component (double): the component to round
+     * @return (int): the displayed component
+     */
+    public static int round(final double component) {
+        return (int) Math.round(component);
+    }
+
+    // ===================================
+    //            COLOR CODES
+    // ===================================
+
+    /**
+     * Sets the {@link ColorModel}'s color from a hex code entered by the user
+     * @param hexCode ({@link String}): the hex code, with or without a leading #
+     * @return (boolean): whether the code was valid & applied (the color is left untouched otherwise)
+     */
+    public boolean applyHexCode(final String hexCode) {
+        if (hexCode == null || !StringUtil.Validation.isValidHex(hexCode)) return false;
+
+        setHex(hexCode);
+        return true;
+    }
+
+    /**
+     * Sets the {@link ColorModel}'s color from the rgb components entered by the user
+     * @param red ({@link String}): red component, with or without units (ex: "r:255" or "255")
+     * @param green ({@link String}): green component, with or without units
+     * @param blue ({@link String}): blue component, with or without units
+     * @return (boolean): whether the code was valid & applied (the color is left untouched otherwise)
+     */
+    public boolean applyRgbCode(final String red, final String green, final String blue) {
+
+        // makes sure every component is valid
+        if (red == null || !StringUtil.Validation.isValidRed(red)) return false;
+        if (green == null || !StringUtil.Validation.isValidGreen(green)) return false;
+        if (blue == null || !StringUtil.Validation.isValidBlue(blue)) return false;
+
+        // parses & applies the components
+        final int[] rgb = ColorUtil.Rgb.fromRgbString(red, green, blue);
+        setRgb(rgb[0], rgb[1], rgb[2]);
+        return true;
+    }
+
+    /**
+     * Sets the {@link ColorModel}'s color from a full rgb code, as pasted by the user
+     * @param rgbCode ({@link String}): the rgb code, ex: rgb(r:255, g:0, b:0)
+     * @return (boolean): whether the code was valid & applied (the color is left untouched otherwise)
+     */
+    public boolean applyRgbCode(final String rgbCode) {
+        if (rgbCode == null || !StringUtil.Validation.isValidRgb(rgbCode)) return false;
+
+        final int[] rgb = ColorUtil.Rgb.fromRgbString(rgbCode);
+        setRgb(rgb[0], rgb[1], rgb[2]);
+        return true;
+    }
+
+    /**
+     * Sets the {@link ColorModel}'s color from the hsv components entered by the user
+     * @param hue ({@link String}): hue component, with or without units (ex: "h:120" or "120")
+     * @param saturation ({@link String}): saturation component, with or without units
+     * @param value ({@link String}): value component, with or without units
+     * @return (boolean): whether the code was valid & applied (the color is left untouched otherwise)
+     */
+    public boolean applyHsvCode(final String hue, final String saturation, final String value) {
+
+        // makes sure every component is valid
+        if (hue == null || !StringUtil.Validation.isValidHue(hue)) return false;
+        if (saturation == null || !StringUtil.Validation.isValidSaturation(saturation)) return false;
+        if (value == null || !StringUtil.Validation.isValidValue(value)) return false;
+
+        // parses & applies the components
+        final double[] hsv = ColorUtil.Hsv.fromHsvString(hue, saturation, value);
+        setHsv(hsv[0], hsv[1], hsv[2]);
+        return true;
+    }
+
+    /**
+     * Sets the {@link ColorModel}'s color from a full hsv code, as pasted by the user
+     * @param hsvCode ({@link String}): the hsv code, ex: hsv(h:0, s:100, v:100)
+     * @return (boolean): whether the code was valid & applied (the color is left untouched otherwise)
+     */
+    public boolean applyHsvCode(final String hsvCode) {
+        if (hsvCode == null || !StringUtil.Validation.isValidHsv(hsvCode)) return false;
+
+        final double[] hsv = ColorUtil.Hsv.fromHsvString(hsvCode);
+        setHsv(hsv[0], hsv[1], hsv[2]);
+        return true;
+    }
+
+    // ===================================
+    //             VALIDATION
+    // ===================================
+
+    /**
+     * Clamps a color component to the range [0; max]
+     * @param component (double): the component to clamp
+     * @param max (double): the component's maximum value
+     * @return (double): the clamped component
+     */
+    private static double clamp(final double component, final double max) {
+        return Math.max(0, Math.min(max, component));
+    }
+
+    /**
+     * Makes sure a color component is in the range [0; max]
+     * @param name ({@link String}): the component's name, used in the error message
+     * @param component (double): the component to check
+     * @param max (double): the component's maximum value
+     */
+    private static void validateRange(final String name, final double component, final double max) {
+        if (component < 0 || component > max) {
+            final String errorMessage = "Invalid %s %s, must be in the range [0; %s]";
+            throw new IllegalArgumentException(String.format(errorMessage, name, component, (int) max));
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+package app.customControls.handlers.input;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Point2D;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.robot.Robot;
+
+/**
+ * Shared source of the mouse's position on the screen, polling it at most once per JavaFX pulse.<br>
+ * <br>
+ * A single {@link Robot} is created for the whole application. The first request of a pulse polls the robot, and every
+ * following request until the next pulse is answered from the cached position. Positions carried by events can be
+ * recorded as well, in which case the robot is not polled at all during that pulse.<br>
+ * <br>
+ * <u><i>Features</i></u> :<br>
+ * <ul>
+ *     <li>single robot shared by every control</li>
+ *     <li>at most one robot call per pulse</li>
+ *     <li>event positions replacing polls</li>
+ *     <li>robot calls per second & cache hit metrics</li>
+ * </ul>
+ * @implNote must be used from the JavaFX application thread
+ */
+public class InputSampler {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*             CONSTANTS            */
+
+    private static final long RATE_WINDOW = 1_000_000_000L;     // window over which the robot call rate is measured
+
+    /*              SHARED              */
+
+    private static InputSampler shared;
+
+    /*              ROBOT               */
+
+    private Robot robot;    // created the first time it is needed
+
+    /*               CACHE              */
+
+    private Point2D mousePosition;
+    private boolean fresh = false;          // whether the cached position belongs to the current pulse
+    private final AnimationTimer pulseListener;
+
+    /*             METRICS              */
+
+    private long robotCallCount = 0;
+    private long cachedCount = 0;
+    private long recordedCount = 0;
+    private long windowStart = 0;
+    private int windowCalls = 0;
+    private double robotCallsPerSecond = 0;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    public InputSampler() {
+        this.pulseListener = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                endPulse();
+            }
+        };
+    }
+
+    /**
+     * Retrieves the sampler shared by every control
+     * @return ({@link InputSampler}): the shared sampler
+     */
+    public static InputSampler getShared() {
+        if (shared == null) shared = new InputSampler();
+        return shared;
+    }
+
+    // ===================================
+    //              METHODS
+    // ===================================
+
+    /**
+     * Getter for the mouse's position, only polling the robot if it has not been sampled since the last pulse
+     * @return ({@link Point2D}): the mouse's position on the screen
+     */
+    public Point2D getMousePosition() {
+        if (fresh) {
+            cachedCount++;
+            return mousePosition;
+        }
+
+        // polls the robot & keeps the position until the next pulse
+        mousePosition = getRobot().getMousePosition();
+        countRobotCall();
+        markFresh();
+        return mousePosition;
+    }
+
+    /**
+     * Records the mouse's position carried by an event, replacing any poll until the next pulse
+     * @param mouseEvent ({@link MouseEvent}): the event
+     * @return ({@link Point2D}): the mouse's position on the screen
+     */
+    public Point2D record(final MouseEvent mouseEvent) {
+        return record(mouseEvent.getScreenX(), mouseEvent.getScreenY());
+    }
+
+    /**
+     * Records a known mouse position, replacing any poll until the next pulse
+     * @param screenX (double): the mouse's x-coordinate on the screen
+     * @param screenY (double): the mouse's y-coordinate on the screen
+     * @return ({@link Point2D}): the mouse's position on the screen
+     */
+    public Point2D record(final double screenX, final double screenY) {
+        if (!fresh || mousePosition.getX() != screenX || mousePosition.getY() != screenY) {
+            mousePosition = new Point2D(screenX, screenY);
+        }
+        recordedCount++;
+        markFresh();
+        return mousePosition;
+    }
+
+    /**
+     * Keeps the cached position until the next pulse
+     */
+    private void markFresh() {
+        if (fresh) return;
+        fresh = true;
+        pulseListener.start();
+    }
+
+    /**
+     * Discards the cached position once a pulse has passed, stopping to listen until the next sample
+     */
+    private void endPulse() {
+        fresh = false;
+        pulseListener.stop();
+    }
+
+    /**
+     * Updates the number of robot calls made over the last second
+     */
+    private void countRobotCall() {
+        robotCallCount++;
+
+        final long now = System.nanoTime();
+        if (windowStart == 0) windowStart = now;
+        windowCalls++;
+
+        final long elapsed = now - windowStart;
+        if (elapsed >= RATE_WINDOW) {
+            robotCallsPerSecond = windowCalls * 1e9 / elapsed;
+            windowStart = now;
+            windowCalls = 0;
+        }
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    /**
+     * Getter for the robot shared by the whole application, created the first time it is needed
+     * @return ({@link Robot}): the shared robot
+     */
+    public Robot getRobot() {
+        if (robot == null) robot = new Robot();
+        return robot;
+    }
+
+    public long getRobotCallCount() {
+        return robotCallCount;
+    }
+
+    public long getCachedCount() {
+        return cachedCount;
+    }
+
+    public long getRecordedCount() {
+        return recordedCount;
+    }
+
+    /**
+     * Getter for the number of robot calls made over the last measured second
+     * @return (double): robot calls per second
+     */
+    public double getRobotCallsPerSecond() {
+        return robotCallsPerSecond;
+    }
+
+}
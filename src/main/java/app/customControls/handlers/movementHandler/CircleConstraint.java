@@ -0,0 +1,78 @@
+package app.customControls.handlers.movementHandler;
+
+/**
+ * Constrains a node's movement to a disc, for example the pointer of a circular color wheel
+ */
+public class CircleConstraint implements MovementConstraint {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private final double centerX;
+    private final double centerY;
+    private final double radius;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link CircleConstraint} constructor
+     * @param centerX (double): x-coordinate of the disc's center
+     * @param centerY (double): y-coordinate of the disc's center
+     * @param radius (double): the disc's radius
+     */
+    public CircleConstraint(final double centerX, final double centerY, final double radius) {
+
+        // makes sure the radius is valid
+        if (radius < 0) {
+            final String errorMessage = "Invalid radius %f, must be positive";
+            throw new IllegalArgumentException(String.format(errorMessage, radius));
+        }
+
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.radius = radius;
+    }
+
+    // ===================================
+    //            CONSTRAINT
+    // ===================================
+
+    @Override
+    public boolean contains(final double x, final double y) {
+        final double dx = x - centerX;
+        final double dy = y - centerY;
+        return dx * dx + dy * dy <= radius * radius;
+    }
+
+    @Override
+    public MutablePoint2D clamp(final MutablePoint2D point) {
+        final double dx = point.getX() - centerX;
+        final double dy = point.getY() - centerY;
+        final double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance <= radius) return point;
+
+        // brings the point back onto the circle, along the line joining it to the center
+        final double scale = radius / distance;
+        return point.set(centerX + dx * scale, centerY + dy * scale);
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    public double getCenterX() {
+        return centerX;
+    }
+
+    public double getCenterY() {
+        return centerY;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+}
@@ -3,8 +3,29 @@ package app.customControls.handlers.movementHandler;
 import javafx.geometry.Point2D;
 
 /**
- * Functional Interface used in {@link MovementHandler} class
+ * Functional Interface used in {@link MovementHandler} class<br>
+ * <br>
+ * Converters work in place on a {@link MutablePoint2D}, so that reading a node's position through them does not
+ * allocate. The {@link Point2D} overload is kept for one-off conversions
  */
+@FunctionalInterface
 public interface CoordinateConverter {
-    Point2D convertCoordinates(final Point2D coordinates);
+
+    /**
+     * Converts coordinates in place
+     * @param coordinates ({@link MutablePoint2D}): the coordinates to convert, replaced by the converted ones
+     */
+    void convertCoordinates(final MutablePoint2D coordinates);
+
+    /**
+     * Converts coordinates into a new point
+     * @param coordinates ({@link Point2D}): the coordinates to convert
+     * @return (Point2D): the converted coordinates
+     */
+    default Point2D convertCoordinates(final Point2D coordinates) {
+        final MutablePoint2D converted = new MutablePoint2D(coordinates);
+        convertCoordinates(converted);
+        return converted.toPoint2D();
+    }
+
 }
@@ -0,0 +1,371 @@
+package app.customControls.handlers.movementHandler;
+
+import app.customControls.handlers.pulse.PulseHandler;
+import javafx.collections.ObservableList;
+import javafx.event.EventHandler;
+import javafx.geometry.Point2D;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.transform.Translate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Handles dragging a selection of children of a {@link Pane} together, no matter how many nodes are selected.<br>
+ * <br>
+ * Moving each node by setting its layout position makes its parent lay out again for every node & every frame. Instead,
+ * once the selection actually starts moving, the selected nodes are moved into a temporary {@link Group} which is the
+ * only thing moved while dragging, through a single {@link Translate}. Each frame therefore costs the same whether one
+ * node or thousands are selected. On release the translation is committed to every node's layout position in one
+ * batch, and the nodes are put back in their original stacking order. A press which is released without any drag
+ * leaves the nodes where they are, so simply clicking a selected node neither restyles nor unfocuses the selection.<br>
+ * <br>
+ * As with a {@link MovementHandler}, drag events are coalesced and applied once per pulse.<br>
+ * <br>
+ * <u><i>Features</i></u> :<br>
+ * <ul>
+ *     <li>constant per-frame cost for any selection size</li>
+ *     <li>single batched commit on release</li>
+ *     <li>nodes only reparented once the selection moves, keeping their focus</li>
+ *     <li>stacking order preserved</li>
+ *     <li>programmatic drags through {@link #beginDrag()}, {@link #dragBy(double, double)} & {@link #commit()}</li>
+ *     <li>received & applied event counters</li>
+ * </ul>
+ * @implNote while dragging, the selected nodes are children of the temporary group instead of the pane, so CSS
+ * selectors relying on the pane being their direct parent do not match them until the drag ends. Selected nodes should
+ * not be moved by their own {@link MovementHandler} at the same time
+ */
+public class GroupMovementHandler {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*             CONTAINERS           */
+
+    private final Pane parent;
+    private final Group dragContainer;      // holds the selected nodes while they are dragged
+    private final Translate dragTranslate;
+
+    /*             SELECTION            */
+
+    private final Set<Node> selection = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Node> readOnlySelection = Collections.unmodifiableSet(selection);
+    private final List<Node> draggedNodes = new ArrayList<>();
+    private final List<Node> originalOrder = new ArrayList<>();    // the pane's children when the drag started
+
+    /*               DRAG               */
+
+    private boolean dragging = false;
+    private boolean detached = false;   // whether the selected nodes have been moved into the temporary container
+    private double anchorX;         // parent coordinates at which the drag started
+    private double anchorY;
+    private double pendingX;        // translation of the latest drag event, applied on the next pulse
+    private double pendingY;
+    private final PulseHandler movementPulse;
+
+    /*             LISTENERS            */
+
+    private final EventHandler<MouseEvent> pressListener;
+    private final EventHandler<MouseEvent> dragListener;
+    private final EventHandler<MouseEvent> releaseListener;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link GroupMovementHandler} constructor
+     * @param parent ({@link Pane}): the pane whose children can be selected & dragged
+     */
+    public GroupMovementHandler(final Pane parent) {
+
+        this.parent = parent;
+        this.dragTranslate = new Translate();
+        this.dragContainer = new Group();
+        this.dragContainer.setManaged(false);
+        this.dragContainer.getTransforms().add(dragTranslate);
+
+        this.movementPulse = new PulseHandler(this::applyPendingMovement);
+        this.pressListener = this::handlePress;
+        this.dragListener = this::handleDrag;
+        this.releaseListener = mouseEvent -> commit();
+
+        registerListeners();
+    }
+
+    // ===================================
+    //             LISTENERS
+    // ===================================
+
+    private void registerListeners() {
+        parent.addEventHandler(MouseEvent.MOUSE_PRESSED, pressListener);
+        parent.addEventHandler(MouseEvent.MOUSE_DRAGGED, dragListener);
+        parent.addEventHandler(MouseEvent.MOUSE_RELEASED, releaseListener);
+    }
+
+    /**
+     * Stops listening to the pane's mouse events, committing any drag in progress
+     */
+    public void dispose() {
+        commit();
+        parent.removeEventHandler(MouseEvent.MOUSE_PRESSED, pressListener);
+        parent.removeEventHandler(MouseEvent.MOUSE_DRAGGED, dragListener);
+        parent.removeEventHandler(MouseEvent.MOUSE_RELEASED, releaseListener);
+    }
+
+    // ===================================
+    //             SELECTION
+    // ===================================
+
+    /**
+     * Adds a child of the pane to the selection
+     * @param node ({@link Node}): the node
+     */
+    public void select(final Node node) {
+
+        // makes sure the node can be dragged by this handler
+        if (node.getParent() != parent && node.getParent() != dragContainer) {
+            final String errorMessage = "Invalid node %s, must be a child of %s";
+            throw new IllegalArgumentException(String.format(errorMessage, node, parent));
+        }
+
+        selection.add(node);
+    }
+
+    /**
+     * Adds several children of the pane to the selection
+     * @param nodes ({@link Collection}): the nodes
+     */
+    public void selectAll(final Collection<? extends Node> nodes) {
+        for (Node node : nodes) select(node);
+    }
+
+    /**
+     * Removes a node from the selection, taking effect once any drag in progress has been committed
+     * @param node ({@link Node}): the node
+     */
+    public void deselect(final Node node) {
+        selection.remove(node);
+    }
+
+    public void clearSelection() {
+        selection.clear();
+    }
+
+    /**
+     * Determines if a node is selected
+     * @param node ({@link Node}): the node
+     * @return (boolean): whether the node is part of the selection
+     */
+    public boolean isSelected(final Node node) {
+        return selection.contains(node);
+    }
+
+    // ===================================
+    //             MOVEMENT
+    // ===================================
+
+    /**
+     * Starts dragging the selection if the mouse was pressed on one of the selected nodes
+     * @param mouseEvent ({@link MouseEvent}): the press event
+     */
+    private void handlePress(final MouseEvent mouseEvent) {
+        if (mouseEvent.getButton() != MouseButton.PRIMARY) return;
+        if (!isSelected(childAt(mouseEvent.getPickResult().getIntersectedNode()))) return;
+
+        final Point2D anchor = parent.sceneToLocal(mouseEvent.getSceneX(), mouseEvent.getSceneY());
+        anchorX = anchor.getX();
+        anchorY = anchor.getY();
+        beginDrag();
+    }
+
+    /**
+     * Keeps the latest drag event until the next pulse
+     * @param mouseEvent ({@link MouseEvent}): the drag event
+     */
+    private void handleDrag(final MouseEvent mouseEvent) {
+        if (!dragging) return;
+
+        final Point2D position = parent.sceneToLocal(mouseEvent.getSceneX(), mouseEvent.getSceneY());
+        dragBy(position.getX() - anchorX, position.getY() - anchorY);
+    }
+
+    /**
+     * Finds the child of the pane containing a node
+     * @param node ({@link Node}): the node, typically the one under the mouse
+     * @return (Node): the pane's child, or null if the node is not inside the pane
+     */
+    private Node childAt(final Node node) {
+        Node current = node;
+        while (current != null && current.getParent() != parent && current.getParent() != dragContainer) {
+            current = current.getParent();
+        }
+        return current;
+    }
+
+    /**
+     * Starts dragging the selection, its nodes only being moved into the temporary container once it first moves
+     */
+    public void beginDrag() {
+        if (dragging || selection.isEmpty()) return;
+        dragging = true;
+    }
+
+    /**
+     * Moves the selected nodes into the temporary container, which is then dragged in their stead
+     */
+    private void detachSelection() {
+        detached = true;
+
+        final ObservableList<Node> children = parent.getChildren();
+        originalOrder.clear();
+        originalOrder.addAll(children);
+
+        // splits the children between the selected nodes & the others, keeping their stacking order
+        draggedNodes.clear();
+        final List<Node> remaining = new ArrayList<>(originalOrder.size() - selection.size() + 1);
+        for (Node child : originalOrder) {
+            if (selection.contains(child)) draggedNodes.add(child);
+            else remaining.add(child);
+        }
+        remaining.add(dragContainer);
+
+        // the focused node briefly leaves the scene while it is reparented, losing its focus
+        final Node focusOwner = getFocusOwner();
+
+        // moves the whole selection in one batch on either side, replacing the children at once being much cheaper
+        // than removing scattered nodes
+        dragTranslate.setX(0);
+        dragTranslate.setY(0);
+        children.setAll(remaining);
+        dragContainer.getChildren().setAll(draggedNodes);
+        restoreFocus(focusOwner);
+    }
+
+    /**
+     * Getter for the node focused in the pane's scene
+     * @return (Node): the focus owner, or null if there is none
+     */
+    private Node getFocusOwner() {
+        return parent.getScene() == null ? null : parent.getScene().getFocusOwner();
+    }
+
+    /**
+     * Gives the focus back to a node which lost it while being reparented
+     * @param focusOwner ({@link Node}): the node focused before reparenting, or null
+     */
+    private static void restoreFocus(final Node focusOwner) {
+        if (focusOwner != null && focusOwner.getScene() != null && !focusOwner.isFocused()) focusOwner.requestFocus();
+    }
+
+    /**
+     * Requests for the selection to be moved on the next pulse
+     * @param dx (double): translation since the start of the drag, along the x-axis
+     * @param dy (double): translation since the start of the drag, along the y-axis
+     */
+    public void dragBy(final double dx, final double dy) {
+        if (!dragging) return;
+        if (!detached) detachSelection();
+
+        pendingX = dx;
+        pendingY = dy;
+        movementPulse.request();
+    }
+
+    /**
+     * Moves the temporary container to the latest drag event received since the last pulse
+     */
+    private void applyPendingMovement() {
+        dragTranslate.setX(pendingX);
+        dragTranslate.setY(pendingY);
+    }
+
+    /**
+     * Commits the translation to the layout position of every dragged node & puts them back in the pane
+     */
+    public void commit() {
+        if (!dragging) return;
+        dragging = false;
+
+        // a selection which never moved is still in place
+        if (!detached) return;
+        movementPulse.flush();
+        detached = false;
+        final Node focusOwner = getFocusOwner();     // (lost while the nodes are put back in the pane)
+
+        // moves the nodes to their final position
+        final double dx = dragTranslate.getX();
+        final double dy = dragTranslate.getY();
+        for (Node node : draggedNodes) {
+            node.setLayoutX(node.getLayoutX() + dx);
+            node.setLayoutY(node.getLayoutY() + dy);
+        }
+
+        // restores the original stacking order, keeping any child added during the drag on top
+        final ObservableList<Node> children = parent.getChildren();
+        final Map<Node, Boolean> remaining = new IdentityHashMap<>();
+        for (Node child : children) remaining.put(child, Boolean.TRUE);
+        for (Node node : draggedNodes) remaining.put(node, Boolean.TRUE);
+        remaining.remove(dragContainer);
+
+        final List<Node> restored = new ArrayList<>(remaining.size());
+        for (Node child : originalOrder) {
+            if (remaining.remove(child) != null) restored.add(child);
+        }
+        for (Node child : children) {
+            if (remaining.remove(child) != null) restored.add(child);
+        }
+
+        dragContainer.getChildren().clear();
+        children.setAll(restored);
+        restoreFocus(focusOwner);
+
+        dragTranslate.setX(0);
+        dragTranslate.setY(0);
+        draggedNodes.clear();
+        originalOrder.clear();
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    /**
+     * Getter for the selected nodes
+     * @return ({@link Set}): read-only view of the selection
+     */
+    public Set<Node> getSelection() {
+        return readOnlySelection;
+    }
+
+    public boolean isDragging() {
+        return dragging;
+    }
+
+    /**
+     * Getter for the number of drag events received since creation
+     * @return (long): the number of drag events
+     */
+    public long getReceivedEventCount() {
+        return movementPulse.getRequestCount();
+    }
+
+    /**
+     * Getter for the number of times the selection was moved by a drag, each move applying the latest pending event
+     * @return (long): the number of applied drag events
+     */
+    public long getAppliedEventCount() {
+        return movementPulse.getRunCount();
+    }
+
+}
@@ -1,5 +1,6 @@
 package app.customControls.handlers.movementHandler;
 
+import app.customControls.utilities.MathUtil;
 import javafx.geometry.Point2D;
 
 /**
@@ -7,7 +8,7 @@ import javafx.geometry.Point2D;
  * @implNote Class was mainly created for learning purposes, reusing the existing JFX {@link javafx.geometry.Bounds Bounds}
  * would have been much more judicious
  */
-public class MovementBounds implements Cloneable{
+public class MovementBounds implements MovementConstraint, Cloneable{
 
     // ===================================
     //              FIELDS
@@ -83,12 +84,30 @@ public class MovementBounds implements Cloneable{
         return xInBounds && yInBounds ;
     }
 
+    @Override
+    public boolean contains(final double x, final double y) {
+        return isInBounds(x, y);
+    }
+
+    /**
+     * Moves a point back inside the bounds, in place
+     * @param point ({@link MutablePoint2D}): the point to clamp
+     * @return (MutablePoint2D): the same point, for chaining
+     */
+    @Override
+    public MutablePoint2D clamp(final MutablePoint2D point) {
+        return point.set(
+                MathUtil.clamp(point.getX(), minX, maxX),
+                MathUtil.clamp(point.getY(), minY, maxY)
+        );
+    }
+
     // ===================================
     //              CLONING
     // ===================================
 
     public MovementBounds clone() {
-        return new MovementBounds(maxX, maxY, minX, minY);
+        return new MovementBounds(minX, maxX, minY, maxY);
     }
 
 }
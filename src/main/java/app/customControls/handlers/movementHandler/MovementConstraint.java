@@ -0,0 +1,30 @@
+package app.customControls.handlers.movementHandler;
+
+/**
+ * Region a node is allowed to move in, used by a {@link MovementHandler} to keep its node inside it.<br>
+ * <br>
+ * Implementations clamp points in place & in constant time, so that constraining a drag neither allocates nor slows
+ * down with the region's complexity
+ * @see MovementBounds
+ * @see CircleConstraint
+ * @see RingConstraint
+ * @see PolygonConstraint
+ */
+public interface MovementConstraint {
+
+    /**
+     * Determines if a point lies inside the region
+     * @param x (double): the point's x-coordinate
+     * @param y (double): the point's y-coordinate
+     * @return (boolean): whether the point is inside the region
+     */
+    boolean contains(final double x, final double y);
+
+    /**
+     * Moves a point to the closest point of the region, leaving it untouched if it already lies inside
+     * @param point ({@link MutablePoint2D}): the point to clamp
+     * @return (MutablePoint2D): the same point, for chaining
+     */
+    MutablePoint2D clamp(final MutablePoint2D point);
+
+}
@@ -1,14 +1,41 @@
 package app.customControls.handlers.movementHandler;
 
-import app.customControls.handlers.delay.DelayHandler;
-import app.customControls.utilities.MathUtil;
+import app.customControls.handlers.pulse.PulseHandler;
+import app.customControls.handlers.snapping.SnapEngine;
+import app.customControls.utilities.NodeUtil;
+import javafx.animation.AnimationTimer;
 import javafx.event.EventHandler;
 import javafx.geometry.Point2D;
 import javafx.scene.Node;
 import javafx.scene.input.MouseEvent;
 
 /**
- * Handles dragging a {@link Node} around its {@link MovementBounds}
+ * Handles dragging a {@link Node} around its {@link MovementBounds}<br>
+ * <br>
+ * Drag events are coalesced : only the latest event received since the last pulse is kept, and the node is moved to
+ * it once per pulse, which follows the display's refresh rate. The pending event is applied straight away when the
+ * mouse is released, so that the node always ends up under the pointer.<br>
+ * <br>
+ * When inertia is enabled, the node keeps moving after being released at the velocity it was thrown with, slowing
+ * down exponentially until it comes to rest or hits its bounds. The velocity is fitted through the last drag positions
+ * by a {@link VelocityTracker}, and the slowdown is integrated over the actual time between frames so that it does
+ * not depend on the frame rate.<br>
+ * <br>
+ * Coordinates flow through reused {@link MutablePoint2D MutablePoint2Ds} rather than new {@link Point2D Point2Ds}, so
+ * that neither dragging nor reading the pointer's position allocates.<br>
+ * <br>
+ * An optional {@link SnapEngine} snaps the dragged node to a grid & to its siblings before it is clamped to its
+ * bounds.<br>
+ * <br>
+ * The bounds are rectangular {@link MovementBounds} by default, but any {@link MovementConstraint} can replace them,
+ * such as a {@link CircleConstraint}, a {@link RingConstraint} or a {@link PolygonConstraint}, the node being clamped
+ * in place without any allocation.
+ * <br>
+ * In {@link PositioningMode#TRANSLATE TRANSLATE} mode the node is moved through its translation, so that its parent
+ * does not lay out again on every frame, and its layout position is only updated once the drag (and any inertia) ends.
+ * <br>
+ * A callback can be notified once the node comes to rest, which is when it is released, or when its inertia ends if
+ * it was thrown, so that its final position can be used without reacting to every intermediate step.
  */
 public class MovementHandler {
 
@@ -18,13 +45,15 @@ public class MovementHandler {
 
     /*             CONSTANTS            */
 
-    private static final long MOVEMENT_DELAY = 10; // delay between movement updates, in millis
     private static final boolean BOUND_BY_DEFAULT = false;
     private static final boolean CENTERED_BY_DEFAULT = false;
     private static final MovementBounds DEFAULT_BOUNDS = new MovementBounds(Double.MAX_VALUE, Double.MAX_VALUE);
+    private static final boolean INERTIAL_BY_DEFAULT = false;
+    public static final double DEFAULT_DECAY = 4;           // rate at which thrown nodes slow down, per second
+    private static final double MIN_INERTIA_SPEED = 10;     // speed under which a thrown node stops, in pixels/second
 
     /*            CONVERSION            */
-    private static final CoordinateConverter DEFAULT_CONVERTER = coordinates -> coordinates;
+    private static final CoordinateConverter DEFAULT_CONVERTER = coordinates -> {};
     private CoordinateConverter converter;
 
     /*          ASSOCIATED NODE         */
@@ -32,14 +61,41 @@ public class MovementHandler {
 
     /*              BOUNDS              */
     private MovementBounds bounds;
+    private MovementConstraint constraint;  // region the node is clamped to, the bounds unless replaced
     private boolean isBound;
     private boolean isCentered;
 
+    /*            POSITIONING           */
+    private PositioningMode positioningMode = PositioningMode.LAYOUT;
+
+    /*             SNAPPING             */
+    private SnapEngine snapEngine;  // null when the node does not snap
+
     /*             LISTENERS            */
     private final EventHandler<MouseEvent> dragListener;
-
-    /*               DELAY              */
-    private final DelayHandler delay = new DelayHandler(MOVEMENT_DELAY);
+    private final EventHandler<MouseEvent> pressListener;
+    private final EventHandler<MouseEvent> releaseListener;
+
+    /*            COALESCING            */
+    private final PulseHandler movementPulse;
+    private double pendingX;        // parent coordinates of the latest drag event, applied on the next pulse
+    private double pendingY;
+    private final MutablePoint2D dragPosition = new MutablePoint2D();       // reused by every drag step
+    private final MutablePoint2D pointerPosition = new MutablePoint2D();    // reused when reading the position
+
+    /*              INERTIA             */
+    private final VelocityTracker velocityTracker = new VelocityTracker();
+    private final AnimationTimer inertiaTimer;
+    private boolean isInertial = INERTIAL_BY_DEFAULT;
+    private double decay = DEFAULT_DECAY;
+    private double velocityX;       // current velocity of the thrown node, in pixels/second
+    private double velocityY;
+    private long lastFrame;
+    private boolean isThrown = false;   // whether the node is still moving by inertia
+
+    /*           END OF MOVEMENT        */
+    private boolean isMoving = false;   // whether the node is held or thrown, from the press until it comes to rest
+    private Runnable onMovementEnd;     // called once the node comes to rest, null when unused
 
     // ===================================
     //            CONSTRUCTOR
@@ -61,10 +117,20 @@ public class MovementHandler {
 
         this.associatedNode = associatedNode;
         this.bounds         = bounds;
+        this.constraint     = bounds;
         this.isBound        = isBound;
         this.isCentered     = isCentered;
 
         this.dragListener   = this::moveTo;
+        this.movementPulse  = new PulseHandler(this::applyPendingMovement);
+        this.pressListener  = mouseEvent -> startDrag();
+        this.releaseListener = mouseEvent -> endDrag();
+        this.inertiaTimer   = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stepInertia(now);
+            }
+        };
 
         registerListeners();
 
@@ -74,7 +140,11 @@ public class MovementHandler {
     //             LISTENERS
     // ===================================
 
-    private void registerListeners() {associatedNode.setOnMouseDragged(dragListener);}
+    private void registerListeners() {
+        associatedNode.setOnMouseDragged(dragListener);
+        associatedNode.addEventHandler(MouseEvent.MOUSE_PRESSED, pressListener);
+        associatedNode.addEventHandler(MouseEvent.MOUSE_RELEASED, releaseListener);
+    }
 
     // ===================================
     //             BOUNDARIES
@@ -92,36 +162,196 @@ public class MovementHandler {
         return isBound;
     }
 
-    private Point2D boundCoordinates(Point2D parentCoords) {
+    // ===================================
+    //             MOVEMENT
+    // ===================================
+
+    private void moveTo(MouseEvent mouseEvent) {
 
-        final double x      = parentCoords.getX();
-        final double y      = parentCoords.getY();
+        // the node only moves on the next pulse, so the event's coordinates are converted while they still match it
+        final double localX             = mouseEvent.getX();
+        final double localY             = mouseEvent.getY();
+        localToParent(localX, localY, dragPosition);
 
-        final double boundX = MathUtil.clamp(x, bounds.getMinX(), bounds.getMaxX());
-        final double boundY = MathUtil.clamp(y, bounds.getMinY(), bounds.getMaxY());
+        // only keeps the latest event until the next pulse
+        pendingX = dragPosition.getX();
+        pendingY = dragPosition.getY();
+        movementPulse.request();
 
-        return new Point2D(boundX, boundY);
+        // remembers the position to estimate the velocity the node is released with
+        if (isInertial) velocityTracker.add(System.nanoTime(), pendingX, pendingY);
 
     }
 
-    // ===================================
-    //             MOVEMENT
-    // ===================================
+    /**
+     * Moves the node to the latest drag event received since the last pulse
+     */
+    private void applyPendingMovement() {
 
-    private void moveTo(MouseEvent mouseEvent) {
+        final MutablePoint2D parentCoords = dragPosition.set(pendingX, pendingY);
 
-        if (!delay.hasElapsed()) return;
+        if (isCentered) centerOnMouse(parentCoords);
+        if (snapEngine != null) snapEngine.snap(associatedNode, parentCoords, positioningMode);
+        if (isBound) constraint.clamp(parentCoords);
 
-        final double localX             = mouseEvent.getX();
-        final double localY             = mouseEvent.getY();
-        Point2D parentCoords            = associatedNode.localToParent(localX, localY);
+        setPositionX(parentCoords.getX());
+        setPositionY(parentCoords.getY());
 
-        if (isCentered) parentCoords    = centerOnMouse(parentCoords);
-        if (isBound) parentCoords       = boundCoordinates(parentCoords);
+    }
+
+    /**
+     * Immediately applies the latest drag event received, instead of waiting for the next pulse
+     */
+    void flushMovement() {
+        movementPulse.flush();
+    }
+
+    /**
+     * Stops any inertia & starts recording a new drag, the node's movement carrying on until it is released
+     */
+    private void startDrag() {
+        haltInertia();
+        velocityTracker.clear();
+        isMoving = true;
+    }
 
-        associatedNode.setLayoutX(parentCoords.getX());
-        associatedNode.setLayoutY(parentCoords.getY());
+    /**
+     * Applies the last drag event, then throws the node if inertia is enabled, otherwise ends its movement
+     */
+    private void endDrag() {
+        movementPulse.flush();
+        if (snapEngine != null) snapEngine.clearGuides();
+        if (throwNode()) return;
 
+        commitPosition();
+        endMovement();
+    }
+
+    /**
+     * Marks the node as having come to rest & notifies the end of movement callback
+     */
+    private void endMovement() {
+        isMoving = false;
+        if (onMovementEnd != null) onMovementEnd.run();
+    }
+
+    /**
+     * Keeps the node moving at the velocity it was released with
+     * @return (boolean): whether the node was thrown
+     */
+    private boolean throwNode() {
+        if (!isInertial) return false;
+
+        // the node only keeps moving if it was still moving when released
+        if (!velocityTracker.computeVelocity(System.nanoTime())) return false;
+        velocityX = velocityTracker.getVelocityX();
+        velocityY = velocityTracker.getVelocityY();
+        if (Math.hypot(velocityX, velocityY) < MIN_INERTIA_SPEED) return false;
+
+        lastFrame = 0;
+        isThrown = true;
+        inertiaTimer.start();
+        return true;
+    }
+
+    /**
+     * Moves the thrown node by the distance it covers since the last frame, slowing it down exponentially
+     * @param now (long): the frame's timestamp, in nanos
+     * @implNote the velocity decays as v(t) = v0 * exp(-decay * t), so the distance covered over a frame of duration dt
+     * is v0 * (1 - exp(-decay * dt)) / decay, which is the same whether the time is split into many frames or few
+     */
+    private void stepInertia(final long now) {
+
+        // the first frame only serves as a reference
+        if (lastFrame == 0) {
+            lastFrame = now;
+            return;
+        }
+        final double dt = (now - lastFrame) / 1e9;
+        lastFrame = now;
+
+        // distance covered since the last frame & remaining velocity
+        final double attenuation = Math.exp(-decay * dt);
+        final double travel = (1 - attenuation) / decay;
+        final double x = getPositionX() + velocityX * travel;
+        final double y = getPositionY() + velocityY * travel;
+        final MutablePoint2D position = dragPosition.set(x, y);
+        velocityX *= attenuation;
+        velocityY *= attenuation;
+
+        // stops along any axis on which the node hits its bounds
+        if (isBound) {
+            constraint.clamp(position);
+            if (position.getX() != x) velocityX = 0;
+            if (position.getY() != y) velocityY = 0;
+        }
+
+        setPositionX(position.getX());
+        setPositionY(position.getY());
+
+        if (Math.hypot(velocityX, velocityY) >= MIN_INERTIA_SPEED) return;
+        stopInertia();
+    }
+
+    /**
+     * Stops a thrown node where it currently is, committing its position & ending its movement
+     */
+    public void stopInertia() {
+        if (!haltInertia()) return;
+
+        // a thrown node is only translated in TRANSLATE mode, its layout position must catch up
+        commitPosition();
+        endMovement();
+    }
+
+    /**
+     * Stops the inertia timer & resets the node's velocity, without committing the node's position since a new press
+     * carries on moving it
+     * @return (boolean): whether the node was still thrown
+     */
+    private boolean haltInertia() {
+        final boolean wasThrown = isThrown;
+        inertiaTimer.stop();
+        isThrown = false;
+        velocityX = 0;
+        velocityY = 0;
+        return wasThrown;
+    }
+
+    /**
+     * Converts coordinates from the node's local space into its parent's
+     * @param localX (double): the local x-coordinate
+     * @param localY (double): the local y-coordinate
+     * @param target ({@link MutablePoint2D}): point receiving the parent coordinates
+     * @implNote nodes which are only translated, the usual case for dragged nodes, are converted without allocating.
+     * Reading {@link Node#getLocalToParentTransform()} is not an option, since it allocates a new transform each time
+     * the node has moved
+     */
+    private void localToParent(final double localX, final double localY, final MutablePoint2D target) {
+
+        // the parent coordinates are only offset by the node's position
+        if (isTranslatedOnly()) {
+            target.set(
+                    localX + associatedNode.getLayoutX() + associatedNode.getTranslateX(),
+                    localY + associatedNode.getLayoutY() + associatedNode.getTranslateY()
+            );
+            return;
+        }
+
+        // otherwise lets the node apply its full transform
+        final Point2D parentCoords = associatedNode.localToParent(localX, localY);
+        target.set(parentCoords.getX(), parentCoords.getY());
+    }
+
+    /**
+     * Determines if the node is neither rotated, scaled nor otherwise transformed
+     * @return (boolean): whether the node's local-to-parent transform is a translation
+     */
+    private boolean isTranslatedOnly() {
+        return associatedNode.getRotate() == 0
+                && associatedNode.getScaleX() == 1
+                && associatedNode.getScaleY() == 1
+                && associatedNode.getTransforms().isEmpty();
     }
 
     private Point2D centerOnMouse(final Point2D target) {
@@ -129,6 +359,11 @@ public class MovementHandler {
         return target.subtract(center, center);
     }
 
+    private void centerOnMouse(final MutablePoint2D target) {
+        final double center = associatedNode.getLayoutBounds().getCenterX();
+        target.translate(-center, -center);
+    }
+
     public void moveToX(final double x) {
         final Point2D newPosition = new Point2D(x, bounds.getMinY());
         // TODO: get bounds to work again
@@ -137,7 +372,7 @@ public class MovementHandler {
         Point2D adjustedPosition         = newPosition;
         if (isCentered) adjustedPosition = centerOnMouse(newPosition);
 
-        associatedNode.setLayoutX(adjustedPosition.getX());
+        setPositionX(adjustedPosition.getX());
     }
 
     public void moveToY(final double y) {
@@ -148,37 +383,90 @@ public class MovementHandler {
         Point2D adjustedPosition         = newPosition;
         if (isCentered) adjustedPosition = centerOnMouse(newPosition);
 
-        associatedNode.setLayoutY(adjustedPosition.getY());
+        setPositionY(adjustedPosition.getY());
     }
 
     public void moveTo(final double x, final double y) {
         moveTo(new Point2D(x, y));
     }
 
+    /**
+     * Moves the node straight to a position as a movement of its own, for example when the user clicks where the node
+     * should go : the node is marked as moving while it moves, & the end of movement callback is then notified just as
+     * if it had been dragged there
+     * @param x (double): the node's new x-coordinate in its parent
+     * @param y (double): the node's new y-coordinate in its parent
+     */
+    public void jumpTo(final double x, final double y) {
+        haltInertia();
+        isMoving = true;
+
+        moveTo(x, y);
+
+        commitPosition();
+        endMovement();
+    }
+
     public void moveTo(final Point2D newPosition) {
-        if (!bounds.isInBounds(newPosition)) return;
+        if (!constraint.contains(newPosition.getX(), newPosition.getY())) return;
 
         Point2D adjustedPosition         = newPosition;
         if (isCentered) adjustedPosition = centerOnMouse(newPosition);
 
-        associatedNode.setLayoutX(adjustedPosition.getX());
-        associatedNode.setLayoutY(adjustedPosition.getY());
+        setPositionX(adjustedPosition.getX());
+        setPositionY(adjustedPosition.getY());
     }
 
     public void moveToMinX() {
-        associatedNode.setLayoutX(bounds.getMinX());
+        setPositionX(bounds.getMinX());
     }
 
     public void moveToMaxX() {
-        associatedNode.setLayoutX(bounds.getMaxX());
+        setPositionX(bounds.getMaxX());
     }
 
     public void moveToMinY() {
-        associatedNode.setLayoutY(bounds.getMinY());
+        setPositionY(bounds.getMinY());
     }
 
     public void moveToMaxY() {
-        associatedNode.setLayoutY(bounds.getMaxY());
+        setPositionY(bounds.getMaxY());
+    }
+
+    /**
+     * Moves the node along the x-axis according to the current {@link PositioningMode}
+     * @param x (double): the node's new x-coordinate in its parent
+     */
+    private void setPositionX(final double x) {
+        if (positioningMode == PositioningMode.TRANSLATE) associatedNode.setTranslateX(x - associatedNode.getLayoutX());
+        else                                               associatedNode.setLayoutX(x);
+    }
+
+    /**
+     * Moves the node along the y-axis according to the current {@link PositioningMode}
+     * @param y (double): the node's new y-coordinate in its parent
+     */
+    private void setPositionY(final double y) {
+        if (positioningMode == PositioningMode.TRANSLATE) associatedNode.setTranslateY(y - associatedNode.getLayoutY());
+        else                                               associatedNode.setLayoutY(y);
+    }
+
+    private double getPositionX() {
+        if (positioningMode == PositioningMode.TRANSLATE) return NodeUtil.getPositionX(associatedNode);
+        else                                               return associatedNode.getLayoutX();
+    }
+
+    private double getPositionY() {
+        if (positioningMode == PositioningMode.TRANSLATE) return NodeUtil.getPositionY(associatedNode);
+        else                                               return associatedNode.getLayoutY();
+    }
+
+    /**
+     * Transfers the node's translation to its layout position, when it is moved in
+     * {@link PositioningMode#TRANSLATE TRANSLATE} mode
+     */
+    public void commitPosition() {
+        if (positioningMode == PositioningMode.TRANSLATE) NodeUtil.commitPosition(associatedNode);
     }
 
     public void moveToMin() {
@@ -209,6 +497,97 @@ public class MovementHandler {
 
     public void setMovementBounds(final MovementBounds newBounds) {
         bounds = newBounds;
+        constraint = newBounds;
+    }
+
+    public MovementConstraint getConstraint() {
+        return constraint;
+    }
+
+    /**
+     * Replaces the region the node is clamped to while bound, the {@link MovementBounds} still being used by the
+     * moveToMin & moveToMax methods
+     * @param newConstraint ({@link MovementConstraint}): the new region
+     */
+    public void setConstraint(final MovementConstraint newConstraint) {
+        constraint = newConstraint;
+    }
+
+    public PositioningMode getPositioningMode() {
+        return positioningMode;
+    }
+
+    /**
+     * Sets how the node is moved, committing any pending translation when switching back to layout positioning
+     * @param positioningMode ({@link PositioningMode}): the new positioning mode
+     */
+    public void setPositioningMode(final PositioningMode positioningMode) {
+        commitPosition();
+        this.positioningMode = positioningMode;
+    }
+
+    public SnapEngine getSnapEngine() {
+        return snapEngine;
+    }
+
+    /**
+     * Sets the engine the node snaps with while being dragged
+     * @param snapEngine ({@link SnapEngine}): the engine, or null to stop snapping
+     */
+    public void setSnapEngine(final SnapEngine snapEngine) {
+        this.snapEngine = snapEngine;
+    }
+
+    public boolean isInertial() {
+        return isInertial;
+    }
+
+    /**
+     * Enables or disables the node's inertia once it is released, disabling it stopping any thrown node where it is
+     * @param isInertial (boolean): whether the node keeps moving after being thrown
+     */
+    public void setInertial(final boolean isInertial) {
+        this.isInertial = isInertial;
+        if (!isInertial) stopInertia();
+    }
+
+    /**
+     * Determines if the node is being moved, whether it is held or still thrown
+     * @return (boolean): whether the node has not come to rest yet
+     */
+    public boolean isMoving() {
+        return isMoving;
+    }
+
+    public Runnable getOnMovementEnd() {
+        return onMovementEnd;
+    }
+
+    /**
+     * Sets the callback notified once the node comes to rest, either when released or once its inertia ends
+     * @param onMovementEnd (Runnable): the callback, or null to remove it
+     */
+    public void setOnMovementEnd(final Runnable onMovementEnd) {
+        this.onMovementEnd = onMovementEnd;
+    }
+
+    public double getDecay() {
+        return decay;
+    }
+
+    /**
+     * Setter for the rate at which thrown nodes slow down
+     * @param decay (double): the velocity's exponential decay rate, per second
+     */
+    public void setDecay(final double decay) {
+
+        // makes sure the node eventually stops
+        if (decay <= 0) {
+            final String errorMessage = "Invalid decay %f, must be greater than 0";
+            throw new IllegalArgumentException(String.format(errorMessage, decay));
+        }
+
+        this.decay = decay;
     }
 
     public boolean isCentered() {
@@ -220,21 +599,44 @@ public class MovementHandler {
     }
 
     public double getPointerX() {
-        return getPointerPosition().getX();
+        return getPointerPosition(pointerPosition).getX();
     }
 
     public double getPointerY() {
-        return getPointerPosition().getY();
+        return getPointerPosition(pointerPosition).getY();
+    }
+
+    /**
+     * Getter for the number of drag events received since creation
+     * @return (long): the number of drag events
+     */
+    public long getReceivedEventCount() {
+        return movementPulse.getRequestCount();
+    }
+
+    /**
+     * Getter for the number of times the node was moved by a drag, each move applying the latest pending event
+     * @return (long): the number of applied drag events
+     */
+    public long getAppliedEventCount() {
+        return movementPulse.getRunCount();
     }
 
     public Point2D getPointerPosition() {
+        return getPointerPosition(new MutablePoint2D()).toPoint2D();
+    }
+
+    /**
+     * Getter for the pointer's position, written into an existing point instead of allocating a new one
+     * @param target ({@link MutablePoint2D}): point receiving the pointer's position
+     * @return (MutablePoint2D): the target point, for chaining
+     */
+    public MutablePoint2D getPointerPosition(final MutablePoint2D target) {
 
-        final double x = associatedNode.getLayoutX();
-        final double y = associatedNode.getLayoutY();
-        final Point2D position = new Point2D(x, y);
+        target.set(getPositionX(), getPositionY());
 
-        if (converter == null)  return position;
-        else                    return converter.convertCoordinates(position);
+        if (converter != null) converter.convertCoordinates(target);
+        return target;
     }
 
 }
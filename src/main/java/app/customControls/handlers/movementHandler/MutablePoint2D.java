@@ -0,0 +1,92 @@
+package app.customControls.handlers.movementHandler;
+
+import javafx.geometry.Point2D;
+
+/**
+ * Mutable pair of coordinates, reused across the steps of a {@link MovementHandler} so that moving a node does not
+ * allocate a new {@link Point2D} for every conversion
+ * @implNote instances are meant to be owned & reused by a single handler, never shared between threads
+ */
+public class MutablePoint2D {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private double x;
+    private double y;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    public MutablePoint2D() {
+        this(0, 0);
+    }
+
+    public MutablePoint2D(final double x, final double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public MutablePoint2D(final Point2D point) {
+        this(point.getX(), point.getY());
+    }
+
+    // ===================================
+    //              METHODS
+    // ===================================
+
+    /**
+     * Moves the point to new coordinates
+     * @param x (double): the new x-coordinate
+     * @param y (double): the new y-coordinate
+     * @return (MutablePoint2D): this point, for chaining
+     */
+    public MutablePoint2D set(final double x, final double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * Moves the point by a given amount
+     * @param dx (double): distance to move along the x-axis
+     * @param dy (double): distance to move along the y-axis
+     * @return (MutablePoint2D): this point, for chaining
+     */
+    public MutablePoint2D translate(final double dx, final double dy) {
+        this.x += dx;
+        this.y += dy;
+        return this;
+    }
+
+    /**
+     * Copies the point into an immutable {@link Point2D}
+     * @return (Point2D): a new point at the same coordinates
+     */
+    public Point2D toPoint2D() {
+        return new Point2D(x, y);
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    public double getX() {
+        return x;
+    }
+
+    public void setX(final double x) {
+        this.x = x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public void setY(final double y) {
+        this.y = y;
+    }
+
+}
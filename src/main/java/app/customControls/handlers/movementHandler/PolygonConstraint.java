@@ -0,0 +1,465 @@
+package app.customControls.handlers.movementHandler;
+
+import app.customControls.utilities.MathUtil;
+
+import java.util.Arrays;
+
+/**
+ * Constrains a node's movement to a simple polygon, for example an irregular drop zone.<br>
+ * <br>
+ * Finding the closest point of a polygon normally means checking every one of its edges. Instead, the polygon's area
+ * is divided into a grid of cells when the constraint is created, and each cell remembers whether it lies inside the
+ * polygon, outside it or across its boundary, along with the edge closest to its center. Cells across the boundary
+ * also remember the edges crossing them & a reference point whose side is known, so that a point in such a cell is
+ * tested exactly by counting the edges lying between it & the reference point. Clamping a point then only takes a
+ * lookup in the grid & a projection onto a single edge, whatever the number of edges. The grid extends one cell past
+ * the polygon, so that a point beyond the grid lies outside the polygon, and is clamped onto the edge closest to the
+ * border cell it is nearest to.<br>
+ * <br>
+ * <u><i>Features</i></u> :<br>
+ * <ul>
+ *     <li>exact containment test, only checking the few edges crossing the point's cell</li>
+ *     <li>constant-time clamping</li>
+ *     <li>convex & concave polygons</li>
+ *     <li>grid resolution following the polygon's size, or a configurable cell size</li>
+ * </ul>
+ * @implNote points lying on the polygon's boundary are contained in it. When clamping, the closest edge is the one
+ * closest to the center of the point's cell, so points lying near a vertex where
+ * the closest edge changes can be clamped onto a neighbouring edge, at most a cell further than the exact result.
+ * Points lying far beyond the grid are clamped onto the edge closest to their border cell, which may not be the
+ * closest one overall. Creating the constraint takes time proportional to the number of cells times the number of
+ * edges, and the edges crossing the boundary cells take memory proportional to the polygon's perimeter
+ */
+public class PolygonConstraint implements MovementConstraint {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*             CONSTANTS            */
+
+    public static final int DEFAULT_RESOLUTION = 256;   // cells along the polygon's longest side by default
+    private static final int MARGIN = 1;        // cells covered around the polygon, which all lie outside it
+    private static final byte INSIDE = 0;
+    private static final byte OUTSIDE = 1;
+    private static final byte BOUNDARY = 2;     // cell crossed by the polygon's edges
+    private static final double[] REFERENCE_X = {0.5, 0.25, 0.75, 0.25, 0.75};   // reference points tried in a cell,
+    private static final double[] REFERENCE_Y = {0.5, 0.25, 0.25, 0.75, 0.75};   // as fractions of the cell's size
+
+    /*               EDGES              */
+
+    private final double[] startX;
+    private final double[] startY;
+    private final double[] deltaX;
+    private final double[] deltaY;
+    private final double[] inverseSquaredLength;
+
+    /*               GRID               */
+
+    private final double cellSize;
+    private final double gridMinX;
+    private final double gridMinY;
+    private final int columns;
+    private final int rows;
+    private final byte[] cellStates;
+    private final int[] closestEdges;
+    private final int[] cellEdgeStarts;         // where each cell's crossing edges start in cellEdges
+    private final int[] cellEdges;              // edges crossing the boundary cells, one cell after the other
+    private final byte[] references;            // reference point of each boundary cell, lying off its edges
+    private final boolean[] referencesInside;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link PolygonConstraint} constructor with a cell size following the polygon's size, its longest side being
+     * divided into {@link #DEFAULT_RESOLUTION} cells
+     * @param xs (double[]): x-coordinates of the polygon's vertices
+     * @param ys (double[]): y-coordinates of the polygon's vertices
+     */
+    public PolygonConstraint(final double[] xs, final double[] ys) {
+        this(xs, ys, defaultCellSize(xs, ys));
+    }
+
+    /**
+     * {@link PolygonConstraint} constructor
+     * @param xs (double[]): x-coordinates of the polygon's vertices
+     * @param ys (double[]): y-coordinates of the polygon's vertices
+     * @param cellSize (double): size of the grid's cells, smaller cells being more precise but taking more memory
+     */
+    public PolygonConstraint(final double[] xs, final double[] ys, final double cellSize) {
+
+        // makes sure the polygon is valid
+        if (xs.length != ys.length || xs.length < 3) {
+            final String errorMessage = "Invalid polygon with %d x-coordinates & %d y-coordinates, "
+                    + "must have at least 3 vertices";
+            throw new IllegalArgumentException(String.format(errorMessage, xs.length, ys.length));
+        }
+
+        // makes sure the cells are valid
+        if (cellSize <= 0) {
+            final String errorMessage = "Invalid cell size %f, must be greater than 0";
+            throw new IllegalArgumentException(String.format(errorMessage, cellSize));
+        }
+
+        // precomputes each edge's direction & length
+        final int edges = xs.length;
+        this.startX = xs.clone();
+        this.startY = ys.clone();
+        this.deltaX = new double[edges];
+        this.deltaY = new double[edges];
+        this.inverseSquaredLength = new double[edges];
+        for (int i = 0; i < edges; i++) {
+            final int next = (i + 1) % edges;
+            deltaX[i] = xs[next] - xs[i];
+            deltaY[i] = ys[next] - ys[i];
+            final double squaredLength = deltaX[i] * deltaX[i] + deltaY[i] * deltaY[i];
+            inverseSquaredLength[i] = squaredLength == 0 ? 0 : 1 / squaredLength;
+        }
+
+        // covers the polygon with a grid, leaving a margin around it
+        double minX = Double.MAX_VALUE, maxX = -Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < edges; i++) {
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        this.cellSize = cellSize;
+        this.gridMinX = minX - MARGIN * cellSize;
+        this.gridMinY = minY - MARGIN * cellSize;
+        this.columns = (int) Math.ceil((maxX - minX) / cellSize) + 2 * MARGIN;
+        this.rows = (int) Math.ceil((maxY - minY) / cellSize) + 2 * MARGIN;
+        this.cellStates = new byte[columns * rows];
+        this.closestEdges = new int[columns * rows];
+        this.cellEdgeStarts = new int[columns * rows + 1];
+        this.references = new byte[columns * rows];
+        this.referencesInside = new boolean[columns * rows];
+
+        this.cellEdges = rasterize();
+    }
+
+    /**
+     * Derives a cell size from the polygon's extent, so that the grid's memory does not depend on its coordinates
+     * @param xs (double[]): x-coordinates of the polygon's vertices
+     * @param ys (double[]): y-coordinates of the polygon's vertices
+     * @return (double): the size of a cell, a degenerate polygon being treated as 1 pixel wide
+     */
+    private static double defaultCellSize(final double[] xs, final double[] ys) {
+        final double extent = Math.max(range(xs), range(ys));
+        return Math.max(extent, 1) / DEFAULT_RESOLUTION;
+    }
+
+    /**
+     * Computes the distance between the smallest & largest of some coordinates
+     * @param coordinates (double[]): the coordinates
+     * @return (double): the coordinates' range, 0 if there are none
+     */
+    private static double range(final double[] coordinates) {
+        if (coordinates.length == 0) return 0;
+
+        double min = coordinates[0], max = coordinates[0];
+        for (double coordinate : coordinates) {
+            min = Math.min(min, coordinate);
+            max = Math.max(max, coordinate);
+        }
+        return max - min;
+    }
+
+    /**
+     * Classifies every cell, finds the edge closest to its center & lists the edges crossing the boundary cells
+     * @return (int[]): the edges crossing the boundary cells, one cell after the other
+     */
+    private int[] rasterize() {
+        // an edge within half a diagonal of a cell's center might cross it (slightly more, for rounding errors)
+        final double squaredReach = cellSize * cellSize / 2 * (1 + 1e-9);
+        int[] crossingEdges = new int[16];
+        int crossingCount = 0;
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                final double x = gridMinX + (column + 0.5) * cellSize;
+                final double y = gridMinY + (row + 0.5) * cellSize;
+                final int cell = row * columns + column;
+                cellEdgeStarts[cell] = crossingCount;
+
+                // closest edge to the cell's center
+                final int closest = closestEdge(x, y);
+                closestEdges[cell] = closest;
+
+                // cells the boundary does not reach lie entirely on one side of it
+                if (squaredDistanceTo(closest, x, y) > squaredReach) {
+                    cellStates[cell] = crosses(x, y) ? INSIDE : OUTSIDE;
+                    continue;
+                }
+
+                // cells the boundary might cross remember the edges crossing them
+                cellStates[cell] = BOUNDARY;
+                for (int edge = 0; edge < startX.length; edge++) {
+                    if (squaredDistanceTo(edge, x, y) > squaredReach) continue;
+                    if (crossingCount == crossingEdges.length) {
+                        crossingEdges = Arrays.copyOf(crossingEdges, crossingCount * 2);
+                    }
+                    crossingEdges[crossingCount++] = edge;
+                }
+                cellEdgeStarts[cell + 1] = crossingCount;
+
+                // along with a reference point lying off those edges, whose side is then known exactly
+                byte reference = 0;
+                final byte lastReference = (byte) (REFERENCE_X.length - 1);
+                while (reference < lastReference && isOnCellEdge(cell, column, row, reference, crossingEdges)) {
+                    reference++;
+                }
+                references[cell] = reference;
+                referencesInside[cell] = crosses(referenceX(column, reference), referenceY(row, reference));
+            }
+        }
+        cellEdgeStarts[cellStates.length] = crossingCount;
+
+        return Arrays.copyOf(crossingEdges, crossingCount);
+    }
+
+    /**
+     * Determines if one of a cell's reference points lies on one of the edges crossing the cell, used while rasterizing
+     * @param cell (int): the cell's index
+     * @param column (int): the cell's column
+     * @param row (int): the cell's row
+     * @param reference (int): the reference point's index
+     * @param crossingEdges (int[]): the edges crossing the cells rasterized so far
+     * @return (boolean): whether the reference point's side is ambiguous
+     */
+    private boolean isOnCellEdge(
+            final int cell,
+            final int column,
+            final int row,
+            final int reference,
+            final int[] crossingEdges
+    ) {
+        final double x = referenceX(column, reference);
+        final double y = referenceY(row, reference);
+        for (int i = cellEdgeStarts[cell]; i < cellEdgeStarts[cell + 1]; i++) {
+            if (isOnEdge(crossingEdges[i], x, y)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Exact even-odd containment test, used while rasterizing
+     * @param x (double): the point's x-coordinate
+     * @param y (double): the point's y-coordinate
+     * @return (boolean): whether a ray cast from the point crosses the polygon's edges an odd number of times
+     */
+    private boolean crosses(final double x, final double y) {
+        boolean inside = false;
+        for (int edge = 0; edge < startX.length; edge++) {
+            final double ay = startY[edge];
+            final double by = ay + deltaY[edge];
+            if ((ay > y) == (by > y)) continue;
+
+            final double crossingX = startX[edge] + (y - ay) / deltaY[edge] * deltaX[edge];
+            if (x < crossingX) inside = !inside;
+        }
+        return inside;
+    }
+
+    // ===================================
+    //            CONSTRAINT
+    // ===================================
+
+    @Override
+    public boolean contains(final double x, final double y) {
+
+        // the grid covers the whole polygon, & more
+        if (!isInGrid(x, y)) return false;
+
+        final int cell = cellAt(x, y);
+        switch (cellStates[cell]) {
+            case INSIDE:    return true;
+            case OUTSIDE:   return false;
+            default:        return isInBoundaryCell(cell, x, y);
+        }
+    }
+
+    /**
+     * Exact even-odd containment test for a point in a boundary cell, the point's side changing every time one of the
+     * edges crossing the cell lies between it & the cell's reference point. Since both points are in the cell, no other
+     * edge can lie between them
+     * @param cell (int): the point's cell
+     * @param x (double): the point's x-coordinate
+     * @param y (double): the point's y-coordinate
+     * @return (boolean): whether the point lies inside the polygon, or on its boundary
+     */
+    private boolean isInBoundaryCell(final int cell, final double x, final double y) {
+        final int reference = references[cell];
+        final double referenceX = referenceX(cell % columns, reference);
+        final double referenceY = referenceY(cell / columns, reference);
+        final double pathX = x - referenceX;
+        final double pathY = y - referenceY;
+
+        boolean inside = referencesInside[cell];
+        for (int i = cellEdgeStarts[cell]; i < cellEdgeStarts[cell + 1]; i++) {
+            final int edge = cellEdges[i];
+            if (isOnEdge(edge, x, y)) return true;
+
+            // the points must lie on either side of the edge...
+            if (cross(edge, x, y) > 0 == cross(edge, referenceX, referenceY) > 0) continue;
+
+            // ...and the edge's ends on either side of the path between them (ends on the path counting as lying to
+            // its right, so that a path through a vertex is counted once for both of the vertex's edges)
+            final double endX = startX[edge] + deltaX[edge];
+            final double endY = startY[edge] + deltaY[edge];
+            final boolean startSide = pathX * (startY[edge] - referenceY) - pathY * (startX[edge] - referenceX) > 0;
+            final boolean endSide = pathX * (endY - referenceY) - pathY * (endX - referenceX) > 0;
+            if (startSide != endSide) inside = !inside;
+        }
+        return inside;
+    }
+
+    @Override
+    public MutablePoint2D clamp(final MutablePoint2D point) {
+        final double x = point.getX();
+        final double y = point.getY();
+        if (contains(x, y)) return point;
+
+        // projects the point onto the closest edge, staying between its ends
+        // (points beyond the grid use the border cell they are nearest to)
+        final int edge = closestEdges[cellAt(x, y)];
+        final double progress = MathUtil.clamp(
+                ((x - startX[edge]) * deltaX[edge] + (y - startY[edge]) * deltaY[edge]) * inverseSquaredLength[edge],
+                0,
+                1
+        );
+        return point.set(startX[edge] + progress * deltaX[edge], startY[edge] + progress * deltaY[edge]);
+    }
+
+    // ===================================
+    //              HELPERS
+    // ===================================
+
+    /**
+     * Determines if a point lies within the precomputed grid
+     * @param x (double): the point's x-coordinate
+     * @param y (double): the point's y-coordinate
+     * @return (boolean): whether the point's cell has been precomputed
+     */
+    private boolean isInGrid(final double x, final double y) {
+        final double column = (x - gridMinX) / cellSize;
+        final double row = (y - gridMinY) / cellSize;
+        return column >= 0 && column < columns && row >= 0 && row < rows;
+    }
+
+    /**
+     * Finds the cell containing a point, points outside the grid belonging to the closest cell on its border
+     * @param x (double): the point's x-coordinate
+     * @param y (double): the point's y-coordinate
+     * @return (int): the cell's index
+     */
+    private int cellAt(final double x, final double y) {
+        final int column = (int) MathUtil.clamp(Math.floor((x - gridMinX) / cellSize), 0, columns - 1);
+        final int row = (int) MathUtil.clamp(Math.floor((y - gridMinY) / cellSize), 0, rows - 1);
+        return row * columns + column;
+    }
+
+    /**
+     * Computes the x-coordinate of one of the reference points tried in a cell
+     * @param column (int): the cell's column
+     * @param reference (int): the reference point's index
+     * @return (double): the reference point's x-coordinate
+     */
+    private double referenceX(final int column, final int reference) {
+        return gridMinX + (column + REFERENCE_X[reference]) * cellSize;
+    }
+
+    /**
+     * Computes the y-coordinate of one of the reference points tried in a cell
+     * @param row (int): the cell's row
+     * @param reference (int): the reference point's index
+     * @return (double): the reference point's y-coordinate
+     */
+    private double referenceY(final int row, final int reference) {
+        return gridMinY + (row + REFERENCE_Y[reference]) * cellSize;
+    }
+
+    /**
+     * Computes which side of an edge's line a point lies on
+     * @param edge (int): the edge's index
+     * @param x (double): the point's x-coordinate
+     * @param y (double): the point's y-coordinate
+     * @return (double): the cross product of the edge & the point, 0 if the point lies on the edge's line
+     */
+    private double cross(final int edge, final double x, final double y) {
+        return deltaX[edge] * (y - startY[edge]) - deltaY[edge] * (x - startX[edge]);
+    }
+
+    /**
+     * Determines if a point lies exactly on an edge
+     * @param edge (int): the edge's index
+     * @param x (double): the point's x-coordinate
+     * @param y (double): the point's y-coordinate
+     * @return (boolean): whether the point lies on the edge's line, between its ends
+     */
+    private boolean isOnEdge(final int edge, final double x, final double y) {
+        if (cross(edge, x, y) != 0) return false;
+
+        final double endX = startX[edge] + deltaX[edge];
+        final double endY = startY[edge] + deltaY[edge];
+        return x >= Math.min(startX[edge], endX) && x <= Math.max(startX[edge], endX)
+                && y >= Math.min(startY[edge], endY) && y <= Math.max(startY[edge], endY);
+    }
+
+    /**
+     * Checks every edge for the one closest to a point, used while rasterizing
+     * @param x (double): the point's x-coordinate
+     * @param y (double): the point's y-coordinate
+     * @return (int): the closest edge's index
+     */
+    private int closestEdge(final double x, final double y) {
+        int closest = 0;
+        double closestDistance = Double.MAX_VALUE;
+        for (int edge = 0; edge < startX.length; edge++) {
+            final double distance = squaredDistanceTo(edge, x, y);
+            if (distance < closestDistance) {
+                closest = edge;
+                closestDistance = distance;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Squared distance between a point and an edge
+     * @param edge (int): the edge's index
+     * @param x (double): the point's x-coordinate
+     * @param y (double): the point's y-coordinate
+     * @return (double): the squared distance to the closest point of the edge
+     */
+    private double squaredDistanceTo(final int edge, final double x, final double y) {
+        final double progress = MathUtil.clamp(
+                ((x - startX[edge]) * deltaX[edge] + (y - startY[edge]) * deltaY[edge]) * inverseSquaredLength[edge],
+                0,
+                1
+        );
+        final double dx = startX[edge] + progress * deltaX[edge] - x;
+        final double dy = startY[edge] + progress * deltaY[edge] - y;
+        return dx * dx + dy * dy;
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Getter for the number of cells in the grid
+     * @return (int): the number of precomputed cells
+     */
+    public int getCellCount() {
+        return cellStates.length;
+    }
+
+}
@@ -0,0 +1,19 @@
+package app.customControls.handlers.movementHandler;
+
+/**
+ * How a node is moved by a {@link MovementHandler} or {@link app.customControls.utilities.NodeUtil NodeUtil}
+ */
+public enum PositioningMode {
+
+    /**
+     * Moves the node through its layout position, which makes its parent lay out again after every move
+     */
+    LAYOUT,
+
+    /**
+     * Moves the node through its translation, its layout position only being updated once the move is committed. The
+     * parent does not lay out again while the node moves, which suits pointers & thumbs following the mouse
+     */
+    TRANSLATE
+
+}
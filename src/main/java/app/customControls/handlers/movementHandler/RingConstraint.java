@@ -0,0 +1,96 @@
+package app.customControls.handlers.movementHandler;
+
+/**
+ * Constrains a node's movement to the ring between two concentric circles, for example the hue ring surrounding a
+ * color picker
+ */
+public class RingConstraint implements MovementConstraint {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private final double centerX;
+    private final double centerY;
+    private final double innerRadius;
+    private final double outerRadius;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link RingConstraint} constructor
+     * @param centerX (double): x-coordinate of the ring's center
+     * @param centerY (double): y-coordinate of the ring's center
+     * @param innerRadius (double): radius of the ring's inner edge
+     * @param outerRadius (double): radius of the ring's outer edge
+     */
+    public RingConstraint(
+            final double centerX,
+            final double centerY,
+            final double innerRadius,
+            final double outerRadius
+    ) {
+
+        // makes sure the radii are valid
+        if (innerRadius < 0 || outerRadius < innerRadius) {
+            final String errorMessage = "Invalid radii [%f, %f], must be positive & in increasing order";
+            throw new IllegalArgumentException(String.format(errorMessage, innerRadius, outerRadius));
+        }
+
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.innerRadius = innerRadius;
+        this.outerRadius = outerRadius;
+    }
+
+    // ===================================
+    //            CONSTRAINT
+    // ===================================
+
+    @Override
+    public boolean contains(final double x, final double y) {
+        final double dx = x - centerX;
+        final double dy = y - centerY;
+        final double squaredDistance = dx * dx + dy * dy;
+        return squaredDistance >= innerRadius * innerRadius && squaredDistance <= outerRadius * outerRadius;
+    }
+
+    @Override
+    public MutablePoint2D clamp(final MutablePoint2D point) {
+        final double dx = point.getX() - centerX;
+        final double dy = point.getY() - centerY;
+        final double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance >= innerRadius && distance <= outerRadius) return point;
+
+        // every point of the inner circle is equally close to the center, the right-most one is picked
+        if (distance == 0) return point.set(centerX + innerRadius, centerY);
+
+        // moves the point along the line joining it to the center, onto the closest edge
+        final double targetDistance = distance < innerRadius ? innerRadius : outerRadius;
+        final double scale = targetDistance / distance;
+        return point.set(centerX + dx * scale, centerY + dy * scale);
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    public double getCenterX() {
+        return centerX;
+    }
+
+    public double getCenterY() {
+        return centerY;
+    }
+
+    public double getInnerRadius() {
+        return innerRadius;
+    }
+
+    public double getOuterRadius() {
+        return outerRadius;
+    }
+
+}
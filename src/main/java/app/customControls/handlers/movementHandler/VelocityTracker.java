@@ -0,0 +1,186 @@
+package app.customControls.handlers.movementHandler;
+
+/**
+ * Estimates the velocity of a dragged point from its most recent positions.<br>
+ * <br>
+ * Positions are recorded in a fixed-size ring buffer of primitive timestamps & coordinates, so that recording never
+ * allocates. The velocity is the slope of a least-squares line fitted through the positions recorded over the last
+ * few milliseconds, which smooths out the jitter of individual mouse events.<br>
+ * <br>
+ * <u><i>Features</i></u> :<br>
+ * <ul>
+ *     <li>allocation-free recording</li>
+ *     <li>least-squares velocity over a recent time window</li>
+ *     <li>zero velocity once the point has rested longer than the window</li>
+ * </ul>
+ */
+public class VelocityTracker {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*             CONSTANTS            */
+
+    public static final int DEFAULT_CAPACITY = 20;
+    public static final long DEFAULT_WINDOW = 100_000_000L;     // positions older than this are ignored, in nanos
+    private static final int MIN_SAMPLES = 2;
+
+    /*              BUFFER              */
+
+    private final long[] times;
+    private final double[] xs;
+    private final double[] ys;
+    private final long window;
+    private int head = 0;   // index of the next position to write
+    private int count = 0;  // number of recorded positions
+
+    /*             VELOCITY             */
+
+    private double velocityX = 0;
+    private double velocityY = 0;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link VelocityTracker} constructor with the default capacity & window
+     */
+    public VelocityTracker() {
+        this(DEFAULT_CAPACITY, DEFAULT_WINDOW);
+    }
+
+    /**
+     * {@link VelocityTracker} constructor
+     * @param capacity (int): maximum number of positions to remember
+     * @param window (long): age after which positions are ignored, in nanos
+     */
+    public VelocityTracker(final int capacity, final long window) {
+
+        // makes sure a velocity can be computed
+        if (capacity < MIN_SAMPLES) {
+            final String errorMessage = "Invalid capacity %d, must be at least %d";
+            throw new IllegalArgumentException(String.format(errorMessage, capacity, MIN_SAMPLES));
+        }
+
+        // makes sure the window is not empty
+        if (window <= 0) {
+            final String errorMessage = "Invalid window %d, must be greater than 0";
+            throw new IllegalArgumentException(String.format(errorMessage, window));
+        }
+
+        this.times = new long[capacity];
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.window = window;
+    }
+
+    // ===================================
+    //              METHODS
+    // ===================================
+
+    /**
+     * Records a position, overwriting the oldest one once the buffer is full
+     * @param time (long): time at which the point was at the position, in nanos
+     * @param x (double): the position's x-coordinate
+     * @param y (double): the position's y-coordinate
+     */
+    public void add(final long time, final double x, final double y) {
+        times[head] = time;
+        xs[head] = x;
+        ys[head] = y;
+
+        head = (head + 1) % times.length;
+        if (count < times.length) count++;
+    }
+
+    /**
+     * Forgets every recorded position
+     */
+    public void clear() {
+        head = 0;
+        count = 0;
+        velocityX = 0;
+        velocityY = 0;
+    }
+
+    /**
+     * Fits a line through the positions recorded within the window preceding a given time
+     * @param now (long): time at which the velocity is estimated, in nanos
+     * @return (boolean): whether the point was moving, the velocity being 0 otherwise
+     */
+    public boolean computeVelocity(final long now) {
+        velocityX = 0;
+        velocityY = 0;
+
+        // averages the times & positions within the window, times being relative to now to keep them small
+        int samples = 0;
+        double meanT = 0;
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < count; i++) {
+            final int index = indexOf(i);
+            if (now - times[index] > window) break;
+            meanT += (times[index] - now) / 1e9;
+            meanX += xs[index];
+            meanY += ys[index];
+            samples++;
+        }
+        if (samples < MIN_SAMPLES) return false;
+        meanT /= samples;
+        meanX /= samples;
+        meanY /= samples;
+
+        // least-squares slope of each coordinate against time
+        double covarianceX = 0;
+        double covarianceY = 0;
+        double variance = 0;
+        for (int i = 0; i < samples; i++) {
+            final int index = indexOf(i);
+            final double dt = (times[index] - now) / 1e9 - meanT;
+            covarianceX += dt * (xs[index] - meanX);
+            covarianceY += dt * (ys[index] - meanY);
+            variance += dt * dt;
+        }
+        if (variance == 0) return false;
+
+        velocityX = covarianceX / variance;
+        velocityY = covarianceY / variance;
+        return true;
+    }
+
+    /**
+     * Converts an age into an index in the buffer
+     * @param age (int): 0 for the latest position, 1 for the one before, and so on
+     * @return (int): the position's index
+     */
+    private int indexOf(final int age) {
+        return (head - 1 - age + times.length) % times.length;
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    /**
+     * Getter for the last computed velocity along the x-axis
+     * @return (double): the velocity, in units per second
+     */
+    public double getVelocityX() {
+        return velocityX;
+    }
+
+    /**
+     * Getter for the last computed velocity along the y-axis
+     * @return (double): the velocity, in units per second
+     */
+    public double getVelocityY() {
+        return velocityY;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+}
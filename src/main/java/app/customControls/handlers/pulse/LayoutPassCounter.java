@@ -0,0 +1,115 @@
+package app.customControls.handlers.pulse;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Parent;
+
+/**
+ * Counts how often a {@link Parent} is marked as needing layout, and how many pulses have passed meanwhile.<br>
+ * <br>
+ * A parent is laid out at most once per pulse, and only if it was marked as needing layout beforehand, so the number of
+ * times it gets marked gives the number of layout passes it goes through. Dividing it by the number of pulses shows how
+ * much layout work moving its children costs per frame, for example to compare the
+ * {@link app.customControls.handlers.movementHandler.PositioningMode positioning modes}.<br>
+ * <br>
+ * <u><i>Features</i></u> :<br>
+ * <ul>
+ *     <li>layout pass counter</li>
+ *     <li>pulse counter, while started</li>
+ *     <li>layout passes per frame</li>
+ * </ul>
+ * @implNote must be used from the JavaFX application thread
+ */
+public class LayoutPassCounter {
+
+    // ===================================
+    //               FIELDS
+    // ===================================
+
+    private final Parent parent;
+    private final ChangeListener<Boolean> layoutListener;
+    private final AnimationTimer pulseCounter;
+
+    /*             COUNTERS             */
+
+    private long layoutPassCount = 0;
+    private long pulseCount = 0;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link LayoutPassCounter} constructor, which starts counting layout passes straight away
+     * @param parent ({@link Parent}): the parent whose layout passes are counted
+     */
+    public LayoutPassCounter(final Parent parent) {
+        this.parent = parent;
+        this.layoutListener = (value, wasNeeded, isNeeded) -> {
+            if (isNeeded) layoutPassCount++;
+        };
+        this.pulseCounter = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                pulseCount++;
+            }
+        };
+
+        parent.needsLayoutProperty().addListener(layoutListener);
+    }
+
+    // ===================================
+    //              METHODS
+    // ===================================
+
+    /**
+     * Starts counting pulses
+     */
+    public void start() {
+        pulseCounter.start();
+    }
+
+    /**
+     * Stops counting pulses
+     */
+    public void stop() {
+        pulseCounter.stop();
+    }
+
+    /**
+     * Resets both counters
+     */
+    public void reset() {
+        layoutPassCount = 0;
+        pulseCount = 0;
+    }
+
+    /**
+     * Stops counting entirely
+     */
+    public void dispose() {
+        stop();
+        parent.needsLayoutProperty().removeListener(layoutListener);
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    public long getLayoutPassCount() {
+        return layoutPassCount;
+    }
+
+    public long getPulseCount() {
+        return pulseCount;
+    }
+
+    /**
+     * Average number of layout passes per pulse
+     * @return (double): layout passes per frame, 0 if no pulse has been counted
+     */
+    public double getLayoutPassesPerFrame() {
+        return pulseCount == 0 ? 0 : (double) layoutPassCount / pulseCount;
+    }
+
+}
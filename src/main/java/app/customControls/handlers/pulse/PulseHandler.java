@@ -0,0 +1,113 @@
+package app.customControls.handlers.pulse;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * Runs a task at most once per JavaFX pulse. Any number of requests made before the next pulse are folded into
+ * a single run of the task, which happens before the pulse's layout & rendering.<br>
+ * <br>
+ * The underlying timer keeps running as long as requests keep coming, and only stops after a pulse without any
+ * request, since restarting an {@link AnimationTimer} allocates
+ */
+public class PulseHandler {
+
+    // ===================================
+    //               FIELDS
+    // ===================================
+
+    private final Runnable task;
+    private final AnimationTimer timer;
+    private boolean requested = false;
+
+    /*             COUNTERS             */
+
+    private long requestCount = 0;          // requests received since creation
+    private long runCount = 0;              // runs of the task since creation
+    private int pendingRequests = 0;        // requests received since the last run
+    private int lastFoldedRequests = 0;     // requests folded into the last run
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    public PulseHandler(final Runnable task) {
+        this.task = task;
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (requested) flush();
+                else stop();
+            }
+        };
+    }
+
+    // ===================================
+    //              METHODS
+    // ===================================
+
+    /**
+     * Requests for the task to be run on the next pulse
+     * @implNote must be called from the JavaFX application thread
+     */
+    public void request() {
+        requestCount++;
+        pendingRequests++;
+
+        if (requested) return;
+        requested = true;
+        timer.start();  // (does nothing while the timer is still running)
+    }
+
+    /**
+     * Immediately runs the task if a request is pending, instead of waiting for the next pulse
+     */
+    public void flush() {
+        if (!requested) return;
+
+        requested = false;
+
+        runCount++;
+        lastFoldedRequests = pendingRequests;
+        pendingRequests = 0;
+
+        task.run();
+    }
+
+    /**
+     * Discards any pending request without running the task
+     */
+    public void cancel() {
+        timer.stop();
+        requested = false;
+        pendingRequests = 0;
+    }
+
+    public boolean isRequested() {
+        return requested;
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public long getRunCount() {
+        return runCount;
+    }
+
+    public int getLastFoldedRequests() {
+        return lastFoldedRequests;
+    }
+
+    /**
+     * Average number of requests folded into each run of the task
+     * @return (double): requests per run, 0 if the task has never run
+     */
+    public double getAverageFoldedRequests() {
+        return runCount == 0 ? 0 : (double) (requestCount - pendingRequests) / runCount;
+    }
+
+}
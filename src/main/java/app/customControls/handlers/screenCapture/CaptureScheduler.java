@@ -0,0 +1,200 @@
+package app.customControls.handlers.screenCapture;
+
+import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
+import javafx.event.EventHandler;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+import javafx.util.Duration;
+
+/**
+ * Decides when the screen can first be captured after a window has been hidden, so that the window does not show up
+ * in the capture.<br>
+ * <br>
+ * Instead of waiting for a fixed delay, the scheduler waits for the window's {@link WindowEvent#WINDOW_HIDDEN hidden}
+ * event, then for a few rendering pulses so that the new frame without the window reaches the screen, and fires as
+ * soon as they have passed. A timeout only acts as a fallback in case the event or the pulses never come.<br>
+ * <br>
+ * <u><i>Features</i></u> :<br>
+ * <ul>
+ *     <li>fires on the first frames following the window's disappearance</li>
+ *     <li>fallback timeout</li>
+ *     <li>time-to-ready metric & counts of how often each trigger fired</li>
+ * </ul>
+ * @implNote must be used from the JavaFX application thread
+ */
+public class CaptureScheduler {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*             CONSTANTS            */
+
+    public static final int DEFAULT_FRAMES = 2;                         // the first pulse only renders the change
+    public static final Duration DEFAULT_TIMEOUT = Duration.millis(250);
+
+    /*              TIMING              */
+
+    private final int frames;
+    private final AnimationTimer frameCounter;
+    private final PauseTransition timeout;
+    private int remainingFrames = 0;
+
+    /*               STATE              */
+
+    private Window hiddenWindow;        // window whose disappearance is awaited
+    private Runnable onReady;
+    private boolean armed = false;
+    private long armTime = 0;
+
+    /*             LISTENERS            */
+
+    private final EventHandler<WindowEvent> hiddenListener;
+
+    /*             METRICS              */
+
+    private long pulseReadyCount = 0;
+    private long timeoutReadyCount = 0;
+    private double lastTimeToReady = 0;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link CaptureScheduler} constructor with the default number of frames & timeout
+     */
+    public CaptureScheduler() {
+        this(DEFAULT_FRAMES, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * {@link CaptureScheduler} constructor
+     * @param frames (int): number of pulses to wait for once the window is hidden
+     * @param timeout ({@link Duration}): delay after which the scheduler fires no matter what
+     */
+    public CaptureScheduler(final int frames, final Duration timeout) {
+
+        // makes sure at least one frame is awaited
+        if (frames <= 0) {
+            final String errorMessage = "Invalid frame count %d, must be greater than 0";
+            throw new IllegalArgumentException(String.format(errorMessage, frames));
+        }
+
+        this.frames = frames;
+        this.frameCounter = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                countFrame();
+            }
+        };
+        this.timeout = new PauseTransition(timeout);
+        this.timeout.setOnFinished(actionEvent -> {
+            if (!armed) return;
+            timeoutReadyCount++;
+            fire();
+        });
+        this.hiddenListener = windowEvent -> startCountingFrames();
+    }
+
+    // ===================================
+    //              METHODS
+    // ===================================
+
+    /**
+     * Waits for a window to be hidden before running a task. Must be called before hiding the window
+     * @param window ({@link Window}): the window about to be hidden, or null if there is nothing to wait for
+     * @param onReady ({@link Runnable}): task run once the screen can be captured
+     */
+    public void arm(final Window window, final Runnable onReady) {
+        cancel();
+
+        this.onReady = onReady;
+        this.armed = true;
+        this.armTime = System.nanoTime();
+
+        // waits for the window to disappear, or only for the next frames if it is not showing
+        if (window != null && window.isShowing()) {
+            hiddenWindow = window;
+            hiddenWindow.addEventHandler(WindowEvent.WINDOW_HIDDEN, hiddenListener);
+        } else {
+            startCountingFrames();
+        }
+
+        timeout.playFromStart();
+    }
+
+    /**
+     * Stops waiting without running the task
+     */
+    public void cancel() {
+        armed = false;
+        onReady = null;
+        frameCounter.stop();
+        timeout.stop();
+        releaseWindow();
+    }
+
+    /**
+     * Starts counting the pulses which follow the window's disappearance
+     */
+    private void startCountingFrames() {
+        releaseWindow();
+        remainingFrames = frames;
+        frameCounter.start();
+    }
+
+    /**
+     * Counts a pulse, firing once enough have passed
+     */
+    private void countFrame() {
+        if (--remainingFrames > 0) return;
+        pulseReadyCount++;
+        fire();
+    }
+
+    /**
+     * Runs the task & records how long it took for the screen to be ready
+     */
+    private void fire() {
+        final Runnable task = onReady;
+        lastTimeToReady = (System.nanoTime() - armTime) / 1e6;
+        cancel();
+        if (task != null) task.run();
+    }
+
+    /**
+     * Stops listening to the awaited window
+     */
+    private void releaseWindow() {
+        if (hiddenWindow == null) return;
+        hiddenWindow.removeEventHandler(WindowEvent.WINDOW_HIDDEN, hiddenListener);
+        hiddenWindow = null;
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    public boolean isArmed() {
+        return armed;
+    }
+
+    /**
+     * Getter for the time taken by the last wait
+     * @return (double): time between arming & firing, in milliseconds
+     */
+    public double getLastTimeToReady() {
+        return lastTimeToReady;
+    }
+
+    public long getPulseReadyCount() {
+        return pulseReadyCount;
+    }
+
+    public long getTimeoutReadyCount() {
+        return timeoutReadyCount;
+    }
+
+}
@@ -0,0 +1,52 @@
+package app.customControls.handlers.screenCapture;
+
+/**
+ * Source of screen pixels for a {@link TiledScreenCapture}. Implemented by {@link RobotCaptureSource} to read the actual
+ * screen, and by {@link SyntheticCaptureSource} to serve an in-memory screen without a display.<br>
+ * <br>
+ * A source covers the rectangle going from ({@link #getMinX()}, {@link #getMinY()}) to ({@link #getMinX()} +
+ * {@link #getWidth()}, {@link #getMinY()} + {@link #getHeight()}) in screen coordinates, secondary screens possibly
+ * lying at negative coordinates
+ */
+public interface CaptureSource {
+
+    /**
+     * Getter for the x-coordinate of the captured screen's left edge
+     * @return (int): the screen's left edge, 0 for the primary screen
+     */
+    default int getMinX() {
+        return 0;
+    }
+
+    /**
+     * Getter for the y-coordinate of the captured screen's top edge
+     * @return (int): the screen's top edge, 0 for the primary screen
+     */
+    default int getMinY() {
+        return 0;
+    }
+
+    /**
+     * Getter for the width of the captured screen
+     * @return (int): the screen's width in pixels
+     */
+    int getWidth();
+
+    /**
+     * Getter for the height of the captured screen
+     * @return (int): the screen's height in pixels
+     */
+    int getHeight();
+
+    /**
+     * Captures a region of the screen
+     * @param x (int): x-coordinate of the region's top-left corner, in screen coordinates
+     * @param y (int): y-coordinate of the region's top-left corner, in screen coordinates
+     * @param width (int): width of the region
+     * @param height (int): height of the region
+     * @param target (int[]): receives the region's pixels as argb codes, row after row, with a stride of width
+     * @implNote the region is always fully contained inside the screen
+     */
+    void capture(int x, int y, int width, int height, int[] target);
+
+}
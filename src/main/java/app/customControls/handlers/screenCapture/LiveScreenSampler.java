@@ -0,0 +1,335 @@
+package app.customControls.handlers.screenCapture;
+
+import javafx.animation.AnimationTimer;
+
+import java.nio.IntBuffer;
+
+/**
+ * Continuously samples a small square region of the screen around a point, at most once per JavaFX pulse, so that
+ * colors under videos or animations stay up to date without ever capturing the whole screen.<br>
+ * <br>
+ * Each sample is written into the same reusable buffer. The time taken by each capture is measured, and the delay
+ * between samples adapts so that capturing never takes up more than a set share of the time : fast captures are
+ * repeated every pulse, while slow ones are spaced out.<br>
+ * <br>
+ * <u><i>Features</i></u> :<br>
+ * <ul>
+ *     <li>reusable sample buffer, no allocation per sample</li>
+ *     <li>constant time averages over square areas, through a summed-area table built at most once per sample</li>
+ *     <li>sampling rate adapting to the measured capture latency</li>
+ *     <li>achieved samples per second & average capture latency metrics</li>
+ * </ul>
+ * @implNote must be used from the JavaFX application thread
+ */
+public class LiveScreenSampler {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*             CONSTANTS            */
+
+    public static final int DEFAULT_RADIUS = 4;
+    private static final double CAPTURE_BUDGET = .25;           // maximum share of the time spent capturing
+    private static final long MAX_INTERVAL = 250_000_000L;      // slowest sampling rate (4 samples per second)
+    private static final double LATENCY_SMOOTHING = .2;         // weight of the latest capture in the average latency
+    private static final long RATE_WINDOW = 1_000_000_000L;     // window over which the sample rate is measured
+
+    /*              SOURCE              */
+
+    private final CaptureSource source;
+    private final int radius;
+    private final int size;
+    private final int[] pixels;
+    private final IntBuffer samples;    // read-only view of the pixels, shared with every caller
+    private final int[] sums;           // summed-area table interleaving the red, green & blue sums
+    private boolean sumsValid = false;  // whether the table matches the last sample
+
+    /*             POSITION             */
+
+    private int centerX = 0;
+    private int centerY = 0;
+    private int sampledColumn = 0;      // position of the center inside the last sampled region
+    private int sampledRow = 0;
+
+    /*              TIMING              */
+
+    private final AnimationTimer timer;
+    private long lastSample = 0;
+    private long interval = 0;              // delay between samples, in nanoseconds
+    private double averageLatency = 0;      // smoothed capture latency, in nanoseconds
+
+    /*             METRICS              */
+
+    private long sampleCount = 0;
+    private long windowStart = 0;
+    private int windowSamples = 0;
+    private double samplesPerSecond = 0;
+
+    /*             LISTENERS            */
+
+    private Runnable onSample;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link LiveScreenSampler} constructor with the default sampling radius
+     * @param source ({@link CaptureSource}): the source of the screen's pixels
+     */
+    public LiveScreenSampler(final CaptureSource source) {
+        this(source, DEFAULT_RADIUS);
+    }
+
+    /**
+     * {@link LiveScreenSampler} constructor
+     * @param source ({@link CaptureSource}): the source of the screen's pixels
+     * @param radius (int): number of pixels sampled on each side of the center
+     */
+    public LiveScreenSampler(final CaptureSource source, final int radius) {
+
+        // makes sure the radius is valid
+        if (radius < 0) {
+            final String errorMessage = "Invalid radius %d, must be positive";
+            throw new IllegalArgumentException(String.format(errorMessage, radius));
+        }
+
+        this.source = source;
+        this.radius = radius;
+        this.size = radius * 2 + 1;
+        this.pixels = new int[size * size];
+        this.samples = IntBuffer.wrap(pixels).asReadOnlyBuffer();
+        this.sums = new int[(size + 1) * (size + 1) * 3];
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                handlePulse(now);
+            }
+        };
+    }
+
+    // ===================================
+    //              METHODS
+    // ===================================
+
+    /**
+     * Starts sampling the screen on every pulse
+     */
+    public void start() {
+        lastSample = 0;
+        windowStart = 0;
+        windowSamples = 0;
+        timer.start();
+    }
+
+    /**
+     * Stops sampling the screen
+     */
+    public void stop() {
+        timer.stop();
+    }
+
+    /**
+     * Moves the center of the sampled region
+     * @param x (double): x-coordinate of the center on the screen
+     * @param y (double): y-coordinate of the center on the screen
+     */
+    public void setPosition(final double x, final double y) {
+        centerX = (int) Math.floor(x);
+        centerY = (int) Math.floor(y);
+    }
+
+    /**
+     * Samples the screen if enough time has elapsed since the last sample
+     * @param now (long): the pulse's timestamp, in nanoseconds
+     */
+    private void handlePulse(final long now) {
+
+        // waits for the adaptive delay between samples
+        if (lastSample != 0 && now - lastSample < interval) return;
+        lastSample = now;
+
+        sample();
+        updateRate(now);
+
+        if (onSample != null) onSample.run();
+    }
+
+    /**
+     * Captures the region around the center & adapts the delay between samples to the time it took
+     */
+    private void sample() {
+
+        // keeps the region inside the screen
+        final int maxX = source.getMinX() + source.getWidth() - size;
+        final int maxY = source.getMinY() + source.getHeight() - size;
+        final int x = Math.max(source.getMinX(), Math.min(maxX, centerX - radius));
+        final int y = Math.max(source.getMinY(), Math.min(maxY, centerY - radius));
+
+        // captures the region, measuring how long it takes
+        final long start = System.nanoTime();
+        source.capture(x, y, size, size, pixels);
+        final long latency = System.nanoTime() - start;
+        sumsValid = false;
+
+        // the region shifts away from the center along the edges of the screen
+        sampledColumn = Math.max(0, Math.min(size - 1, centerX - x));
+        sampledRow = Math.max(0, Math.min(size - 1, centerY - y));
+
+        // spaces out samples so that capturing stays within its share of the time
+        averageLatency = sampleCount == 0
+                ? latency
+                : averageLatency + (latency - averageLatency) * LATENCY_SMOOTHING;
+        interval = Math.min(MAX_INTERVAL, (long) (averageLatency / CAPTURE_BUDGET - averageLatency));
+
+        sampleCount++;
+    }
+
+    /**
+     * Updates the number of samples achieved per second
+     * @param now (long): the current time, in nanoseconds
+     */
+    private void updateRate(final long now) {
+        if (windowStart == 0) windowStart = now;
+        windowSamples++;
+
+        final long elapsed = now - windowStart;
+        if (elapsed >= RATE_WINDOW) {
+            samplesPerSecond = windowSamples * 1e9 / elapsed;
+            windowStart = now;
+            windowSamples = 0;
+        }
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    /**
+     * Getter for the last sampled region
+     * @return ({@link IntBuffer}): read-only view of the region's argb codes, row after row
+     * @implNote the buffer is shared & overwritten by each sample, so it should only be read with absolute gets
+     */
+    public IntBuffer getSamples() {
+        return samples;
+    }
+
+    /**
+     * Getter for the color at the center of the last sampled region
+     * @return (int): the center's argb code
+     */
+    public int getCenterArgb() {
+        return pixels[sampledRow * size + sampledColumn];
+    }
+
+    /**
+     * Averages the colors of a square area around the center of the last sampled region, in constant time
+     * @param areaRadius (int): number of pixels on each side of the center, limited to the sampler's radius
+     * @return (int): the opaque argb code of the average color
+     */
+    public int getAverageArgb(final int areaRadius) {
+        if (areaRadius <= 0) return getCenterArgb();
+        if (!sumsValid) buildSums();
+
+        // clips the area to the sampled region, the table's rows & columns being offset by one
+        final int stride = size + 1;
+        final int x0 = Math.max(0, sampledColumn - areaRadius);
+        final int y0 = Math.max(0, sampledRow - areaRadius);
+        final int x1 = Math.min(size - 1, sampledColumn + areaRadius) + 1;
+        final int y1 = Math.min(size - 1, sampledRow + areaRadius) + 1;
+
+        final int bottomRight = (y1 * stride + x1) * 3;
+        final int topRight = (y0 * stride + x1) * 3;
+        final int bottomLeft = (y1 * stride + x0) * 3;
+        final int topLeft = (y0 * stride + x0) * 3;
+        final int count = (x1 - x0) * (y1 - y0);
+        final int red = sums[bottomRight] - sums[topRight] - sums[bottomLeft] + sums[topLeft];
+        final int green = sums[bottomRight + 1] - sums[topRight + 1] - sums[bottomLeft + 1] + sums[topLeft + 1];
+        final int blue = sums[bottomRight + 2] - sums[topRight + 2] - sums[bottomLeft + 2] + sums[topLeft + 2];
+
+        return 0xFF000000
+                | (red + count / 2) / count << 16
+                | (green + count / 2) / count << 8
+                | (blue + count / 2) / count;
+    }
+
+    /**
+     * Copies a square block of the last sampled region, centered on the sampled center
+     * @param blockSize (int): the block's width & height
+     * @param target (int[]): array receiving the block's argb codes, row after row
+     * @implNote pixels outside the sampled region are clamped to its edges
+     */
+    public void copyBlock(final int blockSize, final int[] target) {
+        final int firstColumn = sampledColumn - blockSize / 2;
+        final int firstRow = sampledRow - blockSize / 2;
+
+        for (int row = 0; row < blockSize; row++) {
+            final int offset = Math.max(0, Math.min(size - 1, firstRow + row)) * size;
+            for (int column = 0; column < blockSize; column++) {
+                target[row * blockSize + column] = pixels[offset + Math.max(0, Math.min(size - 1, firstColumn + column))];
+            }
+        }
+    }
+
+    /**
+     * Builds the summed-area table of the last sample, in which each entry holds the sum of every pixel above & to
+     * the left of it
+     */
+    private void buildSums() {
+        final int stride = (size + 1) * 3;
+
+        // the first row & column stay at 0, each following row adds its running sum to the row above
+        for (int row = 1; row <= size; row++) {
+            int red = 0;
+            int green = 0;
+            int blue = 0;
+            for (int column = 1; column <= size; column++) {
+                final int argb = pixels[(row - 1) * size + column - 1];
+                red += (argb >> 16) & 0xFF;
+                green += (argb >> 8) & 0xFF;
+                blue += argb & 0xFF;
+
+                final int index = row * stride + column * 3;
+                sums[index] = sums[index - stride] + red;
+                sums[index + 1] = sums[index + 1 - stride] + green;
+                sums[index + 2] = sums[index + 2 - stride] + blue;
+            }
+        }
+
+        sumsValid = true;
+    }
+
+    public void setOnSample(final Runnable onSample) {
+        this.onSample = onSample;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    public int getRegionSize() {
+        return size;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Getter for the number of samples achieved over the last second
+     * @return (double): samples per second
+     */
+    public double getSamplesPerSecond() {
+        return samplesPerSecond;
+    }
+
+    /**
+     * Getter for the average time taken by a capture
+     * @return (double): the smoothed capture latency, in milliseconds
+     */
+    public double getAverageLatency() {
+        return averageLatency / 1e6;
+    }
+
+}
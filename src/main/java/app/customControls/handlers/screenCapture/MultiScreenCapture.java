@@ -0,0 +1,346 @@
+package app.customControls.handlers.screenCapture;
+
+import javafx.geometry.Rectangle2D;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Captures every screen of a multi-screen layout, each one through its own {@link TiledScreenCapture}.<br>
+ * <br>
+ * A screen's {@link CaptureSource} & tile cache are only created the first time a pixel inside it is requested, so a
+ * screen the mouse never visits is never captured, and each screen keeps its own memory-bounded cache. The sources are
+ * created by a pluggable factory, which allows replacing the actual screens by synthetic ones.<br>
+ * <br>
+ * The capture is itself a {@link CaptureSource} spanning the union of the screens, so that a region overlapping
+ * several screens can be captured in one call (pixels lying between screens are transparent).<br>
+ * <br>
+ * <u><i>Features</i></u> :<br>
+ * <ul>
+ *     <li>lazy, per-screen capture & cache</li>
+ *     <li>pluggable screen sources</li>
+ *     <li>screen coordinates throughout, including negative coordinates of secondary screens</li>
+ *     <li>entered screens & aggregated capture counters</li>
+ * </ul>
+ * @implNote must be accessed from the thread its {@link CaptureSource CaptureSources} require (the JavaFX application
+ * thread for {@link RobotCaptureSource RobotCaptureSources})
+ */
+public class MultiScreenCapture implements CaptureSource {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*              SOURCES             */
+
+    private final Function<Rectangle2D, CaptureSource> sourceFactory;
+    private final List<ScreenCapture> screens = new ArrayList<>();
+
+    /*              BOUNDS              */
+
+    private int minX;
+    private int minY;
+    private int maxX;
+    private int maxY;
+
+    /*              BUFFERS             */
+
+    private int[] spare;    // pixels of the last part captured across screens, reused by the next one
+
+    /*             COUNTERS             */
+
+    private long enteredScreenCount = 0;
+
+    /**
+     * Screen of the layout, along with its capture once it has been entered
+     */
+    private static final class ScreenCapture {
+        private final Rectangle2D bounds;
+        private TiledScreenCapture capture;     // null until a pixel of the screen is first requested
+
+        private ScreenCapture(final Rectangle2D bounds) {
+            this.bounds = bounds;
+        }
+    }
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link MultiScreenCapture} constructor for a single screen
+     * @param source ({@link CaptureSource}): the screen's source
+     */
+    public MultiScreenCapture(final CaptureSource source) {
+        this(
+                List.of(new Rectangle2D(source.getMinX(), source.getMinY(), source.getWidth(), source.getHeight())),
+                bounds -> source
+        );
+    }
+
+    /**
+     * {@link MultiScreenCapture} constructor
+     * @param screens ({@link List}): the bounds of each screen, in screen coordinates
+     * @param sourceFactory ({@link Function}): creates the source capturing the screen with the given bounds
+     */
+    public MultiScreenCapture(final List<Rectangle2D> screens, final Function<Rectangle2D, CaptureSource> sourceFactory) {
+        this.sourceFactory = sourceFactory;
+        setScreens(screens);
+    }
+
+    // ===================================
+    //              LAYOUT
+    // ===================================
+
+    /**
+     * Replaces the screen layout, discarding every capture if the layout changed
+     * @param newScreens ({@link List}): the bounds of each screen, in screen coordinates
+     */
+    public void setScreens(final List<Rectangle2D> newScreens) {
+
+        // makes sure there is at least one screen
+        if (newScreens.isEmpty()) {
+            throw new IllegalArgumentException("Invalid screen layout, must contain at least one screen");
+        }
+
+        // keeps the current captures if the layout did not change
+        if (newScreens.equals(getScreens())) return;
+
+        screens.clear();
+        minX = Integer.MAX_VALUE;
+        minY = Integer.MAX_VALUE;
+        maxX = Integer.MIN_VALUE;
+        maxY = Integer.MIN_VALUE;
+
+        // computes the union of the screens
+        for (Rectangle2D bounds : newScreens) {
+            screens.add(new ScreenCapture(bounds));
+            minX = Math.min(minX, (int) bounds.getMinX());
+            minY = Math.min(minY, (int) bounds.getMinY());
+            maxX = Math.max(maxX, (int) bounds.getMaxX());
+            maxY = Math.max(maxY, (int) bounds.getMaxY());
+        }
+    }
+
+    /**
+     * Getter for the screen layout
+     * @return ({@link List}): the bounds of each screen
+     */
+    public List<Rectangle2D> getScreens() {
+        final List<Rectangle2D> bounds = new ArrayList<>(screens.size());
+        for (ScreenCapture screen : screens) bounds.add(screen.bounds);
+        return bounds;
+    }
+
+    /**
+     * Retrieves the bounds of the screen containing a point, or of the closest screen if no screen contains it
+     * @param x (double): the point's x-coordinate on the screen
+     * @param y (double): the point's y-coordinate on the screen
+     * @return (Rectangle2D): the screen's bounds
+     */
+    public Rectangle2D getScreenBounds(final double x, final double y) {
+        return screenAt(x, y).bounds;
+    }
+
+    /**
+     * Retrieves the screen containing a point, or the closest screen if no screen contains it
+     * @param x (double): the point's x-coordinate on the screen
+     * @param y (double): the point's y-coordinate on the screen
+     * @return (ScreenCapture): the screen
+     */
+    private ScreenCapture screenAt(final double x, final double y) {
+        ScreenCapture closest = screens.get(0);
+        double closestDistance = Double.MAX_VALUE;
+
+        for (int i = 0; i < screens.size(); i++) {
+            final ScreenCapture screen = screens.get(i);
+            final Rectangle2D bounds = screen.bounds;
+            if (bounds.contains(x, y)) return screen;
+
+            // distance from the point to the screen's edges
+            final double dx = Math.max(0, Math.max(bounds.getMinX() - x, x - bounds.getMaxX()));
+            final double dy = Math.max(0, Math.max(bounds.getMinY() - y, y - bounds.getMaxY()));
+            final double distance = dx * dx + dy * dy;
+            if (distance < closestDistance) {
+                closest = screen;
+                closestDistance = distance;
+            }
+        }
+
+        return closest;
+    }
+
+    /**
+     * Retrieves a screen's capture, creating its source & cache the first time the screen is entered
+     * @param screen (ScreenCapture): the screen
+     * @return (TiledScreenCapture): the screen's capture
+     */
+    private TiledScreenCapture captureOf(final ScreenCapture screen) {
+        if (screen.capture == null) {
+            screen.capture = new TiledScreenCapture(sourceFactory.apply(screen.bounds));
+            enteredScreenCount++;
+        }
+        return screen.capture;
+    }
+
+    // ===================================
+    //              PIXELS
+    // ===================================
+
+    /**
+     * Reads the color of a pixel on the screen containing it
+     * @param x (double): the pixel's x-coordinate on the screen
+     * @param y (double): the pixel's y-coordinate on the screen
+     * @return (int): the pixel's argb code
+     * @see TiledScreenCapture#getArgb(double, double)
+     */
+    public int getArgb(final double x, final double y) {
+        return captureOf(screenAt(x, y)).getArgb(x, y);
+    }
+
+    /**
+     * Averages the colors of a square area on the screen containing its center, the rest of the area being ignored
+     * @param x (double): x-coordinate of the area's center on the screen
+     * @param y (double): y-coordinate of the area's center on the screen
+     * @param radius (int): number of pixels on each side of the center
+     * @return (int): the opaque argb code of the average color
+     * @see TiledScreenCapture#getAverageArgb(double, double, int)
+     */
+    public int getAverageArgb(final double x, final double y, final int radius) {
+        return captureOf(screenAt(x, y)).getAverageArgb(x, y, radius);
+    }
+
+    /**
+     * Copies a rectangular block of pixels from the screen containing its center
+     * @param x (int): x-coordinate of the block's top-left corner on the screen
+     * @param y (int): y-coordinate of the block's top-left corner on the screen
+     * @param width (int): the block's width
+     * @param height (int): the block's height
+     * @param target (int[]): array receiving the block's argb codes, row after row
+     * @see TiledScreenCapture#copy(int, int, int, int, int[])
+     */
+    public void copy(final int x, final int y, final int width, final int height, final int[] target) {
+        captureOf(screenAt(x + width / 2, y + height / 2)).copy(x, y, width, height, target);
+    }
+
+    /**
+     * Records the mouse's new position, prefetching tiles on the screen it is on
+     * @param x (double): the mouse's x-coordinate on the screen
+     * @param y (double): the mouse's y-coordinate on the screen
+     */
+    public void track(final double x, final double y) {
+        captureOf(screenAt(x, y)).track(x, y);
+    }
+
+    /**
+     * Discards the tiles of every entered screen, for example once the screens' content has changed
+     */
+    public void invalidate() {
+        for (ScreenCapture screen : screens) {
+            if (screen.capture != null) screen.capture.invalidate();
+        }
+    }
+
+    // ===================================
+    //           CAPTURE SOURCE
+    // ===================================
+
+    @Override
+    public void capture(final int x, final int y, final int width, final int height, final int[] target) {
+
+        // pixels between screens stay transparent
+        final boolean spansSeveralScreens = !screenAt(x, y).bounds.contains(x, y, width, height);
+        if (spansSeveralScreens) Arrays.fill(target, 0, width * height, 0);
+
+        // copies the part of the region lying on each screen it overlaps
+        for (ScreenCapture screen : screens) {
+            final int left = Math.max(x, (int) screen.bounds.getMinX());
+            final int top = Math.max(y, (int) screen.bounds.getMinY());
+            final int right = Math.min(x + width, (int) screen.bounds.getMaxX());
+            final int bottom = Math.min(y + height, (int) screen.bounds.getMaxY());
+            if (left >= right || top >= bottom) continue;
+
+            // the whole region lies on this screen, it can be captured straight into the target
+            final TiledScreenCapture capture = captureOf(screen);
+            if (!spansSeveralScreens) {
+                capture.getSource().capture(x, y, width, height, target);
+                return;
+            }
+
+            // otherwise captures the overlapping part & copies it into place
+            final int partWidth = right - left;
+            final int partHeight = bottom - top;
+            final int[] part = spareFor(partWidth * partHeight);
+            capture.getSource().capture(left, top, partWidth, partHeight, part);
+            for (int row = 0; row < partHeight; row++) {
+                System.arraycopy(part, row * partWidth, target, (top - y + row) * width + left - x, partWidth);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the buffer reused by every part captured across screens, only growing it when a part is larger
+     * @param length (int): the number of pixels of the part
+     * @return (int[]): a buffer holding at least length pixels
+     */
+    private int[] spareFor(final int length) {
+        if (spare == null || spare.length < length) spare = new int[length];
+        return spare;
+    }
+
+    @Override
+    public int getMinX() {
+        return minX;
+    }
+
+    @Override
+    public int getMinY() {
+        return minY;
+    }
+
+    @Override
+    public int getWidth() {
+        return maxX - minX;
+    }
+
+    @Override
+    public int getHeight() {
+        return maxY - minY;
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    /**
+     * Getter for the number of screens which have been captured at least once
+     * @return (long): the number of screen sources created
+     */
+    public long getEnteredScreenCount() {
+        return enteredScreenCount;
+    }
+
+    /**
+     * Getter for the total number of tiles captured across every screen
+     * @return (long): the number of tile captures
+     */
+    public long getCaptureCount() {
+        long count = 0;
+        for (ScreenCapture screen : screens) {
+            if (screen.capture != null) count += screen.capture.getCaptureCount();
+        }
+        return count;
+    }
+
+    /**
+     * Getter for the capture of a screen, if it has been entered
+     * @param index (int): the screen's index in the layout
+     * @return (TiledScreenCapture): the screen's capture, or null if the screen has not been entered yet
+     */
+    public TiledScreenCapture getScreenCapture(final int index) {
+        return screens.get(index).capture;
+    }
+
+}
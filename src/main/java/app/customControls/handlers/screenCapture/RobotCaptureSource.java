@@ -0,0 +1,88 @@
+package app.customControls.handlers.screenCapture;
+
+import app.customControls.handlers.input.InputSampler;
+import app.customControls.utilities.ScreenUtil;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.robot.Robot;
+
+/**
+ * {@link CaptureSource} reading a screen through a JavaFX {@link Robot}
+ * @implNote must be used from the JavaFX application thread
+ */
+public class RobotCaptureSource implements CaptureSource {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private final Robot robot;
+    private final Rectangle2D bounds;   // the captured screen's bounds, in screen coordinates
+    private WritableImage buffer;           // reused between captures of the same size
+    private WritableImage previousBuffer;   // kept for callers alternating between tiles & whole screens
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link RobotCaptureSource} constructor capturing the primary screen
+     */
+    public RobotCaptureSource() {
+        this(ScreenUtil.getScreenSize());
+    }
+
+    /**
+     * {@link RobotCaptureSource} constructor
+     * @param bounds ({@link Rectangle2D}): the bounds of the screen to capture, in screen coordinates
+     */
+    public RobotCaptureSource(final Rectangle2D bounds) {
+        this.robot = InputSampler.getShared().getRobot();
+        this.bounds = bounds;
+    }
+
+    // ===================================
+    //              METHODS
+    // ===================================
+
+    @Override
+    public void capture(final int x, final int y, final int width, final int height, final int[] target) {
+
+        // only allocates a new image if the region does not have the same size as one of the last two
+        if (!hasSize(buffer, width, height)) {
+            final WritableImage swapped = previousBuffer;
+            previousBuffer = buffer;
+            buffer = hasSize(swapped, width, height) ? swapped : new WritableImage(width, height);
+        }
+
+        // captures the region (scaled to logical pixels) & copies its pixels
+        buffer = robot.getScreenCapture(buffer, x, y, width, height, true);
+        buffer.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), target, 0, width);
+    }
+
+    private static boolean hasSize(final WritableImage image, final int width, final int height) {
+        return image != null && image.getWidth() == width && image.getHeight() == height;
+    }
+
+    @Override
+    public int getMinX() {
+        return (int) bounds.getMinX();
+    }
+
+    @Override
+    public int getMinY() {
+        return (int) bounds.getMinY();
+    }
+
+    @Override
+    public int getWidth() {
+        return (int) bounds.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return (int) bounds.getHeight();
+    }
+
+}
@@ -0,0 +1,119 @@
+package app.customControls.handlers.screenCapture;
+
+import java.util.function.IntBinaryOperator;
+
+/**
+ * {@link CaptureSource} serving pixels from an in-memory screen, so that captures can be exercised & measured without
+ * a display or the JavaFX toolkit
+ */
+public class SyntheticCaptureSource implements CaptureSource {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private final int minX;
+    private final int minY;
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+    private long captureCount = 0;
+    private long capturedPixels = 0;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link SyntheticCaptureSource} constructor
+     * @param width (int): the screen's width
+     * @param height (int): the screen's height
+     * @param generator ({@link IntBinaryOperator}): computes the argb code of the pixel at (x, y)
+     */
+    public SyntheticCaptureSource(final int width, final int height, final IntBinaryOperator generator) {
+        this(0, 0, width, height, generator);
+    }
+
+    /**
+     * {@link SyntheticCaptureSource} constructor for a screen which does not start at the origin, such as a secondary
+     * screen
+     * @param minX (int): x-coordinate of the screen's left edge
+     * @param minY (int): y-coordinate of the screen's top edge
+     * @param width (int): the screen's width
+     * @param height (int): the screen's height
+     * @param generator ({@link IntBinaryOperator}): computes the argb code of the pixel at (x, y), in screen coordinates
+     */
+    public SyntheticCaptureSource(
+            final int minX,
+            final int minY,
+            final int width,
+            final int height,
+            final IntBinaryOperator generator
+    ) {
+
+        // makes sure the screen is not empty
+        if (width <= 0 || height <= 0) {
+            final String errorMessage = "Invalid screen size %dx%d, must be greater than 0";
+            throw new IllegalArgumentException(String.format(errorMessage, width, height));
+        }
+
+        this.minX = minX;
+        this.minY = minY;
+        this.width = width;
+        this.height = height;
+        this.pixels = new int[width * height];
+
+        // generates the screen
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                pixels[y * width + x] = generator.applyAsInt(minX + x, minY + y);
+            }
+        }
+    }
+
+    // ===================================
+    //              METHODS
+    // ===================================
+
+    @Override
+    public void capture(final int x, final int y, final int width, final int height, final int[] target) {
+        for (int row = 0; row < height; row++) {
+            System.arraycopy(pixels, (y - minY + row) * this.width + x - minX, target, row * width, width);
+        }
+        captureCount++;
+        capturedPixels += (long) width * height;
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    @Override
+    public int getMinX() {
+        return minX;
+    }
+
+    @Override
+    public int getMinY() {
+        return minY;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    public long getCaptureCount() {
+        return captureCount;
+    }
+
+    public long getCapturedPixels() {
+        return capturedPixels;
+    }
+
+}
@@ -0,0 +1,431 @@
+package app.customControls.handlers.screenCapture;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Captures the screen lazily, one square tile at a time, instead of grabbing the whole screen at once.<br>
+ * <br>
+ * Tiles are only captured once a pixel inside them is requested, and are kept in a least-recently-used cache of bounded
+ * size : the pixel arrays of evicted tiles are reused for the next captures. While the mouse moves, the tile lying
+ * ahead of it in the direction of movement is captured before the mouse reaches it, so that reading pixels along the
+ * mouse's path rarely waits on a capture.<br>
+ * <br>
+ * <u><i>Features</i></u> :<br>
+ * <ul>
+ *     <li>memory bounded by the number of cached tiles rather than by the screen's resolution</li>
+ *     <li>directional prefetching of the next tile</li>
+ *     <li>
+ *         averages over square areas in constant time, through per-channel summed-area tables built once per tile
+ *         the first time an area inside it is averaged
+ *     </li>
+ *     <li>pluggable {@link CaptureSource}, allowing to replace the screen with a synthetic one</li>
+ *     <li>capture, hit, miss & prefetch counters</li>
+ * </ul>
+ * @implNote must be accessed from the thread its {@link CaptureSource} requires (the JavaFX application thread for a
+ * {@link RobotCaptureSource})
+ */
+public class TiledScreenCapture {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*             CONSTANTS            */
+
+    public static final int DEFAULT_TILE_SIZE = 128;
+    public static final int DEFAULT_MAX_TILES = 48;
+
+    /*              SOURCE              */
+
+    private final CaptureSource source;
+    private final int tileSize;
+    private final int maxTiles;
+
+    /*               CACHE              */
+
+    private final Map<Long, Tile> tiles;
+    private int[] spare;        // pixels of the last evicted tile, reused by the next capture
+    private int[] spareSums;    // summed-area table of the last evicted tile, reused by the next table
+
+    /*             MOVEMENT             */
+
+    private int lastX = -1;
+    private int lastY = -1;
+
+    /*             COUNTERS             */
+
+    private long captureCount = 0;
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long prefetchCount = 0;
+    private long sumTableCount = 0;
+
+    /**
+     * Square region of the screen, captured in one go
+     */
+    private static final class Tile {
+        private final int width;
+        private final int height;
+        private final int[] pixels;
+        private int[] sums;     // summed-area table, interleaving the red, green & blue sums (null until needed)
+
+        private Tile(final int width, final int height, final int[] pixels) {
+            this.width = width;
+            this.height = height;
+            this.pixels = pixels;
+        }
+    }
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link TiledScreenCapture} constructor with the default tile size & cache size
+     * @param source ({@link CaptureSource}): the source of the screen's pixels
+     */
+    public TiledScreenCapture(final CaptureSource source) {
+        this(source, DEFAULT_TILE_SIZE, DEFAULT_MAX_TILES);
+    }
+
+    /**
+     * {@link TiledScreenCapture} constructor
+     * @param source ({@link CaptureSource}): the source of the screen's pixels
+     * @param tileSize (int): the width & height of each tile
+     * @param maxTiles (int): the maximum number of tiles kept in memory
+     */
+    public TiledScreenCapture(final CaptureSource source, final int tileSize, final int maxTiles) {
+
+        // makes sure the tiles & the cache are not empty
+        if (tileSize <= 0 || maxTiles <= 0) {
+            final String errorMessage = "Invalid tile size %d or tile count %d, both must be greater than 0";
+            throw new IllegalArgumentException(String.format(errorMessage, tileSize, maxTiles));
+        }
+
+        this.source = source;
+        this.tileSize = tileSize;
+        this.maxTiles = maxTiles;
+        this.tiles = new LinkedHashMap<>(maxTiles * 2, .75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Tile> eldest) {
+                if (size() <= TiledScreenCapture.this.maxTiles) return false;
+                spare = eldest.getValue().pixels;
+                if (eldest.getValue().sums != null) spareSums = eldest.getValue().sums;
+                return true;
+            }
+        };
+    }
+
+    // ===================================
+    //              METHODS
+    // ===================================
+
+    /**
+     * Reads the color of a pixel, capturing the tile containing it if it is not cached yet
+     * @param x (double): the pixel's x-coordinate on the screen
+     * @param y (double): the pixel's y-coordinate on the screen
+     * @return (int): the pixel's argb code
+     * @implNote coordinates outside the screen are clamped to its edges
+     */
+    public int getArgb(final double x, final double y) {
+
+        // clamps the coordinates to the screen
+        final int px = clamp(localX(x), source.getWidth());
+        final int py = clamp(localY(y), source.getHeight());
+
+        // retrieves the tile containing the pixel...
+        final int tileX = px / tileSize;
+        final int tileY = py / tileSize;
+        final Tile tile = tileAt(tileX, tileY);
+
+        // ...and reads the pixel inside it
+        return tile.pixels[(py - tileY * tileSize) * tile.width + (px - tileX * tileSize)];
+    }
+
+    /**
+     * Averages the colors of a square area, capturing the tiles it covers if they are not cached yet. The time taken
+     * does not depend on the area's size : each covered tile answers with four lookups in its summed-area table
+     * @param x (double): x-coordinate of the area's center on the screen
+     * @param y (double): y-coordinate of the area's center on the screen
+     * @param radius (int): number of pixels on each side of the center, 0 only reading the center pixel
+     * @return (int): the opaque argb code of the average color
+     * @implNote the parts of the area outside the screen are ignored
+     */
+    public int getAverageArgb(final double x, final double y, final int radius) {
+        if (radius <= 0) return getArgb(x, y);
+
+        // clips the area to the screen
+        final int px = clamp(localX(x), source.getWidth());
+        final int py = clamp(localY(y), source.getHeight());
+        final int left = Math.max(0, px - radius);
+        final int top = Math.max(0, py - radius);
+        final int right = Math.min(source.getWidth() - 1, px + radius);
+        final int bottom = Math.min(source.getHeight() - 1, py + radius);
+
+        // adds up the sums of the part of the area lying inside each covered tile
+        long red = 0;
+        long green = 0;
+        long blue = 0;
+        for (int tileY = top / tileSize; tileY <= bottom / tileSize; tileY++) {
+            for (int tileX = left / tileSize; tileX <= right / tileSize; tileX++) {
+                final Tile tile = tileAt(tileX, tileY);
+                if (tile.sums == null) buildSums(tile);
+
+                // bounds of the area inside the tile, the table's rows & columns being offset by one
+                final int stride = tile.width + 1;
+                final int x0 = Math.max(left - tileX * tileSize, 0);
+                final int y0 = Math.max(top - tileY * tileSize, 0);
+                final int x1 = Math.min(right - tileX * tileSize, tile.width - 1) + 1;
+                final int y1 = Math.min(bottom - tileY * tileSize, tile.height - 1) + 1;
+
+                final int bottomRight = (y1 * stride + x1) * 3;
+                final int topRight = (y0 * stride + x1) * 3;
+                final int bottomLeft = (y1 * stride + x0) * 3;
+                final int topLeft = (y0 * stride + x0) * 3;
+                final int[] sums = tile.sums;
+                red += sums[bottomRight] - sums[topRight] - sums[bottomLeft] + sums[topLeft];
+                green += sums[bottomRight + 1] - sums[topRight + 1] - sums[bottomLeft + 1] + sums[topLeft + 1];
+                blue += sums[bottomRight + 2] - sums[topRight + 2] - sums[bottomLeft + 2] + sums[topLeft + 2];
+            }
+        }
+
+        // divides by the number of pixels inside the clipped area
+        final long count = (long) (right - left + 1) * (bottom - top + 1);
+        return 0xFF000000
+                | (int) ((red + count / 2) / count) << 16
+                | (int) ((green + count / 2) / count) << 8
+                | (int) ((blue + count / 2) / count);
+    }
+
+    /**
+     * Builds a tile's summed-area table, in which each entry holds the sum of every pixel above & to the left of it
+     * @param tile (Tile): the tile
+     */
+    private void buildSums(final Tile tile) {
+
+        // reuses the table of the last evicted tile if there is one
+        final int stride = tile.width + 1;
+        final int length = (tileSize + 1) * (tileSize + 1) * 3;
+        final int[] sums = spareSums != null ? spareSums : new int[length];
+        spareSums = null;
+
+        // the first row stays at 0, each following row adds its running sum to the row above
+        Arrays.fill(sums, 0, stride * 3, 0);
+        for (int row = 1; row <= tile.height; row++) {
+            int red = 0;
+            int green = 0;
+            int blue = 0;
+            final int offset = row * stride * 3;
+            sums[offset] = sums[offset + 1] = sums[offset + 2] = 0;
+
+            for (int column = 1; column <= tile.width; column++) {
+                final int argb = tile.pixels[(row - 1) * tile.width + column - 1];
+                red += (argb >> 16) & 0xFF;
+                green += (argb >> 8) & 0xFF;
+                blue += argb & 0xFF;
+
+                final int index = offset + column * 3;
+                sums[index] = sums[index - stride * 3] + red;
+                sums[index + 1] = sums[index + 1 - stride * 3] + green;
+                sums[index + 2] = sums[index + 2 - stride * 3] + blue;
+            }
+        }
+
+        tile.sums = sums;
+        sumTableCount++;
+    }
+
+    /**
+     * Copies a rectangular block of pixels, capturing the tiles it covers if they are not cached yet
+     * @param x (int): x-coordinate of the block's top-left corner on the screen
+     * @param y (int): y-coordinate of the block's top-left corner on the screen
+     * @param width (int): the block's width
+     * @param height (int): the block's height
+     * @param target (int[]): array receiving the block's argb codes, row after row
+     * @implNote pixels outside the screen are clamped to its edges, so the block keeps the same center along the edges
+     */
+    public void copy(final int x, final int y, final int width, final int height, final int[] target) {
+        copyLocal(x - source.getMinX(), y - source.getMinY(), width, height, target);
+    }
+
+    /**
+     * Copies a rectangular block of pixels, in coordinates relative to the screen's top-left corner
+     * @param x (int): x-coordinate of the block's top-left corner relative to the screen
+     * @param y (int): y-coordinate of the block's top-left corner relative to the screen
+     * @param width (int): the block's width
+     * @param height (int): the block's height
+     * @param target (int[]): array receiving the block's argb codes, row after row
+     */
+    private void copyLocal(final int x, final int y, final int width, final int height, final int[] target) {
+
+        // determines the range of tiles covered by the block
+        final int firstTileX = clamp(x, source.getWidth()) / tileSize;
+        final int lastTileX = clamp(x + width - 1, source.getWidth()) / tileSize;
+        final int firstTileY = clamp(y, source.getHeight()) / tileSize;
+        final int lastTileY = clamp(y + height - 1, source.getHeight()) / tileSize;
+
+        // looks up each covered tile once & copies the part of the block lying inside it
+        for (int tileY = firstTileY; tileY <= lastTileY; tileY++) {
+            for (int tileX = firstTileX; tileX <= lastTileX; tileX++) {
+                final Tile tile = tileAt(tileX, tileY);
+
+                for (int row = 0; row < height; row++) {
+                    final int py = clamp(y + row, source.getHeight());
+                    if (py / tileSize != tileY) continue;
+                    final int tileOffset = (py - tileY * tileSize) * tile.width - tileX * tileSize;
+
+                    for (int column = 0; column < width; column++) {
+                        final int px = clamp(x + column, source.getWidth());
+                        if (px / tileSize != tileX) continue;
+                        target[row * width + column] = tile.pixels[tileOffset + px];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves a tile from the cache, capturing it if it is not cached yet
+     * @param tileX (int): the tile's column
+     * @param tileY (int): the tile's row
+     * @return (Tile): the tile
+     */
+    private Tile tileAt(final int tileX, final int tileY) {
+        final Tile tile = tiles.get(key(tileX, tileY));
+        if (tile == null) {
+            missCount++;
+            return capture(tileX, tileY);
+        }
+        hitCount++;
+        return tile;
+    }
+
+    /**
+     * Records the mouse's new position & prefetches the tile it is heading towards
+     * @param x (double): the mouse's x-coordinate on the screen
+     * @param y (double): the mouse's y-coordinate on the screen
+     */
+    public void track(final double x, final double y) {
+        final int px = clamp(localX(x), source.getWidth());
+        final int py = clamp(localY(y), source.getHeight());
+
+        // the first position gives no direction
+        if (lastX >= 0) {
+
+            // looks half a tile ahead in the direction of movement...
+            final int aheadX = clamp(px + Integer.signum(px - lastX) * tileSize / 2, source.getWidth());
+            final int aheadY = clamp(py + Integer.signum(py - lastY) * tileSize / 2, source.getHeight());
+
+            // ...and captures the tile found there if it is not cached yet
+            final int tileX = aheadX / tileSize;
+            final int tileY = aheadY / tileSize;
+            if (!tiles.containsKey(key(tileX, tileY))) {
+                prefetchCount++;
+                capture(tileX, tileY);
+            }
+        }
+
+        lastX = px;
+        lastY = py;
+    }
+
+    /**
+     * Discards every cached tile, for example once the screen's content has changed
+     */
+    public void invalidate() {
+        tiles.clear();
+        lastX = -1;
+        lastY = -1;
+    }
+
+    /**
+     * Captures a tile & adds it to the cache
+     * @param tileX (int): the tile's column
+     * @param tileY (int): the tile's row
+     * @return (Tile): the captured tile
+     */
+    private Tile capture(final int tileX, final int tileY) {
+
+        // tiles along the right & bottom edges can be smaller than the others
+        final int x = tileX * tileSize;
+        final int y = tileY * tileSize;
+        final int width = Math.min(tileSize, source.getWidth() - x);
+        final int height = Math.min(tileSize, source.getHeight() - y);
+
+        // reuses the pixels of the last evicted tile if there is one
+        final int[] pixels = spare != null ? spare : new int[tileSize * tileSize];
+        spare = null;
+
+        source.capture(source.getMinX() + x, source.getMinY() + y, width, height, pixels);
+        captureCount++;
+
+        final Tile tile = new Tile(width, height, pixels);
+        tiles.put(key(tileX, tileY), tile);
+        return tile;
+    }
+
+    private static long key(final int tileX, final int tileY) {
+        return ((long) tileY << 32) | (tileX & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Converts an x-coordinate on the screen to a column of pixels of the captured screen
+     * @param x (double): the x-coordinate in screen coordinates
+     * @return (int): the column, relative to the screen's left edge
+     */
+    private int localX(final double x) {
+        return (int) Math.floor(x) - source.getMinX();
+    }
+
+    /**
+     * Converts a y-coordinate on the screen to a row of pixels of the captured screen
+     * @param y (double): the y-coordinate in screen coordinates
+     * @return (int): the row, relative to the screen's top edge
+     */
+    private int localY(final double y) {
+        return (int) Math.floor(y) - source.getMinY();
+    }
+
+    private static int clamp(final int value, final int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    public CaptureSource getSource() {
+        return source;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getCachedTileCount() {
+        return tiles.size();
+    }
+
+    public long getCaptureCount() {
+        return captureCount;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getPrefetchCount() {
+        return prefetchCount;
+    }
+
+    public long getSumTableCount() {
+        return sumTableCount;
+    }
+
+}
@@ -0,0 +1,206 @@
+package app.customControls.handlers.screenMetrics;
+
+import javafx.collections.ListChangeListener;
+import javafx.geometry.Insets;
+import javafx.geometry.Rectangle2D;
+import javafx.stage.Screen;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cached bounds of the screens, read from JavaFX's {@link Screen} instead of AWT.<br>
+ * <br>
+ * The primary screen's bounds, visual bounds (the bounds minus the taskbar & other system bars) and the insets between
+ * them, along with the bounds of every screen & their union, are computed once, then only refreshed when the list of
+ * {@link Screen#getScreens() screens} changes, for example when a screen is plugged in or its resolution changes.
+ * Reading them afterwards only returns the cached values.<br>
+ * <br>
+ * <u><i>Features</i></u> :<br>
+ * <ul>
+ *     <li>no dependency on AWT</li>
+ *     <li>bounds, visual bounds & insets refreshed on screen changes</li>
+ *     <li>bounds of every screen & their union, for layouts spanning several screens</li>
+ *     <li>listeners notified after each refresh</li>
+ *     <li>refresh counter</li>
+ * </ul>
+ * @implNote must be used from the JavaFX application thread
+ */
+public class ScreenMetrics {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*              SHARED              */
+
+    private static ScreenMetrics shared;
+
+    /*              METRICS             */
+
+    private Rectangle2D bounds;
+    private Rectangle2D visualBounds;
+    private Insets insets;          // space taken by the taskbar & other system bars along each edge
+    private List<Rectangle2D> screenBounds;
+    private Rectangle2D unionBounds;
+    private Rectangle2D unionVisualBounds;
+
+    /*             LISTENERS            */
+
+    private final ListChangeListener<Screen> screenListener;
+    private final List<Runnable> listeners = new ArrayList<>();
+
+    /*             COUNTERS             */
+
+    private long refreshCount = 0;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    public ScreenMetrics() {
+        this.screenListener = change -> refresh();
+        Screen.getScreens().addListener(screenListener);
+        refresh();
+    }
+
+    /**
+     * Retrieves the metrics shared by every control, computing them the first time they are needed
+     * @return ({@link ScreenMetrics}): the shared metrics
+     */
+    public static ScreenMetrics getShared() {
+        if (shared == null) shared = new ScreenMetrics();
+        return shared;
+    }
+
+    // ===================================
+    //              METHODS
+    // ===================================
+
+    /**
+     * Reads the primary screen's bounds & visual bounds again
+     */
+    public void refresh() {
+        final Screen primary = Screen.getPrimary();
+        bounds = primary.getBounds();
+        visualBounds = primary.getVisualBounds();
+
+        // the visual bounds are the bounds shrunk by the system bars along each edge
+        insets = new Insets(
+                visualBounds.getMinY() - bounds.getMinY(),
+                bounds.getMaxX() - visualBounds.getMaxX(),
+                bounds.getMaxY() - visualBounds.getMaxY(),
+                visualBounds.getMinX() - bounds.getMinX()
+        );
+
+        // computes the bounds of every screen & their union
+        final List<Rectangle2D> allBounds = new ArrayList<>();
+        Rectangle2D union = null;
+        Rectangle2D visualUnion = null;
+        for (Screen screen : Screen.getScreens()) {
+            allBounds.add(screen.getBounds());
+            union = union(union, screen.getBounds());
+            visualUnion = union(visualUnion, screen.getVisualBounds());
+        }
+        screenBounds = List.copyOf(allBounds);
+        unionBounds = union == null ? bounds : union;
+        unionVisualBounds = visualUnion == null ? visualBounds : visualUnion;
+
+        refreshCount++;
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).run();
+        }
+    }
+
+    /**
+     * Computes the smallest rectangle containing two rectangles
+     * @param first ({@link Rectangle2D}): the first rectangle, or null
+     * @param second ({@link Rectangle2D}): the second rectangle
+     * @return (Rectangle2D): the union of both rectangles
+     */
+    private static Rectangle2D union(final Rectangle2D first, final Rectangle2D second) {
+        if (first == null) return second;
+        final double minX = Math.min(first.getMinX(), second.getMinX());
+        final double minY = Math.min(first.getMinY(), second.getMinY());
+        final double maxX = Math.max(first.getMaxX(), second.getMaxX());
+        final double maxY = Math.max(first.getMaxY(), second.getMaxY());
+        return new Rectangle2D(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    /**
+     * Registers a listener called after the metrics have been refreshed
+     * @param listener ({@link Runnable}): the listener
+     */
+    public void addListener(final Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener previously registered with {@link #addListener(Runnable)}
+     * @param listener ({@link Runnable}): the listener
+     */
+    public void removeListener(final Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Stops following screen changes, the metrics keeping their last values
+     */
+    public void dispose() {
+        Screen.getScreens().removeListener(screenListener);
+        if (shared == this) shared = null;
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    public Rectangle2D getBounds() {
+        return bounds;
+    }
+
+    public Rectangle2D getVisualBounds() {
+        return visualBounds;
+    }
+
+    public Insets getInsets() {
+        return insets;
+    }
+
+    /**
+     * Getter for the bounds of every screen
+     * @return ({@link List}): the screens' bounds, in screen coordinates
+     */
+    public List<Rectangle2D> getScreenBounds() {
+        return screenBounds;
+    }
+
+    /**
+     * Getter for the smallest rectangle containing every screen
+     * @return ({@link Rectangle2D}): the union of the screens' bounds
+     */
+    public Rectangle2D getUnionBounds() {
+        return unionBounds;
+    }
+
+    /**
+     * Getter for the smallest rectangle containing the visual bounds of every screen
+     * @return ({@link Rectangle2D}): the union of the screens' visual bounds
+     */
+    public Rectangle2D getUnionVisualBounds() {
+        return unionVisualBounds;
+    }
+
+    public double getWidth() {
+        return bounds.getWidth();
+    }
+
+    public double getHeight() {
+        return bounds.getHeight();
+    }
+
+    public long getRefreshCount() {
+        return refreshCount;
+    }
+
+}
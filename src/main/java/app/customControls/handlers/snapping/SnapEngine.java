@@ -0,0 +1,452 @@
+package app.customControls.handlers.snapping;
+
+import app.customControls.handlers.movementHandler.MutablePoint2D;
+import app.customControls.handlers.movementHandler.PositioningMode;
+import app.customControls.utilities.NodeUtil;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.geometry.Bounds;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snaps dragged nodes to a grid and to the edges & centres of their siblings.<br>
+ * <br>
+ * The left edge, centre & right edge of every registered node are kept in a sorted index along the x-axis, and their
+ * top edge, centre & bottom edge in another along the y-axis. Each index is a pair of primitive arrays, updated
+ * incrementally whenever a node's bounds change : its old entries are removed & its new ones inserted in place. Snapping
+ * a node then only takes a binary search per edge to find the closest sibling edge, instead of comparing against every
+ * sibling. Moving a node still costs time proportional to the number of indexed edges, since inserting or removing an
+ * entry shifts the ones after it with {@link System#arraycopy}, which is cheap but linear : only the lookup is
+ * logarithmic.<br>
+ * <br>
+ * <u><i>Features</i></u> :<br>
+ * <ul>
+ *     <li>snap to grid</li>
+ *     <li>snap to sibling edges & centres along both axes</li>
+ *     <li>logarithmic lookup of the closest edge</li>
+ *     <li>incremental index updates as nodes move, in linear time</li>
+ *     <li>alignment guides to draw after each snap</li>
+ *     <li>no allocation per snap, the moves & guides being reused</li>
+ * </ul>
+ * @implNote every registered node must share the same parent, since the index works in parent coordinates. Must be
+ * used from the JavaFX application thread
+ */
+public class SnapEngine {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    /*             CONSTANTS            */
+
+    public static final double DEFAULT_THRESHOLD = 8;       // maximum distance over which a node snaps, in pixels
+    private static final double NO_GRID = 0;
+
+    /*              INDEXES             */
+
+    private final EdgeIndex xEdges = new EdgeIndex();
+    private final EdgeIndex yEdges = new EdgeIndex();
+    private final Map<Node, Bounds> indexedBounds = new HashMap<>();  // bounds each node is currently indexed with
+
+    /*             SETTINGS             */
+
+    private double threshold = DEFAULT_THRESHOLD;
+    private double gridSize = NO_GRID;
+
+    /*              GUIDES              */
+
+    private final List<SnapGuide> guides = new ArrayList<>(2);
+    private final List<SnapGuide> readOnlyGuides = Collections.unmodifiableList(guides);
+    private final SnapGuide verticalGuide = new SnapGuide(Orientation.VERTICAL, 0, 0, 0);    // reused by every snap
+    private final SnapGuide horizontalGuide = new SnapGuide(Orientation.HORIZONTAL, 0, 0, 0);
+    private Runnable onSnap;
+
+    /*             SNAPPING             */
+
+    private final Snap snapX = new Snap();  // closest move along each axis, reused by every snap
+    private final Snap snapY = new Snap();
+
+    /*             LISTENERS            */
+
+    private final InvalidationListener boundsListener;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    public SnapEngine() {
+        this.boundsListener = observable -> update((Node) ((ReadOnlyProperty<?>) observable).getBean());
+    }
+
+    // ===================================
+    //           REGISTRATION
+    // ===================================
+
+    /**
+     * Registers a node as a snap target, re-indexing it whenever it moves or is resized
+     * @param node ({@link Node}): the node
+     */
+    public void add(final Node node) {
+        if (indexedBounds.containsKey(node)) return;
+        index(node, node.getBoundsInParent());
+        node.boundsInParentProperty().addListener(boundsListener);
+    }
+
+    /**
+     * Registers several nodes as snap targets
+     * @param nodes ({@link Collection}): the nodes
+     */
+    public void addAll(final Collection<? extends Node> nodes) {
+        for (Node node : nodes) add(node);
+    }
+
+    /**
+     * Stops using a node as a snap target
+     * @param node ({@link Node}): the node
+     */
+    public void remove(final Node node) {
+        final Bounds bounds = indexedBounds.remove(node);
+        if (bounds == null) return;
+        unindex(node, bounds);
+        node.boundsInParentProperty().removeListener(boundsListener);
+    }
+
+    /**
+     * Stops using any node as a snap target
+     */
+    public void clear() {
+        for (Node node : new ArrayList<>(indexedBounds.keySet())) remove(node);
+    }
+
+    /**
+     * Moves a node's entries in the indexes to its current bounds
+     * @param node ({@link Node}): the node
+     */
+    private void update(final Node node) {
+        final Bounds bounds = node.getBoundsInParent();
+        final Bounds previous = indexedBounds.get(node);
+        if (previous == null || previous.equals(bounds)) return;
+
+        unindex(node, previous);
+        index(node, bounds);
+    }
+
+    /**
+     * Inserts a node's edges & centres into the indexes
+     * @param node ({@link Node}): the node
+     * @param bounds ({@link Bounds}): the node's bounds in its parent
+     */
+    private void index(final Node node, final Bounds bounds) {
+        xEdges.insert(bounds.getMinX(), node);
+        xEdges.insert(bounds.getCenterX(), node);
+        xEdges.insert(bounds.getMaxX(), node);
+        yEdges.insert(bounds.getMinY(), node);
+        yEdges.insert(bounds.getCenterY(), node);
+        yEdges.insert(bounds.getMaxY(), node);
+        indexedBounds.put(node, bounds);
+    }
+
+    /**
+     * Removes a node's edges & centres from the indexes
+     * @param node ({@link Node}): the node
+     * @param bounds ({@link Bounds}): the bounds the node was indexed with
+     */
+    private void unindex(final Node node, final Bounds bounds) {
+        xEdges.remove(bounds.getMinX(), node);
+        xEdges.remove(bounds.getCenterX(), node);
+        xEdges.remove(bounds.getMaxX(), node);
+        yEdges.remove(bounds.getMinY(), node);
+        yEdges.remove(bounds.getCenterY(), node);
+        yEdges.remove(bounds.getMaxY(), node);
+    }
+
+    // ===================================
+    //             SNAPPING
+    // ===================================
+
+    /**
+     * Adjusts a node's upcoming position so that its edges or centre line up with the grid or with a sibling, reporting
+     * the alignment guides to draw
+     * @param node ({@link Node}): the node being moved, which is never snapped to itself
+     * @param position ({@link MutablePoint2D}): the node's upcoming layout position, adjusted in place
+     */
+    public void snap(final Node node, final MutablePoint2D position) {
+        snap(node, position, PositioningMode.LAYOUT);
+    }
+
+    /**
+     * Adjusts a node's upcoming position so that its edges or centre line up with the grid or with a sibling, reporting
+     * the alignment guides to draw
+     * @param node ({@link Node}): the node being moved, which is never snapped to itself
+     * @param position ({@link MutablePoint2D}): the node's upcoming position, adjusted in place
+     * @param mode ({@link PositioningMode}): how the node is moved, the position including its translation when it is
+     *             moved through {@link PositioningMode#TRANSLATE TRANSLATE}
+     */
+    public void snap(final Node node, final MutablePoint2D position, final PositioningMode mode) {
+        guides.clear();
+
+        // upcoming bounds of the node, its position being offset from its bounds
+        final Bounds current = node.getBoundsInParent();
+        final boolean translated = mode == PositioningMode.TRANSLATE;
+        final double originX = translated ? NodeUtil.getPositionX(node) : node.getLayoutX();
+        final double originY = translated ? NodeUtil.getPositionY(node) : node.getLayoutY();
+        final double minX = position.getX() + current.getMinX() - originX;
+        final double minY = position.getY() + current.getMinY() - originY;
+        final double width = current.getWidth();
+        final double height = current.getHeight();
+
+        // closest snap along each axis
+        resolve(xEdges, minX, width, node, snapX);
+        resolve(yEdges, minY, height, node, snapY);
+        position.translate(snapX.delta, snapY.delta);
+
+        // guides spanning the node & the sibling it snapped to
+        final double snappedMinX = minX + snapX.delta;
+        final double snappedMinY = minY + snapY.delta;
+        if (snapX.target != null) {
+            final Bounds target = indexedBounds.get(snapX.target);
+            guides.add(verticalGuide.set(
+                    snapX.position,
+                    Math.min(snappedMinY, target.getMinY()),
+                    Math.max(snappedMinY + height, target.getMaxY())
+            ));
+        }
+        if (snapY.target != null) {
+            final Bounds target = indexedBounds.get(snapY.target);
+            guides.add(horizontalGuide.set(
+                    snapY.position,
+                    Math.min(snappedMinX, target.getMinX()),
+                    Math.max(snappedMinX + width, target.getMaxX())
+            ));
+        }
+
+        if (onSnap != null) onSnap.run();
+    }
+
+    /**
+     * Finds the smallest move bringing one of a node's edges or its centre onto the grid or onto a sibling's edge.
+     * Sibling edges exactly at the threshold still snap, equally close sibling edges go to the lower one, and equally
+     * short moves go to the last of the node's edges checked (minimum, centre then maximum)
+     * @param index (EdgeIndex): the sibling edges along the axis
+     * @param min (double): the node's upcoming minimum coordinate along the axis
+     * @param size (double): the node's size along the axis
+     * @param node ({@link Node}): the node being moved
+     * @param snap (Snap): receives the move to apply, 0 if nothing is within the threshold
+     */
+    private void resolve(final EdgeIndex index, final double min, final double size, final Node node, final Snap snap) {
+        snap.reset();
+        double bestDistance = threshold;
+
+        // closest sibling edge to each of the node's edges & its centre
+        for (int edge = 0; edge < 3; edge++) {
+            final double coordinate = min + size * edge / 2;
+            final int closest = index.closest(coordinate, node);
+            if (closest < 0) continue;
+
+            final double distance = Math.abs(index.positions[closest] - coordinate);
+            if (distance > bestDistance) continue;
+
+            bestDistance = distance;
+            snap.delta = index.positions[closest] - coordinate;
+            snap.position = index.positions[closest];
+            snap.target = index.owners[closest];
+        }
+
+        // the grid only wins over siblings if it is strictly closer
+        if (gridSize > NO_GRID) {
+            final double gridDelta = Math.round(min / gridSize) * gridSize - min;
+            if (Math.abs(gridDelta) < bestDistance || (snap.target == null && Math.abs(gridDelta) <= threshold)) {
+                snap.delta = gridDelta;
+                snap.target = null;
+            }
+        }
+    }
+
+    /**
+     * Move resolved along one axis
+     */
+    private static final class Snap {
+        private double delta = 0;       // distance to move the node by
+        private double position;        // coordinate of the sibling edge snapped to
+        private Node target;            // sibling snapped to, null when snapping to the grid or not snapping
+
+        private void reset() {
+            delta = 0;
+            position = 0;
+            target = null;
+        }
+    }
+
+    // ===================================
+    //               INDEX
+    // ===================================
+
+    /**
+     * Sorted array of edge coordinates along one axis, along with the node each edge belongs to
+     */
+    private static final class EdgeIndex {
+
+        private static final int INITIAL_CAPACITY = 48;
+
+        private double[] positions = new double[INITIAL_CAPACITY];
+        private Node[] owners = new Node[INITIAL_CAPACITY];
+        private int size = 0;
+
+        /**
+         * Inserts an edge, keeping the coordinates sorted
+         * @param position (double): the edge's coordinate
+         * @param owner ({@link Node}): the node the edge belongs to
+         */
+        private void insert(final double position, final Node owner) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                owners = Arrays.copyOf(owners, size * 2);
+            }
+
+            final int index = lowerBound(position);
+            System.arraycopy(positions, index, positions, index + 1, size - index);
+            System.arraycopy(owners, index, owners, index + 1, size - index);
+            positions[index] = position;
+            owners[index] = owner;
+            size++;
+        }
+
+        /**
+         * Removes an edge
+         * @param position (double): the edge's coordinate
+         * @param owner ({@link Node}): the node the edge belongs to
+         */
+        private void remove(final double position, final Node owner) {
+
+            // several nodes may have an edge at the same coordinate
+            int index = lowerBound(position);
+            while (index < size && positions[index] == position && owners[index] != owner) index++;
+            if (index == size || positions[index] != position) return;
+
+            System.arraycopy(positions, index + 1, positions, index, size - index - 1);
+            System.arraycopy(owners, index + 1, owners, index, size - index - 1);
+            owners[--size] = null;
+        }
+
+        /**
+         * Finds the edge closest to a coordinate, ignoring a node's own edges
+         * @param position (double): the coordinate
+         * @param excluded ({@link Node}): node whose edges are ignored
+         * @return (int): the index of the closest edge, -1 if there is none
+         */
+        private int closest(final double position, final Node excluded) {
+            int right = lowerBound(position);
+            int left = right - 1;
+
+            // a node only has 3 edges per axis, so skipping them keeps the lookup logarithmic
+            while (right < size && owners[right] == excluded) right++;
+            while (left >= 0 && owners[left] == excluded) left--;
+
+            if (left < 0) return right < size ? right : -1;
+            if (right >= size) return left;
+            return position - positions[left] <= positions[right] - position ? left : right;
+        }
+
+        /**
+         * Binary search for the first edge whose coordinate is greater than or equal to a given coordinate
+         * @param position (double): the coordinate
+         * @return (int): the edge's index, or the number of edges if every edge lies before the coordinate
+         */
+        private int lowerBound(final double position) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (positions[middle] < position) low = middle + 1;
+                else high = middle;
+            }
+            return low;
+        }
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Setter for the distance over which nodes snap
+     * @param threshold (double): the maximum snapping distance, in pixels
+     */
+    public void setThreshold(final double threshold) {
+
+        // makes sure the threshold is valid
+        if (threshold < 0) {
+            final String errorMessage = "Invalid threshold %f, must be positive";
+            throw new IllegalArgumentException(String.format(errorMessage, threshold));
+        }
+
+        this.threshold = threshold;
+    }
+
+    public double getGridSize() {
+        return gridSize;
+    }
+
+    /**
+     * Setter for the grid's cell size
+     * @param gridSize (double): the distance between grid lines, 0 to disable the grid
+     */
+    public void setGridSize(final double gridSize) {
+
+        // makes sure the grid size is valid
+        if (gridSize < 0) {
+            final String errorMessage = "Invalid grid size %f, must be positive";
+            throw new IllegalArgumentException(String.format(errorMessage, gridSize));
+        }
+
+        this.gridSize = gridSize;
+    }
+
+    /**
+     * Getter for the alignment guides resulting from the last snap
+     * @return ({@link List}): read-only view of the guides, empty if the node did not snap to any sibling
+     * @implNote the guides are reused by the next snap
+     */
+    public List<SnapGuide> getGuides() {
+        return readOnlyGuides;
+    }
+
+    /**
+     * Removes the current guides, for example once the node has been dropped
+     */
+    public void clearGuides() {
+        if (guides.isEmpty()) return;
+        guides.clear();
+        if (onSnap != null) onSnap.run();
+    }
+
+    /**
+     * Sets the callback run after each snap, typically redrawing the guides
+     * @param onSnap ({@link Runnable}): the callback, or null
+     */
+    public void setOnSnap(final Runnable onSnap) {
+        this.onSnap = onSnap;
+    }
+
+    /**
+     * Getter for the number of registered nodes
+     * @return (int): the number of snap targets
+     */
+    public int getNodeCount() {
+        return indexedBounds.size();
+    }
+
+}
@@ -0,0 +1,75 @@
+package app.customControls.handlers.snapping;
+
+import javafx.geometry.Orientation;
+
+/**
+ * Alignment guide reported by a {@link SnapEngine} when a node snaps to one of its siblings' edges or centres : a line
+ * running through the shared coordinate, spanning both nodes.<br>
+ * <br>
+ * The engine reuses the same guides for every snap, so a guide only describes the last snap until the next one
+ */
+public class SnapGuide {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private final Orientation orientation;
+    private double position;
+    private double start;
+    private double end;
+
+    // ===================================
+    //            CONSTRUCTOR
+    // ===================================
+
+    /**
+     * {@link SnapGuide} constructor
+     * @param orientation ({@link Orientation}): {@link Orientation#VERTICAL VERTICAL} for a line at a fixed
+     *                    x-coordinate, {@link Orientation#HORIZONTAL HORIZONTAL} for a line at a fixed y-coordinate
+     * @param position (double): the line's fixed coordinate, in parent coordinates
+     * @param start (double): coordinate at which the line starts along its direction
+     * @param end (double): coordinate at which the line ends along its direction
+     */
+    public SnapGuide(final Orientation orientation, final double position, final double start, final double end) {
+        this.orientation = orientation;
+        this.position = position;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Moves the guide to a new snap, so that the engine does not allocate a guide per snap
+     * @param position (double): the line's fixed coordinate, in parent coordinates
+     * @param start (double): coordinate at which the line starts along its direction
+     * @param end (double): coordinate at which the line ends along its direction
+     * @return (SnapGuide): the guide, for chaining
+     */
+    SnapGuide set(final double position, final double start, final double end) {
+        this.position = position;
+        this.start = start;
+        this.end = end;
+        return this;
+    }
+
+    // ===================================
+    //             ACCESSORS
+    // ===================================
+
+    public Orientation getOrientation() {
+        return orientation;
+    }
+
+    public double getPosition() {
+        return position;
+    }
+
+    public double getStart() {
+        return start;
+    }
+
+    public double getEnd() {
+        return end;
+    }
+
+}
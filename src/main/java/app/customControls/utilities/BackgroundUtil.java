@@ -0,0 +1,112 @@
+package app.customControls.utilities;
+
+import javafx.geometry.Insets;
+import javafx.scene.layout.*;
+import javafx.scene.paint.Color;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collection of helper methods for styling JavaFx {@link Region Regions} from code without going through the css
+ * engine. {@link Background Backgrounds} are immutable and can be shared between nodes, so they are cached by color
+ * and corner radii instead of being rebuilt on every update
+ * @implNote the caches are not synchronised and should only be accessed from the JavaFX application thread
+ */
+public class BackgroundUtil {
+
+    /* CONSTANTS */
+
+    private static final int MAX_CACHED_BACKGROUNDS = 512;
+
+    /* CACHES */
+
+    private static final Map<CornerRadii, Map<Integer, Background>> backgrounds = new HashMap<>();
+
+    /**
+     * Retrieves a {@link Background} filled with a single color and square corners
+     * @param argb (int): the background's color, as an argb code
+     * @return (Background): the cached background for that color
+     */
+    public static Background fill(final int argb) {
+        return fill(argb, CornerRadii.EMPTY);
+    }
+
+    /**
+     * Retrieves a {@link Background} filled with a single color
+     * @param color ({@link Color}): the background's color
+     * @param radii ({@link CornerRadii}): the background's corner radii
+     * @return (Background): the cached background for that color and radii
+     */
+    public static Background fill(final Color color, final CornerRadii radii) {
+        return fill(toArgbCode(color), radii);
+    }
+
+    /**
+     * Retrieves a {@link Background} filled with a single color
+     * @param argb (int): the background's color, as an argb code
+     * @param radii ({@link CornerRadii}): the background's corner radii
+     * @return (Background): the cached background for that color and radii
+     */
+    public static Background fill(final int argb, final CornerRadii radii) {
+
+        // retrieves the cache associated to the corner radii
+        final Map<Integer, Background> cache = backgrounds.computeIfAbsent(radii, r -> newCache());
+
+        // retrieves the cached background, creating it if it does not exist yet
+        Background background = cache.get(argb);
+        if (background == null) {
+            background = new Background(new BackgroundFill(toColor(argb), radii, Insets.EMPTY));
+            cache.put(argb, background);
+        }
+
+        return background;
+    }
+
+    /**
+     * Creates a solid {@link Border} of a given color and width, with square corners
+     * @param color ({@link Color}): the border's color
+     * @param width (double): the border's width
+     * @return (Border): the resulting border
+     */
+    public static Border solidBorder(final Color color, final double width) {
+        return new Border(new BorderStroke(color, BorderStrokeStyle.SOLID, CornerRadii.EMPTY, new BorderWidths(width)));
+    }
+
+    /**
+     * Converts a {@link Color} to its argb code
+     * @param color ({@link Color}): the color to convert
+     * @return (int): the color's argb code
+     */
+    public static int toArgbCode(final Color color) {
+        final int a = (int) Math.round(color.getOpacity() * 255);
+        final int r = (int) Math.round(color.getRed() * 255);
+        final int g = (int) Math.round(color.getGreen() * 255);
+        final int b = (int) Math.round(color.getBlue() * 255);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * Converts an argb code to a {@link Color}
+     * @param argb (int): the color's argb code
+     * @return (Color): the equivalent color
+     */
+    public static Color toColor(final int argb) {
+        return Color.rgb((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF, ((argb >>> 24) & 0xFF) / 255.0);
+    }
+
+    /**
+     * Creates a least-recently-used cache of backgrounds, bounded to {@link #MAX_CACHED_BACKGROUNDS} entries
+     * @return (Map): the new cache
+     */
+    private static Map<Integer, Background> newCache() {
+        return new LinkedHashMap<>(16, .75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Background> eldest) {
+                return size() > MAX_CACHED_BACKGROUNDS;
+            }
+        };
+    }
+
+}
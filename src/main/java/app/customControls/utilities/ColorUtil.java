@@ -214,7 +214,7 @@ public class ColorUtil {
         public static int[] fromRgbString(final String rgb) {
 
             // checks the validity of the rgb string
-            if (!StringUtil.Validation.isValidHsv(rgb)) return new int[]{255, 0, 0};
+            if (!StringUtil.Validation.isValidRgb(rgb)) return new int[]{255, 0, 0};
 
             final String[] parsed = rgb.replace("rgb", "")
                                        .replace("(", "")
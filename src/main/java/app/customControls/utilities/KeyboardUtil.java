@@ -44,7 +44,9 @@ public class KeyboardUtil {
         N,
         ENTER,
         ESC,
-        SPACE
+        SPACE,
+        UP,
+        DOWN
     }
 
     private static final HashMap<Letter, KeyCode> keyCodeCorrespondence = new HashMap<>();
@@ -78,6 +80,8 @@ public class KeyboardUtil {
         keyCodeCorrespondence.put(Letter.ENTER, KeyCode.ENTER);
         keyCodeCorrespondence.put(Letter.ESC, KeyCode.ESCAPE);
         keyCodeCorrespondence.put(Letter.SPACE, KeyCode.SPACE);
+        keyCodeCorrespondence.put(Letter.UP, KeyCode.UP);
+        keyCodeCorrespondence.put(Letter.DOWN, KeyCode.DOWN);
     }
 
     private static final HashMap<KeyCode, Letter> lettersCorrespondence = new HashMap<>();
@@ -111,6 +115,8 @@ public class KeyboardUtil {
         lettersCorrespondence.put(KeyCode.ENTER, Letter.ENTER);
         lettersCorrespondence.put(KeyCode.ESCAPE, Letter.ESC);
         lettersCorrespondence.put(KeyCode.SPACE, Letter.SPACE);
+        lettersCorrespondence.put(KeyCode.UP, Letter.UP);
+        lettersCorrespondence.put(KeyCode.DOWN, Letter.DOWN);
     }
 
     public enum Modifier implements Key {
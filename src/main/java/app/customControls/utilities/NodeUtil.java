@@ -1,5 +1,6 @@
 package app.customControls.utilities;
 
+import app.customControls.handlers.movementHandler.PositioningMode;
 import javafx.collections.ObservableList;
 import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
@@ -27,6 +28,57 @@ public class NodeUtil {
         node.setLayoutY(y);
     }
 
+    /**
+     * Moves a node to given coordinates in its parent
+     * @param node ({@link Node}): the node to move
+     * @param x (double): the node's new x-coordinate
+     * @param y (double): the node's new y-coordinate
+     * @param mode ({@link PositioningMode}): whether to move the node through its layout position or its translation
+     * @see #commitPosition(Node)
+     */
+    public static void positionAt(final Node node, final double x, final double y, final PositioningMode mode) {
+        if (mode == PositioningMode.LAYOUT) {
+            positionAt(node, x, y);
+            return;
+        }
+
+        // offsets the node from its layout position, which is left untouched
+        node.setTranslateX(x - node.getLayoutX());
+        node.setTranslateY(y - node.getLayoutY());
+    }
+
+    /**
+     * Transfers a node's translation to its layout position, once it has been moved through
+     * {@link PositioningMode#TRANSLATE}
+     * @param node ({@link Node}): the node
+     */
+    public static void commitPosition(final Node node) {
+        if (node.getTranslateX() == 0 && node.getTranslateY() == 0) return;
+
+        node.setLayoutX(node.getLayoutX() + node.getTranslateX());
+        node.setLayoutY(node.getLayoutY() + node.getTranslateY());
+        node.setTranslateX(0);
+        node.setTranslateY(0);
+    }
+
+    /**
+     * Getter for a node's x-coordinate in its parent, including any uncommitted translation
+     * @param node ({@link Node}): the node
+     * @return (double): the node's x-coordinate
+     */
+    public static double getPositionX(final Node node) {
+        return node.getLayoutX() + node.getTranslateX();
+    }
+
+    /**
+     * Getter for a node's y-coordinate in its parent, including any uncommitted translation
+     * @param node ({@link Node}): the node
+     * @return (double): the node's y-coordinate
+     */
+    public static double getPositionY(final Node node) {
+        return node.getLayoutY() + node.getTranslateY();
+    }
+
     public static Rectangle2D getActualNodeSize(final Node node, Insets insets) {
         final double width        = node.getBoundsInParent().getWidth();
         final double height       = node.getBoundsInParent().getHeight();
@@ -1,12 +1,10 @@
 package app.customControls.utilities;
 
+import app.customControls.handlers.input.InputSampler;
+import app.customControls.handlers.screenMetrics.ScreenMetrics;
 import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.image.WritableImage;
-import javafx.scene.robot.Robot;
-import javafx.stage.Screen;
-
-import java.awt.*;
 
 /**
  * Collection of helper methods used to get info concerning the system screen
@@ -14,32 +12,45 @@ import java.awt.*;
 public class ScreenUtil {
 
     public static Rectangle2D getScreenSize() {
-        return Screen.getPrimary().getBounds();
+        return ScreenMetrics.getShared().getBounds();
     }
 
     public static double getScreenWidth() {
-        return getScreenSize().getWidth();
+        return ScreenMetrics.getShared().getWidth();
     }
 
     public static double getScreenHeight() {
-        return getScreenSize().getHeight();
-    }
-
-    public static GraphicsConfiguration defaultGraphicsConfiguration() {
-        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        return ScreenMetrics.getShared().getHeight();
     }
 
+    /**
+     * Getter for the height of the taskbar, when it lies along the bottom of the screen
+     * @return (int): the space between the bottom of the screen & the bottom of its visual bounds
+     */
     public static int getTaskbarSize() {
-        return Toolkit.getDefaultToolkit().getScreenInsets(defaultGraphicsConfiguration()).bottom;
+        return (int) ScreenMetrics.getShared().getInsets().getBottom();
     }
 
+    /**
+     * Getter for the mouse's position, polled at most once per pulse by the shared {@link InputSampler}
+     * @return (Point2D): the mouse's position on the screen
+     * @implNote callers handling a mouse event should prefer the event's screen coordinates
+     */
     public static Point2D getMousePosition() {
-        return new Robot().getMousePosition();
+        return InputSampler.getShared().getMousePosition();
     }
 
     public static WritableImage getScreenShot() {
-        final Rectangle2D screenShotSize = new Rectangle2D(0, 0, getScreenWidth(), getScreenHeight());
-        return new Robot().getScreenCapture(null, screenShotSize);
+        return getScreenShot(getScreenSize());
+    }
+
+    /**
+     * Captures a region of the screens, for example one screen of a multi-screen layout
+     * @param bounds ({@link Rectangle2D}): the region to capture, in screen coordinates
+     * @return (WritableImage): the captured region
+     */
+    public static WritableImage getScreenShot(final Rectangle2D bounds) {
+        return InputSampler.getShared().getRobot().getScreenCapture(null, bounds);
     }
 
 }
@@ -36,7 +36,7 @@ public class StringUtil {
         // full color codes
         // hex
 
-        private static final String fullHexCode = "#?(([a-zA-Z0-9]){6})";
+        private static final String fullHexCode = "#?(([a-fA-F0-9]){6})";
 
         // rgb
 
@@ -3,7 +3,6 @@ module com.example.jfxcustomcomponents {
     requires javafx.fxml;
 
     requires org.kordamp.ikonli.javafx;
-    requires java.desktop;
 
     opens app.customControls to javafx.fxml;
     exports app.customControls;
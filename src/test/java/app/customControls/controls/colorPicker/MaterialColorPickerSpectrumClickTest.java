@@ -0,0 +1,114 @@
+package app.customControls.controls.colorPicker;
+
+import app.customControls.controls.HsvColorSelect.HsvColorSelect;
+import app.customControls.handlers.colorHistory.ColorHistory;
+import app.customControls.utilities.FxTestUtil;
+import javafx.event.Event;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that clicking the hsv spectrum, rather than dragging its pointer, picks the clicked color
+ */
+class MaterialColorPickerSpectrumClickTest {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private Stage stage;
+
+    // ===================================
+    //              SET-UP
+    // ===================================
+
+    @BeforeAll
+    static void startToolkit() {
+        assumeTrue(FxTestUtil.startToolkit(), "JavaFX toolkit unavailable");
+    }
+
+    @AfterEach
+    void closeStage() {
+        if (stage != null) FxTestUtil.runOnFxThread(stage::close);
+    }
+
+    // ===================================
+    //               TESTS
+    // ===================================
+
+    @Test
+    void clickingTheSpectrumPicksTheClickedColor() {
+        final MaterialColorPicker colorPicker = FxTestUtil.callOnFxThread(() -> new MaterialColorPicker(Color.RED));
+        final ColorHistory colorHistory = new ColorHistory(ColorHistory.DEFAULT_CAPACITY);
+        colorPicker.setColorHistory(colorHistory);
+        final Scene scene = FxTestUtil.callOnFxThread(() -> {
+            stage = new Stage();
+            stage.setScene(new Scene(new StackPane(colorPicker)));
+            stage.show();
+            return stage.getScene();
+        });
+        FxTestUtil.waitForPulse(scene);
+
+        final HsvColorSelect hsvColorSelect = find(colorPicker, HsvColorSelect.class);
+        final Parent displayPane = (Parent) hsvColorSelect.getChildrenUnmodifiable().get(0);
+        final Node spectrum = displayPane.getChildrenUnmodifiable().get(0);
+        final Color initialColor = colorPicker.getColor();
+        final int initialArgb = colorPicker.getColorModel().getArgb();
+
+        // clicks the middle of the spectrum, away from the pointer
+        FxTestUtil.runOnFxThread(() -> {
+            final Point2D click = spectrum.localToScene(
+                    spectrum.getLayoutBounds().getWidth() / 2,
+                    spectrum.getLayoutBounds().getHeight() / 2
+            );
+            Event.fireEvent(spectrum, mouseEvent(MouseEvent.MOUSE_PRESSED, click));
+            Event.fireEvent(spectrum, mouseEvent(MouseEvent.MOUSE_RELEASED, click));
+        });
+        FxTestUtil.waitForPulse(scene);
+
+        assertNotEquals(initialArgb, colorPicker.getColorModel().getArgb(), "the model should follow the click");
+        assertNotEquals(initialColor, colorPicker.getColor(), "the picker's color should follow the click");
+        assertEquals(hsvColorSelect.getPointerArgb(), colorPicker.getColorModel().getArgb());
+        assertEquals(1, colorHistory.size(), "the clicked color should be picked");
+        assertEquals(colorPicker.getColorModel().getArgb(), colorHistory.getArgb(0));
+        assertFalse(hsvColorSelect.isPointerMoving());
+    }
+
+    // ===================================
+    //              HELPERS
+    // ===================================
+
+    private static MouseEvent mouseEvent(final javafx.event.EventType<MouseEvent> type, final Point2D scene) {
+        return new MouseEvent(
+                type, scene.getX(), scene.getY(), scene.getX(), scene.getY(), MouseButton.PRIMARY, 1,
+                false, false, false, false, true, false, false, false, true, false, null
+        );
+    }
+
+    private static <T> T find(final Node node, final Class<T> type) {
+        if (type.isInstance(node)) return type.cast(node);
+        if (node instanceof Parent parent) {
+            for (Node child : parent.getChildrenUnmodifiable()) {
+                final T found = find(child, type);
+                if (found != null) return found;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,242 @@
+package app.customControls.controls.colorPicker;
+
+import app.customControls.handlers.colorHistory.ColorHistory;
+import app.customControls.utilities.FxTestUtil;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the construction time & retained heap of {@link MaterialColorPickerSkin MaterialColorPickerSkins}, for one
+ * picker & for a hundred, and checks that the rgb & hsv formats are only built once they are needed. The measures are
+ * reported in the assertion messages, and checked against budgets leaving ample room for slower machines
+ */
+class MaterialColorPickerStartupBenchmarkTest {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private static final int WARMUP_PICKERS = 20;
+    private static final int PICKER_COUNT = 100;
+    private static final int FIELDS_PER_FORMAT = 3;
+    private static final int MAX_COLLECTIONS = 10;
+    private static final long COLLECTION_PAUSE = 50;        // in millis
+    private static final long HEAP_TOLERANCE = 1024;        // in bytes
+    private static final double MAX_MILLIS_PER_PICKER = 50;
+    private static final double MAX_KILOBYTES_PER_PICKER = 100;
+
+    /**
+     * Construction time & retained heap of a batch of pickers
+     * @param nanos (long): time taken to build every picker & its skin
+     * @param bytes (long): heap retained by the pickers once built
+     */
+    private record Measure(long nanos, long bytes) {
+        private double millisPerPicker(final int count) {
+            return nanos / 1e6 / count;
+        }
+
+        private double kilobytesPerPicker(final int count) {
+            return bytes / 1024.0 / count;
+        }
+
+        private String describe(final int count) {
+            return String.format(
+                    "%d pickers: %.1f ms in total, %.2f ms & %.1f KB retained per picker",
+                    count,
+                    nanos / 1e6,
+                    millisPerPicker(count),
+                    kilobytesPerPicker(count)
+            );
+        }
+    }
+
+    // ===================================
+    //              SET-UP
+    // ===================================
+
+    @BeforeAll
+    static void startToolkit() {
+        assumeTrue(FxTestUtil.startToolkit(), "JavaFX toolkit unavailable");
+
+        // loads the classes, stylesheets & icon fonts once so that they are not counted against the first picker
+        FxTestUtil.runOnFxThread(() -> {
+            for (int i = 0; i < WARMUP_PICKERS; i++) createPicker();
+        });
+    }
+
+    private static MaterialColorPicker createPicker() {
+        final MaterialColorPicker colorPicker = new MaterialColorPicker(Color.RED);
+        colorPicker.setSkin(colorPicker.createDefaultSkin());
+        return colorPicker;
+    }
+
+    // ===================================
+    //             BENCHMARKS
+    // ===================================
+
+    @Test
+    void buildsOnePickerWithinBudget() {
+        final Measure measure = measure(1, false);
+
+        // (a single picker's heap is within the collector's noise, so only the batch measures assert on it)
+        assertTrue(measure.millisPerPicker(1) < MAX_MILLIS_PER_PICKER, measure.describe(1));
+    }
+
+    @Test
+    void buildsHundredPickersWithinBudget() {
+        final Measure measure = measure(PICKER_COUNT, false);
+
+        final String message = measure.describe(PICKER_COUNT);
+        assertTrue(measure.millisPerPicker(PICKER_COUNT) < MAX_MILLIS_PER_PICKER, message);
+        assertTrue(measure.kilobytesPerPicker(PICKER_COUNT) < MAX_KILOBYTES_PER_PICKER, message);
+    }
+
+    @Test
+    void lazyFormatsRetainLessHeapThanEveryFormat() {
+        final Measure lazy = measure(PICKER_COUNT, false);
+        final Measure eager = measure(PICKER_COUNT, true);
+
+        final String message = String.format(
+                "on demand, %s ; with every format built, %s",
+                lazy.describe(PICKER_COUNT),
+                eager.describe(PICKER_COUNT)
+        );
+        assertTrue(lazy.bytes < eager.bytes, message);
+    }
+
+    // ===================================
+    //               TESTS
+    // ===================================
+
+    @Test
+    void formatFieldsAreCreatedWhenFirstShown() {
+        final MaterialColorPicker colorPicker = FxTestUtil.callOnFxThread(() -> new MaterialColorPicker(Color.RED));
+        colorPicker.setColorHistory(new ColorHistory(ColorHistory.DEFAULT_CAPACITY));
+        final Stage stage = FxTestUtil.callOnFxThread(() -> {
+            final Stage window = new Stage();
+            window.setScene(new Scene(new StackPane(colorPicker)));
+            window.show();
+            return window;
+        });
+
+        try {
+            FxTestUtil.waitForPulse(stage.getScene());
+
+            // only the hex field exists at first
+            assertEquals(1, countTextFields(colorPicker));
+
+            selectFormat(colorPicker, ColorFormat.RGB);
+            assertEquals(1 + FIELDS_PER_FORMAT, countTextFields(colorPicker));
+
+            selectFormat(colorPicker, ColorFormat.HSV);
+            assertEquals(1 + 2 * FIELDS_PER_FORMAT, countTextFields(colorPicker));
+
+            // going back to a format reuses its fields
+            selectFormat(colorPicker, ColorFormat.RGB);
+            assertEquals(1 + 2 * FIELDS_PER_FORMAT, countTextFields(colorPicker));
+        } finally {
+            FxTestUtil.runOnFxThread(stage::close);
+        }
+    }
+
+    private static void selectFormat(final MaterialColorPicker colorPicker, final ColorFormat format) {
+        FxTestUtil.runOnFxThread(() -> formatBox(colorPicker).getSelectionModel().select(format));
+        FxTestUtil.waitForPulse(colorPicker.getScene());
+    }
+
+    // ===================================
+    //              HELPERS
+    // ===================================
+
+    /**
+     * Builds a batch of pickers, measuring how long it takes & how much heap they retain. The retained heap is the
+     * amount freed once the pickers are released, which is not skewed by garbage left over from earlier tests
+     * @param count (int): number of pickers to build
+     * @param everyFormat (boolean): whether to build every color format, as if they were all created eagerly
+     * @return (Measure): the batch's construction time & retained heap
+     */
+    private static Measure measure(final int count, final boolean everyFormat) {
+        final List<MaterialColorPicker> pickers = new ArrayList<>(count);
+        usedHeap();
+
+        final long nanos = FxTestUtil.callOnFxThread(() -> {
+            final long start = System.nanoTime();
+            for (int i = 0; i < count; i++) pickers.add(createPicker());
+            final long elapsed = System.nanoTime() - start;
+
+            if (everyFormat) {
+                for (MaterialColorPicker colorPicker : pickers) {
+                    formatBox(colorPicker).setValue(ColorFormat.RGB);
+                    formatBox(colorPicker).setValue(ColorFormat.HSV);
+                    formatBox(colorPicker).setValue(ColorFormat.HEX);
+                }
+            }
+            return elapsed;
+        });
+        assertEquals(count, pickers.size());
+
+        // releases the pickers & measures how much heap they held
+        final long heapWithPickers = usedHeap();
+        pickers.clear();
+        return new Measure(nanos, heapWithPickers - usedHeap());
+    }
+
+    /**
+     * Collects garbage until the used heap stops shrinking
+     * @return (long): the used heap, in bytes
+     */
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < MAX_COLLECTIONS; i++) {
+            System.gc();
+            try {
+                Thread.sleep(COLLECTION_PAUSE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            final long current = runtime.totalMemory() - runtime.freeMemory();
+            if (used - current < HEAP_TOLERANCE) return Math.min(used, current);
+            used = current;
+        }
+        return used;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ComboBox<ColorFormat> formatBox(final Node node) {
+        if (node instanceof ComboBox<?> comboBox) return (ComboBox<ColorFormat>) comboBox;
+        if (node instanceof Parent parent) {
+            for (Node child : parent.getChildrenUnmodifiable()) {
+                final ComboBox<ColorFormat> found = formatBox(child);
+                if (found != null) return found;
+            }
+        }
+        return null;
+    }
+
+    private static int countTextFields(final Node node) {
+        if (node instanceof TextField) return 1;
+        int count = 0;
+        if (node instanceof Parent parent) {
+            for (Node child : parent.getChildrenUnmodifiable()) count += countTextFields(child);
+        }
+        return count;
+    }
+
+}
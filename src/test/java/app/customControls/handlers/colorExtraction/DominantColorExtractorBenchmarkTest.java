@@ -0,0 +1,106 @@
+package app.customControls.handlers.colorExtraction;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the dominant colors of a 4K frame are extracted well under 100 ms, as required by the
+ * {@link app.customControls.controls.colorpickerOverlay.ColorPickerOverlay ColorPickerOverlay}'s suggestions
+ */
+class DominantColorExtractorBenchmarkTest {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private static final int WIDTH = 3840;
+    private static final int HEIGHT = 2160;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 15;
+    private static final long MAX_MEDIAN_MILLIS = 100;
+    private static final int BACKGROUND = 0xFF2B2B2B;
+    private static final int CHANNEL_TOLERANCE = 2;
+
+    private static DominantColorExtractor extractor;
+    private static IntBuffer frame;
+
+    // ===================================
+    //              SET-UP
+    // ===================================
+
+    @BeforeAll
+    static void createFrame() {
+        extractor = new DominantColorExtractor();
+
+        // a dark background covering most of the screen, with a noisy window & a few solid panels
+        final int[] pixels = new int[WIDTH * HEIGHT];
+        final Random random = new Random(42);
+        Arrays.fill(pixels, BACKGROUND);
+        fill(pixels, 200, 150, 1600, 1200, 0xFFF0F0F0);
+        fill(pixels, 2000, 300, 1400, 800, 0xFF1E88E5);
+        fill(pixels, 2000, 1300, 1400, 600, 0xFFE53935);
+        for (int y = 300; y < 1200; y++) {
+            for (int x = 300; x < 1700; x++) pixels[y * WIDTH + x] = 0xFF000000 | random.nextInt(0x1000000);
+        }
+
+        frame = IntBuffer.wrap(pixels);
+    }
+
+    @AfterAll
+    static void shutdown() {
+        extractor.shutdown();
+    }
+
+    private static void fill(final int[] pixels, final int x, final int y, final int width, final int height,
+                             final int argb) {
+        for (int row = y; row < y + height; row++) Arrays.fill(pixels, row * WIDTH + x, row * WIDTH + x + width, argb);
+    }
+
+    // ===================================
+    //               TESTS
+    // ===================================
+
+    @Test
+    void extracts4kFrameWellUnder100Milliseconds() {
+        for (int i = 0; i < WARMUP_RUNS; i++) extractor.extract(frame, DominantColorExtractor.DEFAULT_COLOR_COUNT);
+
+        final long[] durations = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            final long start = System.nanoTime();
+            extractor.extract(frame, DominantColorExtractor.DEFAULT_COLOR_COUNT);
+            durations[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(durations);
+
+        final double medianMillis = durations[MEASURED_RUNS / 2] / 1e6;
+        final String message = String.format(
+                "4K extraction took %.1f ms at the median & %.1f ms at best on %d cores, expected under %d ms",
+                medianMillis,
+                durations[0] / 1e6,
+                Runtime.getRuntime().availableProcessors(),
+                MAX_MEDIAN_MILLIS
+        );
+        assertTrue(medianMillis < MAX_MEDIAN_MILLIS, message);
+    }
+
+    @Test
+    void mostFrequentColorComesFirst() {
+        final int[] colors = extractor.extract(frame, DominantColorExtractor.DEFAULT_COLOR_COUNT);
+
+        // the noise falling into the background's box slightly shifts its average
+        for (int shift = 0; shift <= 16; shift += 8) {
+            final int expected = BACKGROUND >> shift & 0xFF;
+            final int actual = colors[0] >> shift & 0xFF;
+            final String message = String.format("channel was %d, expected %d", actual, expected);
+            assertTrue(Math.abs(expected - actual) <= CHANNEL_TOLERANCE, message);
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package app.customControls.handlers.movementHandler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the containment test & clamping of a {@link CircleConstraint}
+ */
+class CircleConstraintTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private final CircleConstraint constraint = new CircleConstraint(10, 20, 5);
+
+    @Test
+    void containsDiscAndItsEdge() {
+        assertTrue(constraint.contains(10, 20));
+        assertTrue(constraint.contains(15, 20));
+        assertTrue(constraint.contains(13, 24));
+        assertFalse(constraint.contains(15.01, 20));
+        assertFalse(constraint.contains(14, 24));
+    }
+
+    @Test
+    void leavesPointsInsideUnchanged() {
+        final MutablePoint2D point = new MutablePoint2D(12, 21);
+
+        assertSame(point, constraint.clamp(point));
+        assertEquals(12, point.getX());
+        assertEquals(21, point.getY());
+    }
+
+    @Test
+    void clampsPointsOutsideTowardsCenter() {
+        final MutablePoint2D point = constraint.clamp(new MutablePoint2D(10 + 30, 20 + 40));
+
+        assertEquals(13, point.getX(), EPSILON);
+        assertEquals(24, point.getY(), EPSILON);
+        assertTrue(constraint.contains(point.getX(), point.getY()));
+    }
+
+    @Test
+    void rejectsNegativeRadius() {
+        assertThrows(IllegalArgumentException.class, () -> new CircleConstraint(0, 0, -1));
+    }
+
+}
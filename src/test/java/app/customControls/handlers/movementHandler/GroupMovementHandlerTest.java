@@ -0,0 +1,291 @@
+package app.customControls.handlers.movementHandler;
+
+import app.customControls.handlers.pulse.LayoutPassCounter;
+import app.customControls.utilities.FxTestUtil;
+import javafx.beans.InvalidationListener;
+import javafx.collections.ListChangeListener;
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.PickResult;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Drags selections of a {@link GroupMovementHandler} headlessly, checking its event counters, that its per-frame cost
+ * does not depend on the number of selected nodes, and that clicks & drags keep the pane's stacking order
+ */
+class GroupMovementHandlerTest {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private static final int LARGE_SELECTION = 5_000;
+    private static final int FRAMES = 20;
+    private static final int EVENTS_PER_FRAME = 3;
+    private static final double NODE_SIZE = 4;
+    private static final double MAX_TIME_RATIO = 10;
+    private static final long TIME_TOLERANCE = 1_000_000;     // in nanos
+
+    private Stage stage;
+
+    /**
+     * Cost of the frames of a drag, once the selection has started moving
+     * @param layoutPasses (long): layout passes of the pane
+     * @param nodeMoves (long): layout position changes of the selected nodes
+     * @param medianNanos (long): median time taken to handle a frame's drag events
+     */
+    private record FrameCost(long layoutPasses, long nodeMoves, long medianNanos) {
+        @Override
+        public String toString() {
+            return String.format(
+                    "%d layout passes, %d node moves, %.3f ms per frame",
+                    layoutPasses,
+                    nodeMoves,
+                    medianNanos / 1e6
+            );
+        }
+    }
+
+    // ===================================
+    //              SET-UP
+    // ===================================
+
+    @BeforeAll
+    static void startToolkit() {
+        assumeTrue(FxTestUtil.startToolkit(), "JavaFX toolkit unavailable");
+    }
+
+    @AfterEach
+    void closeStage() {
+        if (stage != null) FxTestUtil.runOnFxThread(stage::close);
+    }
+
+    private Pane show(final int nodeCount) {
+        return FxTestUtil.callOnFxThread(() -> {
+            final Pane pane = new Pane();
+            for (int i = 0; i < nodeCount; i++) {
+                final Region node = new Region();
+                node.setFocusTraversable(true);
+                node.resize(NODE_SIZE, NODE_SIZE);
+                node.relocate(i % 100 * NODE_SIZE, i / 100 * NODE_SIZE);
+                pane.getChildren().add(node);
+            }
+
+            stage = new Stage();
+            stage.setScene(new Scene(pane, 400, 400));
+            stage.show();
+            return pane;
+        });
+    }
+
+    // ===================================
+    //               TESTS
+    // ===================================
+
+    @Test
+    void countsReceivedAndAppliedEvents() {
+        final Pane pane = show(3);
+        final GroupMovementHandler movementHandler = FxTestUtil.callOnFxThread(() -> {
+            final GroupMovementHandler handler = new GroupMovementHandler(pane);
+            handler.selectAll(pane.getChildren());
+            return handler;
+        });
+
+        drag(pane, movementHandler, FRAMES);
+
+        assertEquals(FRAMES * EVENTS_PER_FRAME, movementHandler.getReceivedEventCount());
+        assertEquals(FRAMES, movementHandler.getAppliedEventCount());
+    }
+
+    @Test
+    void frameCostDoesNotDependOnSelectionSize() {
+        final FrameCost single = measureFrameCost(1);
+        closeStage();
+        final FrameCost large = measureFrameCost(LARGE_SELECTION);
+
+        final String message = String.format("1 node: %s, %d nodes: %s", single, LARGE_SELECTION, large);
+        assertEquals(0, single.layoutPasses, message);
+        assertEquals(0, large.layoutPasses, message);
+        assertEquals(0, single.nodeMoves, message);
+        assertEquals(0, large.nodeMoves, message);
+        assertTrue(large.medianNanos <= single.medianNanos * MAX_TIME_RATIO + TIME_TOLERANCE, message);
+    }
+
+    @Test
+    void clickWithoutDragLeavesNodesInPlace() {
+        final Pane pane = show(5);
+        final List<Node> initialOrder = FxTestUtil.callOnFxThread(() -> new ArrayList<>(pane.getChildren()));
+        final Node clicked = initialOrder.get(1);
+        final GroupMovementHandler movementHandler = FxTestUtil.callOnFxThread(() -> {
+            final GroupMovementHandler handler = new GroupMovementHandler(pane);
+            handler.selectAll(Arrays.asList(clicked, initialOrder.get(3)));
+            clicked.requestFocus();
+            return handler;
+        });
+
+        final AtomicInteger childrenChanges = new AtomicInteger();
+        final ListChangeListener<Node> childrenListener = change -> childrenChanges.incrementAndGet();
+        FxTestUtil.runOnFxThread(() -> pane.getChildren().addListener(childrenListener));
+
+        final Point2D center = centerOf(clicked);
+        FxTestUtil.runOnFxThread(() -> {
+            Event.fireEvent(clicked, mouseEvent(MouseEvent.MOUSE_PRESSED, clicked, center));
+            Event.fireEvent(clicked, mouseEvent(MouseEvent.MOUSE_RELEASED, clicked, center));
+        });
+        FxTestUtil.waitForPulse(pane.getScene());
+
+        assertEquals(0, childrenChanges.get(), "a click should not reparent the selection");
+        assertEquals(initialOrder, FxTestUtil.callOnFxThread(() -> new ArrayList<>(pane.getChildren())));
+        assertTrue(clicked.isFocused(), "the clicked node should keep its focus");
+        assertFalse(movementHandler.isDragging());
+    }
+
+    @Test
+    void stackingOrderSurvivesDrag() {
+        final Pane pane = show(6);
+        final List<Node> initialOrder = FxTestUtil.callOnFxThread(() -> new ArrayList<>(pane.getChildren()));
+        final List<Node> selected = Arrays.asList(initialOrder.get(1), initialOrder.get(4));
+        final double[] initialX = FxTestUtil.callOnFxThread(() -> initialOrder.stream()
+                .mapToDouble(Node::getLayoutX)
+                .toArray());
+        final GroupMovementHandler movementHandler = FxTestUtil.callOnFxThread(() -> {
+            final GroupMovementHandler handler = new GroupMovementHandler(pane);
+            handler.selectAll(selected);
+            selected.get(0).requestFocus();
+            return handler;
+        });
+
+        drag(pane, movementHandler, FRAMES);
+
+        assertEquals(initialOrder, FxTestUtil.callOnFxThread(() -> new ArrayList<>(pane.getChildren())));
+        for (int i = 0; i < initialOrder.size(); i++) {
+            final double expectedX = initialX[i] + (selected.contains(initialOrder.get(i)) ? FRAMES : 0);
+            assertEquals(expectedX, initialOrder.get(i).getLayoutX(), String.format("node %d", i));
+        }
+        assertTrue(selected.get(0).isFocused(), "the dragged node should keep its focus");
+    }
+
+    // ===================================
+    //              HELPERS
+    // ===================================
+
+    /**
+     * Drags a whole selection, measuring the cost of the frames which follow its first move
+     * @param nodeCount (int): the number of selected nodes
+     * @return (FrameCost): the cost of the drag's frames
+     */
+    private FrameCost measureFrameCost(final int nodeCount) {
+        final Pane pane = show(nodeCount);
+        final GroupMovementHandler movementHandler = FxTestUtil.callOnFxThread(() -> {
+            final GroupMovementHandler handler = new GroupMovementHandler(pane);
+            handler.selectAll(pane.getChildren());
+            return handler;
+        });
+        final List<Node> nodes = FxTestUtil.callOnFxThread(() -> new ArrayList<>(pane.getChildren()));
+
+        // starts moving the selection, which is then moved into its temporary container
+        final Node first = nodes.get(0);
+        final Point2D start = centerOf(first);
+        FxTestUtil.runOnFxThread(() -> Event.fireEvent(first, mouseEvent(MouseEvent.MOUSE_PRESSED, first, start)));
+        dragFrame(first, start, 0);
+        FxTestUtil.waitForPulse(pane.getScene());
+
+        // counts what every following frame touches
+        final AtomicInteger nodeMoves = new AtomicInteger();
+        final InvalidationListener moveListener = observable -> nodeMoves.incrementAndGet();
+        final LayoutPassCounter counter = FxTestUtil.callOnFxThread(() -> {
+            for (Node node : nodes) {
+                node.layoutXProperty().addListener(moveListener);
+                node.layoutYProperty().addListener(moveListener);
+            }
+            return new LayoutPassCounter(pane);
+        });
+
+        final long[] durations = new long[FRAMES];
+        for (int frame = 1; frame <= FRAMES; frame++) {
+            durations[frame - 1] = dragFrame(first, start, frame);
+            FxTestUtil.waitForPulse(pane.getScene());
+        }
+        FxTestUtil.runOnFxThread(counter::dispose);
+        final long moves = nodeMoves.get();
+
+        FxTestUtil.runOnFxThread(() -> Event.fireEvent(first, mouseEvent(MouseEvent.MOUSE_RELEASED, first, start)));
+        Arrays.sort(durations);
+        return new FrameCost(counter.getLayoutPassCount(), moves, durations[FRAMES / 2]);
+    }
+
+    /**
+     * Presses the first selected node, drags it by a pixel per frame along the x-axis & releases it
+     * @param pane ({@link Pane}): the pane holding the selection
+     * @param movementHandler ({@link GroupMovementHandler}): the pane's handler
+     * @param frames (int): the number of frames to drag for
+     */
+    private static void drag(final Pane pane, final GroupMovementHandler movementHandler, final int frames) {
+        final Node pressed = FxTestUtil.callOnFxThread(() -> pane.getChildren().stream()
+                .filter(movementHandler::isSelected)
+                .findFirst()
+                .orElseThrow());
+        final Point2D start = centerOf(pressed);
+
+        FxTestUtil.runOnFxThread(() -> Event.fireEvent(pressed, mouseEvent(MouseEvent.MOUSE_PRESSED, pressed, start)));
+        for (int frame = 1; frame <= frames; frame++) {
+            dragFrame(pressed, start, frame);
+            FxTestUtil.waitForPulse(pane.getScene());
+        }
+        final Point2D end = start.add(frames, 0);
+        FxTestUtil.runOnFxThread(() -> Event.fireEvent(pressed, mouseEvent(MouseEvent.MOUSE_RELEASED, pressed, end)));
+        FxTestUtil.waitForPulse(pane.getScene());
+    }
+
+    /**
+     * Sends a frame's worth of drag events, the last one reaching the frame's offset
+     * @param node ({@link Node}): the dragged node
+     * @param start ({@link Point2D}): scene coordinates at which the drag started
+     * @param offset (double): distance dragged by the end of the frame, along the x-axis
+     * @return (long): time taken to handle the frame's events, in nanos
+     */
+    private static long dragFrame(final Node node, final Point2D start, final double offset) {
+        return FxTestUtil.callOnFxThread(() -> {
+            final long begin = System.nanoTime();
+            for (int event = 1; event <= EVENTS_PER_FRAME; event++) {
+                final double x = offset - 1 + (double) event / EVENTS_PER_FRAME;
+                Event.fireEvent(node, mouseEvent(MouseEvent.MOUSE_DRAGGED, node, start.add(x, 0)));
+            }
+            return System.nanoTime() - begin;
+        });
+    }
+
+    private static Point2D centerOf(final Node node) {
+        return FxTestUtil.callOnFxThread(() -> node.localToScene(NODE_SIZE / 2, NODE_SIZE / 2));
+    }
+
+    private static MouseEvent mouseEvent(final EventType<MouseEvent> type, final Node node, final Point2D scene) {
+        final double x = scene.getX();
+        final double y = scene.getY();
+        return new MouseEvent(
+                node, node, type, x, y, x, y, MouseButton.PRIMARY, 1,
+                false, false, false, false, true, false, false, false, false, false, new PickResult(node, x, y)
+        );
+    }
+
+}
@@ -0,0 +1,143 @@
+package app.customControls.handlers.movementHandler;
+
+import app.customControls.utilities.FxTestUtil;
+import javafx.event.EventHandler;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Counts the bytes allocated by the JavaFX application thread while a {@link MovementHandler} drags its node, each
+ * drag step receiving an event, moving the node & reading the pointer's position
+ */
+class MovementHandlerAllocationTest {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private static final int WARMUP_STEPS = 20_000;
+    private static final int DRAG_STEPS = 10_000;
+    private static final int ROUNDS = 20;
+    private static final int EVENT_COUNT = 64;      // distinct drag positions, reused in turn
+    private static final double NODE_SIZE = 10;
+
+    private static com.sun.management.ThreadMXBean threadBean;
+
+    // ===================================
+    //              SET-UP
+    // ===================================
+
+    @BeforeAll
+    static void startToolkit() {
+        assumeTrue(FxTestUtil.startToolkit(), "JavaFX toolkit unavailable");
+
+        // allocation counters are a HotSpot extension
+        final boolean isHotSpot = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean;
+        assumeTrue(isHotSpot, "thread allocation counters unavailable");
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "thread allocation counters unsupported");
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    // ===================================
+    //               TESTS
+    // ===================================
+
+    @Test
+    void dragStepsDoNotAllocate() {
+        final long allocated = FxTestUtil.callOnFxThread(() -> {
+            final Region node = createNode();
+            final MovementHandler movementHandler = new MovementHandler(node, new MovementBounds(0, 500, 0, 500));
+            movementHandler.setCentered(true);
+            return measureDrag(node, movementHandler);
+        });
+
+        assertEquals(0, allocated, String.format("%d drag steps allocated %d bytes", DRAG_STEPS, allocated));
+    }
+
+    @Test
+    void inertialTranslatedDragStepsDoNotAllocate() {
+        final long allocated = FxTestUtil.callOnFxThread(() -> {
+            final Region node = createNode();
+            final MovementHandler movementHandler = new MovementHandler(node, new MovementBounds(0, 500, 0, 500));
+            movementHandler.setPositioningMode(PositioningMode.TRANSLATE);
+            movementHandler.setInertial(true);
+            movementHandler.setConstraint(new CircleConstraint(250, 250, 200));
+            return measureDrag(node, movementHandler);
+        });
+
+        assertEquals(0, allocated, String.format("%d drag steps allocated %d bytes", DRAG_STEPS, allocated));
+    }
+
+    // ===================================
+    //              HELPERS
+    // ===================================
+
+    private static Region createNode() {
+        final Region node = new Region();
+        node.resize(NODE_SIZE, NODE_SIZE);
+        new Pane(node);
+        return node;
+    }
+
+    /**
+     * Drags a node back & forth, measuring the bytes allocated by the steps once they are warmed up. The least
+     * allocating of several rounds is kept, as the JIT may briefly materialise objects while recompiling the steps
+     * @param node ({@link Region}): the dragged node
+     * @param movementHandler ({@link MovementHandler}): the node's movement handler
+     * @return (long): the bytes allocated by the least allocating round of drag steps
+     */
+    private static long measureDrag(final Region node, final MovementHandler movementHandler) {
+
+        // events are created beforehand, dispatching them being outside the handler's control
+        final MouseEvent[] events = new MouseEvent[EVENT_COUNT];
+        for (int i = 0; i < EVENT_COUNT; i++) events[i] = dragEvent(node, 20 * Math.sin(i * 2 * Math.PI / EVENT_COUNT));
+        final EventHandler<? super MouseEvent> dragListener = node.getOnMouseDragged();
+
+        dragSteps(events, dragListener, movementHandler, WARMUP_STEPS);
+
+        final long threadId = Thread.currentThread().getId();
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS && allocated > 0; round++) {
+            final long before = threadBean.getThreadAllocatedBytes(threadId);
+            dragSteps(events, dragListener, movementHandler, DRAG_STEPS);
+            final long after = threadBean.getThreadAllocatedBytes(threadId);
+            allocated = Math.min(allocated, after - before);
+        }
+        return allocated;
+    }
+
+    private static void dragSteps(
+            final MouseEvent[] events,
+            final EventHandler<? super MouseEvent> dragListener,
+            final MovementHandler movementHandler,
+            final int steps
+    ) {
+        double sum = 0;
+        for (int i = 0; i < steps; i++) {
+            dragListener.handle(events[i % EVENT_COUNT]);
+            movementHandler.flushMovement();
+            sum += movementHandler.getPointerX() + movementHandler.getPointerY();
+        }
+        if (Double.isNaN(sum)) throw new IllegalStateException("pointer position is not a number");
+    }
+
+    private static MouseEvent dragEvent(final Region node, final double offset) {
+        final double x = NODE_SIZE / 2 + offset;
+        final double y = NODE_SIZE / 2 - offset;
+        return new MouseEvent(
+                node, node, MouseEvent.MOUSE_DRAGGED, x, y, x, y, MouseButton.PRIMARY, 1,
+                false, false, false, false, true, false, false, false, false, false, null
+        );
+    }
+
+}
@@ -0,0 +1,220 @@
+package app.customControls.handlers.movementHandler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the containment test & clamping of a {@link PolygonConstraint} against an exhaustive even-odd test, around
+ * reflex vertices, on the polygon's boundary & beyond its grid
+ */
+class PolygonConstraintTest {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private static final double EPSILON = 1e-9;
+    private static final int SAMPLES = 100_000;
+
+    // L-shaped polygon, with a reflex vertex at (50, 50)
+    private static final double[] L_XS = {0, 100, 100, 50, 50, 0};
+    private static final double[] L_YS = {0, 0, 50, 50, 100, 100};
+
+    // five-pointed star, with a reflex vertex between each point
+    private static final double[] STAR_XS = new double[10];
+    private static final double[] STAR_YS = new double[10];
+
+    static {
+        for (int i = 0; i < STAR_XS.length; i++) {
+            final double angle = Math.PI * i / 5;
+            final double radius = i % 2 == 0 ? 100 : 38;
+            STAR_XS[i] = radius * Math.cos(angle);
+            STAR_YS[i] = radius * Math.sin(angle);
+        }
+    }
+
+    // ===================================
+    //               TESTS
+    // ===================================
+
+    @Test
+    void containsPointsAroundReflexVertexWithCoarseCells() {
+        final PolygonConstraint constraint = new PolygonConstraint(L_XS, L_YS, 10);
+
+        assertTrue(constraint.contains(49.9, 50.1));
+        assertTrue(constraint.contains(50.1, 49.9));
+        assertFalse(constraint.contains(50.1, 50.1));
+        assertFalse(constraint.contains(54, 51));
+        assertFalse(constraint.contains(51, 54));
+    }
+
+    @Test
+    void containsItsBoundary() {
+        final PolygonConstraint constraint = new PolygonConstraint(L_XS, L_YS, 10);
+
+        assertTrue(constraint.contains(50, 50));
+        assertTrue(constraint.contains(50, 75));
+        assertTrue(constraint.contains(75, 50));
+        assertTrue(constraint.contains(0, 0));
+        assertTrue(constraint.contains(100, 25));
+    }
+
+    @Test
+    void matchesExhaustiveTestForLShape() {
+        assertMatchesExhaustiveTest(L_XS, L_YS, new PolygonConstraint(L_XS, L_YS, 10), -20, 120);
+        assertMatchesExhaustiveTest(L_XS, L_YS, new PolygonConstraint(L_XS, L_YS), -20, 120);
+    }
+
+    @Test
+    void matchesExhaustiveTestForStar() {
+        assertMatchesExhaustiveTest(STAR_XS, STAR_YS, new PolygonConstraint(STAR_XS, STAR_YS, 7), -120, 120);
+        assertMatchesExhaustiveTest(STAR_XS, STAR_YS, new PolygonConstraint(STAR_XS, STAR_YS), -120, 120);
+    }
+
+    @Test
+    void matchesExhaustiveTestWhenCellCentersLieOnEdges() {
+        // the hypotenuse runs through the centers of the cells it crosses
+        final double[] xs = {0, 10, 0};
+        final double[] ys = {0, 0, 10};
+        final PolygonConstraint constraint = new PolygonConstraint(xs, ys, 1);
+
+        assertTrue(constraint.contains(4.5, 5.5));
+        assertTrue(constraint.contains(4.49, 5.5));
+        assertFalse(constraint.contains(4.51, 5.5));
+        assertMatchesExhaustiveTest(xs, ys, constraint, -2, 12);
+    }
+
+    @Test
+    void rejectsPointsBeyondGrid() {
+        final PolygonConstraint constraint = new PolygonConstraint(L_XS, L_YS, 10);
+
+        assertFalse(constraint.contains(-1_000, 50));
+        assertFalse(constraint.contains(1e6, 1e6));
+        assertFalse(constraint.contains(25, Double.MAX_VALUE));
+    }
+
+    @Test
+    void clampsPointsBeyondGridOntoClosestEdge() {
+        final PolygonConstraint constraint = new PolygonConstraint(L_XS, L_YS);
+
+        assertClampedTo(constraint, -1_000, 25, 0, 25);
+        assertClampedTo(constraint, 200, 25, 100, 25);
+        assertClampedTo(constraint, 25, 1e6, 25, 100);
+    }
+
+    @Test
+    void clampsPointsInsideReflexCornerOntoClosestEdge() {
+        final PolygonConstraint constraint = new PolygonConstraint(L_XS, L_YS);
+
+        assertClampedTo(constraint, 80, 60, 80, 50);
+        assertClampedTo(constraint, 60, 80, 50, 80);
+    }
+
+    @Test
+    void leavesPointsInsideUnchanged() {
+        final PolygonConstraint constraint = new PolygonConstraint(L_XS, L_YS);
+        final MutablePoint2D point = new MutablePoint2D(25, 75);
+
+        assertSame(point, constraint.clamp(point));
+        assertEquals(25, point.getX());
+        assertEquals(75, point.getY());
+    }
+
+    @Test
+    void rejectsInvalidPolygons() {
+        assertThrows(IllegalArgumentException.class, () -> new PolygonConstraint(new double[2], new double[2]));
+        assertThrows(IllegalArgumentException.class, () -> new PolygonConstraint(new double[3], new double[4]));
+        assertThrows(IllegalArgumentException.class, () -> new PolygonConstraint(L_XS, L_YS, 0));
+    }
+
+    // ===================================
+    //              HELPERS
+    // ===================================
+
+    /**
+     * Compares a constraint's containment test to an exhaustive one, for random points & points lying on a lattice
+     * aligned with the polygon's vertices
+     * @param xs (double[]): x-coordinates of the polygon's vertices
+     * @param ys (double[]): y-coordinates of the polygon's vertices
+     * @param constraint ({@link PolygonConstraint}): the polygon's constraint
+     * @param min (double): smallest coordinate of the points to test
+     * @param max (double): largest coordinate of the points to test
+     */
+    private static void assertMatchesExhaustiveTest(
+            final double[] xs,
+            final double[] ys,
+            final PolygonConstraint constraint,
+            final double min,
+            final double max
+    ) {
+        final Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            final double x = min + random.nextDouble() * (max - min);
+            final double y = min + random.nextDouble() * (max - min);
+            assertContains(xs, ys, constraint, x, y);
+        }
+
+        for (double x = min; x <= max; x += 0.5) {
+            for (double y = min; y <= max; y += 0.5) assertContains(xs, ys, constraint, x, y);
+        }
+    }
+
+    private static void assertContains(
+            final double[] xs,
+            final double[] ys,
+            final PolygonConstraint constraint,
+            final double x,
+            final double y
+    ) {
+        assertEquals(exhaustiveContains(xs, ys, x, y), constraint.contains(x, y), String.format("(%f, %f)", x, y));
+    }
+
+    /**
+     * Even-odd test checking every edge, points on the boundary being contained
+     * @param xs (double[]): x-coordinates of the polygon's vertices
+     * @param ys (double[]): y-coordinates of the polygon's vertices
+     * @param x (double): the point's x-coordinate
+     * @param y (double): the point's y-coordinate
+     * @return (boolean): whether the polygon contains the point
+     */
+    private static boolean exhaustiveContains(final double[] xs, final double[] ys, final double x, final double y) {
+        boolean inside = false;
+        for (int i = 0; i < xs.length; i++) {
+            final int next = (i + 1) % xs.length;
+            final double dx = xs[next] - xs[i];
+            final double dy = ys[next] - ys[i];
+
+            // points on an edge lie on its line, between its ends
+            final boolean onLine = dx * (y - ys[i]) - dy * (x - xs[i]) == 0;
+            if (onLine && x >= Math.min(xs[i], xs[next]) && x <= Math.max(xs[i], xs[next])
+                    && y >= Math.min(ys[i], ys[next]) && y <= Math.max(ys[i], ys[next])) return true;
+
+            if ((ys[i] > y) == (ys[next] > y)) continue;
+            if (x < xs[i] + (y - ys[i]) / dy * dx) inside = !inside;
+        }
+        return inside;
+    }
+
+    private static void assertClampedTo(
+            final PolygonConstraint constraint,
+            final double x,
+            final double y,
+            final double expectedX,
+            final double expectedY
+    ) {
+        final MutablePoint2D point = constraint.clamp(new MutablePoint2D(x, y));
+        final String message = String.format("(%f, %f) clamped to (%f, %f)", x, y, point.getX(), point.getY());
+
+        assertEquals(expectedX, point.getX(), EPSILON, message);
+        assertEquals(expectedY, point.getY(), EPSILON, message);
+        assertTrue(constraint.contains(point.getX(), point.getY()), message);
+    }
+
+}
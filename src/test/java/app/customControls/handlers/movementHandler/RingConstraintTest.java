@@ -0,0 +1,69 @@
+package app.customControls.handlers.movementHandler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the containment test & clamping of a {@link RingConstraint}, on both sides of the ring
+ */
+class RingConstraintTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private final RingConstraint constraint = new RingConstraint(0, 0, 10, 20);
+
+    @Test
+    void containsRingAndItsEdges() {
+        assertTrue(constraint.contains(15, 0));
+        assertTrue(constraint.contains(0, -10));
+        assertTrue(constraint.contains(12, 16));
+        assertFalse(constraint.contains(0, 0));
+        assertFalse(constraint.contains(6, 7.99));
+        assertFalse(constraint.contains(12, 16.01));
+    }
+
+    @Test
+    void leavesPointsInsideUnchanged() {
+        final MutablePoint2D point = new MutablePoint2D(-15, 3);
+
+        assertSame(point, constraint.clamp(point));
+        assertEquals(-15, point.getX());
+        assertEquals(3, point.getY());
+    }
+
+    @Test
+    void clampsPointsInHoleOntoInnerEdge() {
+        final MutablePoint2D point = constraint.clamp(new MutablePoint2D(-3, 4));
+
+        assertEquals(-6, point.getX(), EPSILON);
+        assertEquals(8, point.getY(), EPSILON);
+    }
+
+    @Test
+    void clampsPointsBeyondOntoOuterEdge() {
+        final MutablePoint2D point = constraint.clamp(new MutablePoint2D(30, -40));
+
+        assertEquals(12, point.getX(), EPSILON);
+        assertEquals(-16, point.getY(), EPSILON);
+    }
+
+    @Test
+    void clampsCenterOntoRightMostInnerPoint() {
+        final MutablePoint2D point = constraint.clamp(new MutablePoint2D(0, 0));
+
+        assertEquals(10, point.getX());
+        assertEquals(0, point.getY());
+    }
+
+    @Test
+    void rejectsInvalidRadii() {
+        assertThrows(IllegalArgumentException.class, () -> new RingConstraint(0, 0, -1, 5));
+        assertThrows(IllegalArgumentException.class, () -> new RingConstraint(0, 0, 6, 5));
+    }
+
+}
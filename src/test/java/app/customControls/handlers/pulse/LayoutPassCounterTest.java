@@ -0,0 +1,208 @@
+package app.customControls.handlers.pulse;
+
+import app.customControls.controls.loopSlider.LoopSlider;
+import app.customControls.handlers.movementHandler.MovementHandler;
+import app.customControls.handlers.movementHandler.PositioningMode;
+import app.customControls.utilities.FxTestUtil;
+import javafx.event.Event;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Uses a {@link LayoutPassCounter} to compare the layout passes caused per frame by a {@link LoopSlider}'s thumb & a
+ * {@link MovementHandler}'s drag, once in {@link PositioningMode#LAYOUT LAYOUT} mode & once in
+ * {@link PositioningMode#TRANSLATE TRANSLATE} mode
+ */
+class LayoutPassCounterTest {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private static final int FRAMES = 30;
+    private static final double NODE_SIZE = 20;
+
+    private Stage stage;
+
+    /**
+     * Layout passes counted over a number of frames
+     * @param layoutPasses (long): layout passes of the moved node's parent
+     * @param frames (long): pulses counted meanwhile
+     */
+    private record Count(long layoutPasses, long frames) {
+        private double perFrame() {
+            return frames == 0 ? 0 : (double) layoutPasses / frames;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d layout passes over %d frames (%.2f per frame)", layoutPasses, frames, perFrame());
+        }
+    }
+
+    // ===================================
+    //              SET-UP
+    // ===================================
+
+    @BeforeAll
+    static void startToolkit() {
+        assumeTrue(FxTestUtil.startToolkit(), "JavaFX toolkit unavailable");
+    }
+
+    @AfterEach
+    void closeStage() {
+        if (stage != null) FxTestUtil.runOnFxThread(stage::close);
+    }
+
+    private Scene show(final Parent root) {
+        return FxTestUtil.callOnFxThread(() -> {
+            stage = new Stage();
+            stage.setScene(new Scene(root, 400, 200));
+            stage.show();
+            return stage.getScene();
+        });
+    }
+
+    // ===================================
+    //               TESTS
+    // ===================================
+
+    @Test
+    void translatedLoopSliderThumbCausesNoLayoutPass() {
+        final LoopSlider loopSlider = FxTestUtil.callOnFxThread(() -> new LoopSlider(0, 100, 0));
+        final Scene scene = show(new StackPane(loopSlider));
+        waitForPulses(scene, 3);
+        final Parent thumbParent = FxTestUtil.callOnFxThread(() -> loopSlider.lookup(".thumb").getParent());
+
+        final Count layout = countSliderMoves(scene, loopSlider, thumbParent, PositioningMode.LAYOUT);
+        final Count translate = countSliderMoves(scene, loopSlider, thumbParent, PositioningMode.TRANSLATE);
+
+        final String message = String.format("LAYOUT: %s, TRANSLATE: %s", layout, translate);
+        assertTrue(layout.layoutPasses >= FRAMES, message);
+        assertEquals(0, translate.layoutPasses, message);
+    }
+
+    @Test
+    void translatedDragCausesNoLayoutPass() {
+        final Region node = new Region();
+        final Pane pane = FxTestUtil.callOnFxThread(() -> {
+            node.setPrefSize(NODE_SIZE, NODE_SIZE);
+            return new Pane(node);
+        });
+        final Scene scene = show(pane);
+        final MovementHandler movementHandler = FxTestUtil.callOnFxThread(() -> new MovementHandler(node));
+        waitForPulses(scene, 3);
+
+        final Count layout = countDragMoves(scene, node, movementHandler, PositioningMode.LAYOUT);
+        final Count translate = countDragMoves(scene, node, movementHandler, PositioningMode.TRANSLATE);
+
+        final String message = String.format("LAYOUT: %s, TRANSLATE: %s", layout, translate);
+        assertTrue(layout.layoutPasses >= FRAMES, message);
+        assertEquals(0, translate.layoutPasses, message);
+    }
+
+    // ===================================
+    //              HELPERS
+    // ===================================
+
+    /**
+     * Moves a slider's value once per frame, counting the layout passes of its thumb's parent
+     * @param scene ({@link Scene}): the slider's scene
+     * @param loopSlider ({@link LoopSlider}): the slider
+     * @param thumbParent ({@link Parent}): the parent of the slider's thumb
+     * @param mode ({@link PositioningMode}): how the thumb is moved
+     * @return (Count): the layout passes counted
+     */
+    private static Count countSliderMoves(
+            final Scene scene,
+            final LoopSlider loopSlider,
+            final Parent thumbParent,
+            final PositioningMode mode
+    ) {
+        FxTestUtil.runOnFxThread(() -> loopSlider.setPositioningMode(mode));
+        FxTestUtil.waitForPulse(scene);
+
+        final LayoutPassCounter counter = FxTestUtil.callOnFxThread(() -> new LayoutPassCounter(thumbParent));
+        FxTestUtil.runOnFxThread(counter::start);
+        for (int frame = 1; frame <= FRAMES; frame++) {
+            final double value = frame;
+            FxTestUtil.runOnFxThread(() -> loopSlider.setValue(value));
+            FxTestUtil.waitForPulse(scene);
+        }
+        return stopCounting(counter);
+    }
+
+    /**
+     * Drags a node by a few pixels once per frame, counting the layout passes of its parent
+     * @param scene ({@link Scene}): the node's scene
+     * @param node ({@link Node}): the dragged node
+     * @param movementHandler ({@link MovementHandler}): the node's movement handler
+     * @param mode ({@link PositioningMode}): how the node is moved
+     * @return (Count): the layout passes counted
+     */
+    private static Count countDragMoves(
+            final Scene scene,
+            final Node node,
+            final MovementHandler movementHandler,
+            final PositioningMode mode
+    ) {
+        FxTestUtil.runOnFxThread(() -> movementHandler.setPositioningMode(mode));
+        final Point2D start = FxTestUtil.callOnFxThread(() -> node.localToScene(NODE_SIZE / 2, NODE_SIZE / 2));
+        FxTestUtil.runOnFxThread(() -> Event.fireEvent(node, mouseEvent(MouseEvent.MOUSE_PRESSED, start, 0)));
+        FxTestUtil.waitForPulse(scene);
+
+        final LayoutPassCounter counter = FxTestUtil.callOnFxThread(() -> new LayoutPassCounter(node.getParent()));
+        FxTestUtil.runOnFxThread(counter::start);
+        for (int frame = 1; frame <= FRAMES; frame++) {
+            final int offset = frame;
+            FxTestUtil.runOnFxThread(() -> Event.fireEvent(node, mouseEvent(MouseEvent.MOUSE_DRAGGED, start, offset)));
+            FxTestUtil.waitForPulse(scene);
+        }
+        final Count count = stopCounting(counter);
+
+        // the release commits the position, which is laid out once
+        FxTestUtil.runOnFxThread(() -> Event.fireEvent(node, mouseEvent(MouseEvent.MOUSE_RELEASED, start, FRAMES)));
+        FxTestUtil.waitForPulse(scene);
+        return count;
+    }
+
+    private static Count stopCounting(final LayoutPassCounter counter) {
+        return FxTestUtil.callOnFxThread(() -> {
+            counter.dispose();
+            return new Count(counter.getLayoutPassCount(), counter.getPulseCount());
+        });
+    }
+
+    private static void waitForPulses(final Scene scene, final int pulses) {
+        for (int i = 0; i < pulses; i++) FxTestUtil.waitForPulse(scene);
+    }
+
+    private static MouseEvent mouseEvent(
+            final javafx.event.EventType<MouseEvent> type,
+            final Point2D start,
+            final double offset
+    ) {
+        final double x = start.getX() + offset;
+        final double y = start.getY() + offset;
+        return new MouseEvent(
+                type, x, y, x, y, MouseButton.PRIMARY, 1,
+                false, false, false, false, true, false, false, false, false, false, null
+        );
+    }
+
+}
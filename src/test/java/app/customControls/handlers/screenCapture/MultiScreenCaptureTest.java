@@ -0,0 +1,179 @@
+package app.customControls.handlers.screenCapture;
+
+import javafx.geometry.Rectangle2D;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Captures a simulated two-screen layout, the secondary screen lying left of the primary one at negative coordinates,
+ * checking that each screen is only captured once entered & that each screen's cache stays within its bound
+ */
+class MultiScreenCaptureTest {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private static final int SCREEN_SIZE = 1024;    // 64 tiles per screen, more than a single cache holds
+    private static final Rectangle2D PRIMARY = new Rectangle2D(0, 0, SCREEN_SIZE, SCREEN_SIZE);
+    private static final Rectangle2D SECONDARY = new Rectangle2D(-SCREEN_SIZE, 128, SCREEN_SIZE, SCREEN_SIZE);
+    private static final int TILES_PER_SCREEN = (SCREEN_SIZE / TiledScreenCapture.DEFAULT_TILE_SIZE)
+            * (SCREEN_SIZE / TiledScreenCapture.DEFAULT_TILE_SIZE);
+
+    private final List<Rectangle2D> createdSources = new ArrayList<>();
+    private MultiScreenCapture capture;
+
+    // ===================================
+    //              SET-UP
+    // ===================================
+
+    @BeforeEach
+    void createCapture() {
+        capture = new MultiScreenCapture(List.of(PRIMARY, SECONDARY), bounds -> {
+            createdSources.add(bounds);
+            return new SyntheticCaptureSource(
+                    (int) bounds.getMinX(),
+                    (int) bounds.getMinY(),
+                    (int) bounds.getWidth(),
+                    (int) bounds.getHeight(),
+                    MultiScreenCaptureTest::pixel
+            );
+        });
+    }
+
+    /**
+     * Synthetic screen content, unique to each pixel of the layout
+     * @param x (int): the pixel's x-coordinate on the screen
+     * @param y (int): the pixel's y-coordinate on the screen
+     * @return (int): the pixel's opaque argb code
+     */
+    private static int pixel(final int x, final int y) {
+        return 0xFF000000 | (x + 2 * SCREEN_SIZE) << 12 | y;
+    }
+
+    // ===================================
+    //               TESTS
+    // ===================================
+
+    @Test
+    void capturesNothingBeforeFirstRead() {
+        assertTrue(createdSources.isEmpty());
+        assertEquals(0, capture.getEnteredScreenCount());
+        assertEquals(0, capture.getCaptureCount());
+        assertEquals(-SCREEN_SIZE, capture.getMinX());
+        assertEquals(2 * SCREEN_SIZE, capture.getWidth());
+        assertEquals(SCREEN_SIZE + 128, capture.getHeight());
+    }
+
+    @Test
+    void capturesEachScreenOnFirstEntry() {
+
+        // reading the primary screen leaves the secondary one alone...
+        assertEquals(pixel(10, 20), capture.getArgb(10, 20));
+        assertEquals(pixel(700, 900), capture.getArgb(700, 900));
+        assertEquals(List.of(PRIMARY), createdSources);
+        assertEquals(1, capture.getEnteredScreenCount());
+        assertNotNull(capture.getScreenCapture(0));
+        assertNull(capture.getScreenCapture(1));
+
+        // ...until the mouse enters it
+        capture.track(-300, 400);
+        assertEquals(List.of(PRIMARY, SECONDARY), createdSources);
+        assertEquals(2, capture.getEnteredScreenCount());
+        assertEquals(pixel(-300, 400), capture.getArgb(-300, 400));
+
+        // coming back to a screen keeps its capture
+        final TiledScreenCapture primary = capture.getScreenCapture(0);
+        assertEquals(pixel(11, 20), capture.getArgb(11, 20));
+        assertSame(primary, capture.getScreenCapture(0));
+        assertEquals(2, createdSources.size());
+    }
+
+    @Test
+    void readsPixelsOffScreensFromClosestScreen() {
+
+        // the secondary screen starts below the top of the layout, leaving a gap above it
+        assertEquals(SECONDARY, capture.getScreenBounds(-500, 100));
+        assertEquals(pixel(-500, 128), capture.getArgb(-500, 100));
+        assertEquals(PRIMARY, capture.getScreenBounds(-10, 100));
+        assertEquals(pixel(0, 100), capture.getArgb(-10, 100));
+        assertEquals(List.of(SECONDARY, PRIMARY), createdSources);
+    }
+
+    @Test
+    void keepsEachScreenCacheWithinBound() {
+        sweep(PRIMARY);
+        sweep(SECONDARY);
+
+        // each screen captured every one of its tiles once, but only kept as many as its cache holds
+        for (int screen = 0; screen < 2; screen++) {
+            final TiledScreenCapture screenCapture = capture.getScreenCapture(screen);
+            final String message = String.format(
+                    "screen %d : %d tiles cached, %d captured",
+                    screen,
+                    screenCapture.getCachedTileCount(),
+                    screenCapture.getCaptureCount()
+            );
+            assertEquals(TiledScreenCapture.DEFAULT_MAX_TILES, screenCapture.getCachedTileCount(), message);
+            assertEquals(TILES_PER_SCREEN, screenCapture.getCaptureCount(), message);
+        }
+        assertEquals(2L * TILES_PER_SCREEN, capture.getCaptureCount());
+
+        // filling the secondary screen's cache did not evict the primary screen's most recent tiles
+        final TiledScreenCapture primary = capture.getScreenCapture(0);
+        final long hits = primary.getHitCount();
+        assertEquals(pixel(SCREEN_SIZE - 1, SCREEN_SIZE - 1), capture.getArgb(SCREEN_SIZE - 1, SCREEN_SIZE - 1));
+        assertEquals(hits + 1, primary.getHitCount());
+        assertEquals(TILES_PER_SCREEN, primary.getCaptureCount());
+    }
+
+    @Test
+    void capturesRegionAcrossScreens() {
+
+        // the region overlaps both screens, & the gap above the secondary screen
+        final int x = -8;
+        final int y = 120;
+        final int width = 16;
+        final int height = 16;
+        final int[] target = new int[width * height];
+        capture.capture(x, y, width, height, target);
+
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                final int screenX = x + column;
+                final int screenY = y + row;
+                final boolean onScreen = screenX >= 0 || screenY >= SECONDARY.getMinY();
+                final int expected = onScreen ? pixel(screenX, screenY) : 0;
+                assertEquals(expected, target[row * width + column], String.format("(%d, %d)", screenX, screenY));
+            }
+        }
+        assertEquals(2, capture.getEnteredScreenCount());
+    }
+
+    // ===================================
+    //              HELPERS
+    // ===================================
+
+    /**
+     * Reads a pixel of every tile of a screen, row after row, checking each pixel against the synthetic screen
+     * @param screen ({@link Rectangle2D}): the screen's bounds
+     */
+    private void sweep(final Rectangle2D screen) {
+        final int tileSize = TiledScreenCapture.DEFAULT_TILE_SIZE;
+        for (int y = (int) screen.getMinY(); y < screen.getMaxY(); y += tileSize) {
+            for (int x = (int) screen.getMinX(); x < screen.getMaxX(); x += tileSize) {
+                assertEquals(pixel(x + 3, y + 5), capture.getArgb(x + 3, y + 5));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,228 @@
+package app.customControls.handlers.screenCapture;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reads a synthetic screen through a {@link TiledScreenCapture}, checking its least-recently-used eviction, that its
+ * prefetching follows the mouse's direction & that every read matches the synthetic screen
+ */
+class TiledScreenCaptureTest {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    // 5 columns & 4 rows of tiles, the last ones being narrower & shorter
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 200;
+    private static final int TILE_SIZE = 64;
+    private static final int MAX_TILES = 3;
+
+    /**
+     * Synthetic screen content, scrambled so that misplaced pixels are noticed
+     * @param x (int): the pixel's x-coordinate on the screen
+     * @param y (int): the pixel's y-coordinate on the screen
+     * @return (int): the pixel's opaque argb code
+     */
+    private static int pixel(final int x, final int y) {
+        return 0xFF000000 | ((x * 73856093) ^ (y * 19349663)) & 0xFFFFFF;
+    }
+
+    // ===================================
+    //               TESTS
+    // ===================================
+
+    @Test
+    void evictsLeastRecentlyUsedTile() {
+        final SyntheticCaptureSource source = new SyntheticCaptureSource(WIDTH, HEIGHT, TiledScreenCaptureTest::pixel);
+        final TiledScreenCapture capture = new TiledScreenCapture(source, TILE_SIZE, MAX_TILES);
+
+        // fills the cache, then uses the first tile again so that the second one becomes the least recently used
+        read(capture, 0, 0);
+        read(capture, 1, 0);
+        read(capture, 2, 0);
+        read(capture, 0, 0);
+        assertEquals(3, source.getCaptureCount());
+
+        // a fourth tile evicts the second one only
+        read(capture, 3, 0);
+        assertEquals(MAX_TILES, capture.getCachedTileCount());
+        read(capture, 0, 0);
+        read(capture, 2, 0);
+        read(capture, 3, 0);
+        assertEquals(4, source.getCaptureCount());
+
+        read(capture, 1, 0);
+        assertEquals(5, source.getCaptureCount());
+        assertEquals(MAX_TILES, capture.getCachedTileCount());
+    }
+
+    @Test
+    void prefetchesTileAheadOfMouse() {
+        final SyntheticCaptureSource source = new SyntheticCaptureSource(WIDTH, HEIGHT, TiledScreenCaptureTest::pixel);
+        final TiledScreenCapture capture = new TiledScreenCapture(source, TILE_SIZE, 16);
+
+        // the first position gives no direction
+        capture.track(150, 100);
+        assertEquals(0, capture.getPrefetchCount());
+
+        // moving right captures the tile half a tile to the right...
+        capture.track(160, 100);
+        assertEquals(1, capture.getPrefetchCount());
+        assertIsCached(capture, 3, 1);
+
+        // ...moving left the one half a tile to the left...
+        capture.track(140, 100);
+        assertEquals(2, capture.getPrefetchCount());
+        assertIsCached(capture, 1, 1);
+
+        // ...and moving diagonally the one ahead along both axes
+        capture.track(150, 110);
+        assertEquals(3, capture.getPrefetchCount());
+        assertIsCached(capture, 2, 2);
+
+        // tiles behind the mouse were never captured
+        final long captures = source.getCaptureCount();
+        read(capture, 2, 0);
+        read(capture, 1, 0);
+        assertEquals(captures + 2, source.getCaptureCount());
+    }
+
+    @Test
+    void doesNotPrefetchCachedTiles() {
+        final SyntheticCaptureSource source = new SyntheticCaptureSource(WIDTH, HEIGHT, TiledScreenCaptureTest::pixel);
+        final TiledScreenCapture capture = new TiledScreenCapture(source, TILE_SIZE, 16);
+
+        read(capture, 3, 1);
+        capture.track(150, 100);
+        capture.track(160, 100);
+        assertEquals(0, capture.getPrefetchCount());
+        assertEquals(1, source.getCaptureCount());
+    }
+
+    @Test
+    void readsMatchSyntheticScreen() {
+        final SyntheticCaptureSource source = new SyntheticCaptureSource(WIDTH, HEIGHT, TiledScreenCaptureTest::pixel);
+
+        // a small cache keeps evicting tiles, so that their arrays are reused
+        final TiledScreenCapture capture = new TiledScreenCapture(source, TILE_SIZE, 2);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                assertEquals(pixel(x, y), capture.getArgb(x + 0.5, y + 0.5), String.format("(%d, %d)", x, y));
+            }
+        }
+
+        // coordinates outside the screen are clamped to its edges
+        assertEquals(pixel(0, 0), capture.getArgb(-20, -20));
+        assertEquals(pixel(WIDTH - 1, HEIGHT - 1), capture.getArgb(WIDTH + 20, HEIGHT + 20));
+    }
+
+    @Test
+    void readsMatchScreenAtNegativeCoordinates() {
+        final int minX = -WIDTH;
+        final int minY = 50;
+        final SyntheticCaptureSource source = new SyntheticCaptureSource(
+                minX,
+                minY,
+                WIDTH,
+                HEIGHT,
+                TiledScreenCaptureTest::pixel
+        );
+        final TiledScreenCapture capture = new TiledScreenCapture(source, TILE_SIZE, MAX_TILES);
+
+        for (int y = minY; y < minY + HEIGHT; y += 7) {
+            for (int x = minX; x < 0; x += 7) {
+                assertEquals(pixel(x, y), capture.getArgb(x, y), String.format("(%d, %d)", x, y));
+            }
+        }
+    }
+
+    @Test
+    void copiesMatchSyntheticScreen() {
+        final SyntheticCaptureSource source = new SyntheticCaptureSource(WIDTH, HEIGHT, TiledScreenCaptureTest::pixel);
+        final TiledScreenCapture capture = new TiledScreenCapture(source, TILE_SIZE, MAX_TILES);
+
+        // blocks spanning several tiles, & overflowing the screen's edges
+        assertCopyMatches(capture, 50, 50, 40, 30);
+        assertCopyMatches(capture, -5, -5, 20, 20);
+        assertCopyMatches(capture, WIDTH - 10, HEIGHT - 10, 20, 20);
+    }
+
+    @Test
+    void averagesMatchSyntheticScreen() {
+        final SyntheticCaptureSource source = new SyntheticCaptureSource(WIDTH, HEIGHT, TiledScreenCaptureTest::pixel);
+        final TiledScreenCapture capture = new TiledScreenCapture(source, TILE_SIZE, 2);
+
+        // areas inside a tile, across tiles & clipped by the screen's edges
+        final int[][] areas = {{30, 30, 5}, {64, 64, 10}, {150, 120, 40}, {0, 0, 8}, {WIDTH - 1, HEIGHT - 3, 12}};
+        for (int[] area : areas) {
+            final int x = area[0];
+            final int y = area[1];
+            final int radius = area[2];
+            final String message = String.format("(%d, %d) radius %d", x, y, radius);
+            assertEquals(average(x, y, radius), capture.getAverageArgb(x, y, radius), message);
+        }
+    }
+
+    // ===================================
+    //              HELPERS
+    // ===================================
+
+    private static void read(final TiledScreenCapture capture, final int tileX, final int tileY) {
+        final int x = tileX * TILE_SIZE + 1;
+        final int y = tileY * TILE_SIZE + 1;
+        assertEquals(pixel(x, y), capture.getArgb(x, y));
+    }
+
+    private static void assertIsCached(final TiledScreenCapture capture, final int tileX, final int tileY) {
+        final long misses = capture.getMissCount();
+        read(capture, tileX, tileY);
+        assertEquals(misses, capture.getMissCount(), String.format("tile (%d, %d) should be cached", tileX, tileY));
+    }
+
+    private static void assertCopyMatches(
+            final TiledScreenCapture capture,
+            final int x,
+            final int y,
+            final int width,
+            final int height
+    ) {
+        final int[] target = new int[width * height];
+        capture.copy(x, y, width, height, target);
+
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                final int px = Math.max(0, Math.min(WIDTH - 1, x + column));
+                final int py = Math.max(0, Math.min(HEIGHT - 1, y + row));
+                assertEquals(pixel(px, py), target[row * width + column], String.format("(%d, %d)", px, py));
+            }
+        }
+    }
+
+    /**
+     * Averages the colors of a square area pixel by pixel, ignoring the parts outside the screen
+     * @param x (int): x-coordinate of the area's center
+     * @param y (int): y-coordinate of the area's center
+     * @param radius (int): number of pixels on each side of the center
+     * @return (int): the opaque argb code of the average color
+     */
+    private static int average(final int x, final int y, final int radius) {
+        long red = 0, green = 0, blue = 0, count = 0;
+        for (int py = Math.max(0, y - radius); py <= Math.min(HEIGHT - 1, y + radius); py++) {
+            for (int px = Math.max(0, x - radius); px <= Math.min(WIDTH - 1, x + radius); px++) {
+                final int argb = pixel(px, py);
+                red += (argb >> 16) & 0xFF;
+                green += (argb >> 8) & 0xFF;
+                blue += argb & 0xFF;
+                count++;
+            }
+        }
+        return 0xFF000000
+                | (int) ((red + count / 2) / count) << 16
+                | (int) ((green + count / 2) / count) << 8
+                | (int) ((blue + count / 2) / count);
+    }
+
+}
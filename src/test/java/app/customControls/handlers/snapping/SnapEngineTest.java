@@ -0,0 +1,236 @@
+package app.customControls.handlers.snapping;
+
+import app.customControls.handlers.movementHandler.MutablePoint2D;
+import app.customControls.utilities.FxTestUtil;
+import javafx.geometry.Orientation;
+import javafx.scene.layout.Region;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks how a {@link SnapEngine} resolves snaps against its edge indexes : threshold ties, grid against siblings,
+ * a node's own edges & nodes being re-indexed as they move
+ */
+class SnapEngineTest {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private static final double NODE_SIZE = 20;
+    private static final double FAR_Y = 500;        // keeps the dragged node away from every sibling's y-edges
+
+    // ===================================
+    //              SET-UP
+    // ===================================
+
+    @BeforeAll
+    static void startToolkit() {
+        assumeTrue(FxTestUtil.startToolkit(), "JavaFX toolkit unavailable");
+    }
+
+    private static Region node(final double x, final double y, final double width, final double height) {
+        final Region node = new Region();
+        node.resize(width, height);
+        node.relocate(x, y);
+        return node;
+    }
+
+    // ===================================
+    //               TESTS
+    // ===================================
+
+    @Test
+    void snapsToClosestSiblingEdgeWithinThreshold() {
+        FxTestUtil.runOnFxThread(() -> {
+            final SnapEngine engine = new SnapEngine();
+            engine.add(node(100, 0, 50, 50));
+            final Region dragged = node(0, FAR_Y, NODE_SIZE, NODE_SIZE);
+
+            // the node's right edge lies 5 pixels before the sibling's left edge
+            final MutablePoint2D position = new MutablePoint2D(75, FAR_Y);
+            engine.snap(dragged, position);
+
+            assertEquals(80, position.getX());
+            assertEquals(FAR_Y, position.getY());
+            assertEquals(1, engine.getGuides().size());
+            final SnapGuide guide = engine.getGuides().get(0);
+            assertEquals(Orientation.VERTICAL, guide.getOrientation());
+            assertEquals(100, guide.getPosition());
+            assertEquals(0, guide.getStart());
+            assertEquals(FAR_Y + NODE_SIZE, guide.getEnd());
+        });
+    }
+
+    @Test
+    void snapsAtThresholdButNotBeyond() {
+        FxTestUtil.runOnFxThread(() -> {
+            final SnapEngine engine = new SnapEngine();
+            engine.add(node(100, 0, 50, 50));
+            final Region dragged = node(0, FAR_Y, NODE_SIZE, NODE_SIZE);
+
+            // the node's right edge lies exactly a threshold away from the sibling's left edge
+            final double thresholdX = 100 - NODE_SIZE - SnapEngine.DEFAULT_THRESHOLD;
+            final MutablePoint2D atThreshold = new MutablePoint2D(thresholdX, FAR_Y);
+            engine.snap(dragged, atThreshold);
+            assertEquals(100 - NODE_SIZE, atThreshold.getX());
+
+            final MutablePoint2D beyond = new MutablePoint2D(thresholdX - 0.5, FAR_Y);
+            engine.snap(dragged, beyond);
+            assertEquals(thresholdX - 0.5, beyond.getX());
+            assertTrue(engine.getGuides().isEmpty());
+        });
+    }
+
+    @Test
+    void equallyCloseSiblingEdgesGoToLowerOne() {
+        FxTestUtil.runOnFxThread(() -> {
+            final SnapEngine engine = new SnapEngine();
+            engine.add(node(0, 0, 50, 50));
+            engine.add(node(70, 0, 50, 50));
+            final Region dragged = node(0, FAR_Y, 0, 0);
+
+            // halfway between the first sibling's right edge & the second one's left edge
+            final MutablePoint2D position = new MutablePoint2D(60, FAR_Y);
+            engine.setThreshold(10);
+            engine.snap(dragged, position);
+
+            assertEquals(50, position.getX());
+            assertEquals(50, engine.getGuides().get(0).getPosition());
+        });
+    }
+
+    @Test
+    void equallyShortMovesGoToLastEdgeChecked() {
+        FxTestUtil.runOnFxThread(() -> {
+            final SnapEngine engine = new SnapEngine();
+            engine.add(node(0, 0, 50, 50));
+            engine.add(node(80, 0, 50, 50));
+            final Region dragged = node(0, FAR_Y, NODE_SIZE, NODE_SIZE);
+
+            // the node's left edge lies 5 pixels after the first sibling, its right edge 5 pixels before the second
+            final MutablePoint2D position = new MutablePoint2D(55, FAR_Y);
+            engine.snap(dragged, position);
+
+            assertEquals(60, position.getX());
+            assertEquals(80, engine.getGuides().get(0).getPosition());
+        });
+    }
+
+    @Test
+    void siblingWinsOverEquallyCloseGrid() {
+        FxTestUtil.runOnFxThread(() -> {
+            final SnapEngine engine = new SnapEngine();
+            engine.add(node(100, 0, 50, 50));
+            engine.setGridSize(25);
+            final Region dragged = node(0, FAR_Y, NODE_SIZE, NODE_SIZE);
+
+            final MutablePoint2D position = new MutablePoint2D(97, FAR_Y);
+            engine.snap(dragged, position);
+
+            assertEquals(100, position.getX());
+            assertEquals(1, engine.getGuides().size());
+        });
+    }
+
+    @Test
+    void gridWinsOverFartherSibling() {
+        FxTestUtil.runOnFxThread(() -> {
+            final SnapEngine engine = new SnapEngine();
+            engine.add(node(100, 0, 50, 50));
+            engine.setGridSize(24);
+            final Region dragged = node(0, FAR_Y, NODE_SIZE, NODE_SIZE);
+
+            // the closest grid line is 96, a pixel away, while the sibling is 3 pixels away
+            final MutablePoint2D position = new MutablePoint2D(97, FAR_Y + 1);
+            engine.snap(dragged, position);
+
+            assertEquals(96, position.getX());
+            assertEquals(504, position.getY());
+            assertTrue(engine.getGuides().isEmpty());
+        });
+    }
+
+    @Test
+    void gridSnapsWithoutSiblings() {
+        FxTestUtil.runOnFxThread(() -> {
+            final SnapEngine engine = new SnapEngine();
+            engine.setGridSize(10);
+            final Region dragged = node(0, 0, NODE_SIZE, NODE_SIZE);
+
+            final MutablePoint2D position = new MutablePoint2D(44, 36);
+            engine.snap(dragged, position);
+
+            assertEquals(40, position.getX());
+            assertEquals(40, position.getY());
+        });
+    }
+
+    @Test
+    void skipsNodesOwnEdges() {
+        FxTestUtil.runOnFxThread(() -> {
+            final SnapEngine engine = new SnapEngine();
+            final Region dragged = node(0, 0, NODE_SIZE, NODE_SIZE);
+            engine.add(dragged);
+            engine.add(node(200, 200, 50, 50));
+
+            // the node's indexed edges lie 3 pixels away, while the sibling is out of reach
+            final MutablePoint2D position = new MutablePoint2D(3, 3);
+            engine.snap(dragged, position);
+
+            assertEquals(3, position.getX());
+            assertEquals(3, position.getY());
+            assertTrue(engine.getGuides().isEmpty());
+        });
+    }
+
+    @Test
+    void reindexesNodesWhenTheirBoundsChange() {
+        FxTestUtil.runOnFxThread(() -> {
+            final SnapEngine engine = new SnapEngine();
+            final Region sibling = node(100, 0, 50, 50);
+            engine.add(sibling);
+            final Region dragged = node(0, FAR_Y, NODE_SIZE, NODE_SIZE);
+
+            // the sibling's old edges are no longer snapped to...
+            sibling.relocate(300, 0);
+            final MutablePoint2D old = new MutablePoint2D(97, FAR_Y);
+            engine.snap(dragged, old);
+            assertEquals(97, old.getX());
+
+            // ...unlike its new ones, including the right edge moved by a resize
+            final MutablePoint2D moved = new MutablePoint2D(297, FAR_Y);
+            engine.snap(dragged, moved);
+            assertEquals(300, moved.getX());
+
+            sibling.resize(80, 50);
+            final MutablePoint2D resized = new MutablePoint2D(383, FAR_Y);
+            engine.snap(dragged, resized);
+            assertEquals(380, resized.getX());
+        });
+    }
+
+    @Test
+    void forgetsRemovedNodes() {
+        FxTestUtil.runOnFxThread(() -> {
+            final SnapEngine engine = new SnapEngine();
+            final Region sibling = node(100, 0, 50, 50);
+            engine.add(sibling);
+            engine.remove(sibling);
+            sibling.relocate(0, 0);
+            final Region dragged = node(0, FAR_Y, NODE_SIZE, NODE_SIZE);
+
+            final MutablePoint2D position = new MutablePoint2D(97, FAR_Y);
+            engine.snap(dragged, position);
+
+            assertEquals(97, position.getX());
+            assertEquals(0, engine.getNodeCount());
+            assertTrue(engine.getGuides().isEmpty());
+        });
+    }
+
+}
@@ -0,0 +1,156 @@
+package app.customControls.utilities;
+
+import app.customControls.controls.colorPicker.MaterialColorPicker;
+import app.customControls.handlers.colorHistory.ColorHistory;
+import app.customControls.handlers.colorModel.ColorModel;
+import javafx.beans.value.ChangeListener;
+import javafx.css.CssMetaData;
+import javafx.css.Styleable;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Counts the CSS passes caused by continuous color changes, which should go through {@link BackgroundUtil}'s cached
+ * backgrounds instead of inline styles
+ */
+class BackgroundUtilCssPassTest {
+
+    // ===================================
+    //              FIELDS
+    // ===================================
+
+    private static final int MOVES = 50;
+
+    private Stage stage;
+
+    /**
+     * Region counting how many times the CSS engine processes it, each pass transitioning it to its current state
+     */
+    private static final class CssPassProbe extends Region {
+        private final AtomicInteger passes = new AtomicInteger();
+
+        @Override
+        public List<CssMetaData<? extends Styleable, ?>> getCssMetaData() {
+            passes.incrementAndGet();
+            return super.getCssMetaData();
+        }
+    }
+
+    // ===================================
+    //              SET-UP
+    // ===================================
+
+    @BeforeAll
+    static void startToolkit() {
+        assumeTrue(FxTestUtil.startToolkit(), "JavaFX toolkit unavailable");
+    }
+
+    @AfterEach
+    void closeStage() {
+        if (stage != null) FxTestUtil.runOnFxThread(stage::close);
+    }
+
+    private Scene show(final Parent root) {
+        return FxTestUtil.callOnFxThread(() -> {
+            stage = new Stage();
+            stage.setScene(new Scene(root));
+            stage.show();
+            return stage.getScene();
+        });
+    }
+
+    // ===================================
+    //               TESTS
+    // ===================================
+
+    @Test
+    void inlineStylesCauseOneCssPassPerMove() {
+        final CssPassProbe probe = new CssPassProbe();
+        final Scene scene = show(new StackPane(probe));
+        FxTestUtil.waitForPulse(scene);
+
+        // makes sure the probe actually detects css passes
+        probe.passes.set(0);
+        for (int i = 0; i < MOVES; i++) {
+            final String style = String.format("-fx-background-color: #%06x;", i);
+            FxTestUtil.runOnFxThread(() -> probe.setStyle(style));
+            FxTestUtil.waitForPulse(scene);
+        }
+
+        assertTrue(probe.passes.get() >= MOVES, "expected a css pass per move, got " + probe.passes.get());
+    }
+
+    @Test
+    void cachedBackgroundsCauseNoCssPass() {
+        final CssPassProbe probe = new CssPassProbe();
+        final Scene scene = show(new StackPane(probe));
+        FxTestUtil.waitForPulse(scene);
+
+        probe.passes.set(0);
+        for (int i = 0; i < MOVES; i++) {
+            final int argb = 0xFF000000 | i;
+            FxTestUtil.runOnFxThread(() -> probe.setBackground(BackgroundUtil.fill(argb)));
+            FxTestUtil.waitForPulse(scene);
+        }
+
+        assertEquals(0, probe.passes.get());
+    }
+
+    @Test
+    void backgroundsAreSharedBetweenIdenticalColors() {
+        assertSame(BackgroundUtil.fill(0xFF336699), BackgroundUtil.fill(0xFF336699));
+        assertNotSame(BackgroundUtil.fill(0xFF336699), BackgroundUtil.fill(0xFF336698));
+    }
+
+    @Test
+    void colorChangesNeverWriteInlineStyles() {
+        final MaterialColorPicker colorPicker = FxTestUtil.callOnFxThread(() -> new MaterialColorPicker(Color.RED));
+        colorPicker.setColorHistory(new ColorHistory(ColorHistory.DEFAULT_CAPACITY));
+        final Scene scene = show(new StackPane(colorPicker));
+        FxTestUtil.waitForPulse(scene);
+
+        final ColorModel colorModel = colorPicker.getColorModel();
+        final Region currentColor = (Region) colorPicker.lookup(".current-color");
+
+        // watches every node of the picker for inline style changes
+        final AtomicInteger styleChanges = new AtomicInteger();
+        final ChangeListener<String> styleListener = (style, oldStyle, newStyle) -> styleChanges.incrementAndGet();
+        FxTestUtil.runOnFxThread(() -> watchStyles(colorPicker, styleListener));
+
+        final Background initialBackground = currentColor.getBackground();
+        for (int i = 0; i < MOVES; i++) {
+            final double hue = 360.0 * i / MOVES;
+            FxTestUtil.runOnFxThread(() -> colorModel.setHsv(hue, 100, 100));
+            FxTestUtil.waitForPulse(scene);
+        }
+
+        assertEquals(0, styleChanges.get());
+        assertNotSame(initialBackground, currentColor.getBackground());
+    }
+
+    private static void watchStyles(final Node node, final ChangeListener<String> listener) {
+        node.styleProperty().addListener(listener);
+        if (node instanceof Parent parent) {
+            for (Node child : parent.getChildrenUnmodifiable()) watchStyles(child, listener);
+        }
+    }
+
+}
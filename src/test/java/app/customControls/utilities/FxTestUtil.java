@@ -0,0 +1,144 @@
+package app.customControls.utilities;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Collection of helper methods for tests which need the JavaFX toolkit.<br>
+ * <br>
+ * Without a display, the toolkit is started through Monocle's headless platform when it is on the test classpath.
+ * Tests should skip themselves when {@link #startToolkit()} returns false
+ */
+public final class FxTestUtil {
+
+    /* CONSTANTS */
+
+    private static final long TIMEOUT_SECONDS = 10;
+    private static final String MONOCLE_FACTORY = "com.sun.glass.ui.monocle.MonoclePlatformFactory";
+
+    /* TOOLKIT */
+
+    private static Boolean started;     // null until the toolkit has been started once
+
+    private FxTestUtil() {}
+
+    /**
+     * Starts the JavaFX toolkit the first time it is called
+     * @return (boolean): whether the toolkit is running
+     */
+    public static synchronized boolean startToolkit() {
+        if (started != null) return started;
+
+        // falls back to the headless platform when there is no display to open
+        if (System.getenv("DISPLAY") == null && isOnClasspath(MONOCLE_FACTORY)) {
+            System.setProperty("glass.platform", "Monocle");
+            System.setProperty("monocle.platform", "Headless");
+            System.setProperty("prism.order", "sw");
+        }
+
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            Platform.startup(latch::countDown);
+            started = latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (IllegalStateException e) {
+            // already started by another test framework
+            started = true;
+        } catch (RuntimeException | InterruptedException e) {
+            started = false;
+        }
+
+        if (started) Platform.setImplicitExit(false);
+        return started;
+    }
+
+    /**
+     * Runs a task on the JavaFX application thread & waits for its result
+     * @param task ({@link Callable}): the task
+     * @param <T>: the result's type
+     * @return (T): the task's result
+     */
+    public static <T> T callOnFxThread(final Callable<T> task) {
+        final AtomicReference<T> result = new AtomicReference<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        Platform.runLater(() -> {
+            try {
+                result.set(task.call());
+            } catch (Throwable t) {
+                failure.set(t);
+            } finally {
+                latch.countDown();
+            }
+        });
+        await(latch);
+
+        // rethrows assertion errors as they are so that they are reported as test failures
+        final Throwable thrown = failure.get();
+        if (thrown instanceof Error) throw (Error) thrown;
+        if (thrown != null) throw new IllegalStateException(thrown);
+        return result.get();
+    }
+
+    /**
+     * Runs a task on the JavaFX application thread & waits for it to end
+     * @param task ({@link FxTask}): the task
+     */
+    public static void runOnFxThread(final FxTask task) {
+        callOnFxThread(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Waits for the next pulse to have gone through a scene's CSS & layout passes
+     * @param scene ({@link Scene}): the scene
+     * @implNote must not be called from the JavaFX application thread
+     */
+    public static void waitForPulse(final Scene scene) {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Runnable pulseListener = latch::countDown;
+
+        runOnFxThread(() -> {
+            scene.addPostLayoutPulseListener(pulseListener);
+            Platform.requestNextPulse();
+        });
+        await(latch);
+        runOnFxThread(() -> scene.removePostLayoutPulseListener(pulseListener));
+    }
+
+    private static boolean isOnClasspath(final String className) {
+        try {
+            Class.forName(className, false, FxTestUtil.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            if (!latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the JavaFX application thread");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Task run on the JavaFX application thread, which may throw
+     */
+    @FunctionalInterface
+    public interface FxTask {
+        void run() throws Exception;
+    }
+
+}